@@ -36,4 +36,47 @@ FROM RankedMetrics rm
 WHERE rm.rn = 1 -- 🥇 각 종목별로 가장 최신 데이터만 선택
     AND rm.metric_date BETWEEN s.start_date AND ISNULL(s.end_date, '9999-12-31')
     AND rm.metric_date BETWEEN h.start_date AND ISNULL(h.end_date, '9999-12-31')
-ORDER BY rm.MKTCAP DESC;
\ No newline at end of file
+ORDER BY rm.MKTCAP DESC;
+
+
+--- 종목별 최신 시세 (latest_metrics)
+-- 종목당 한 행만 유지하는 최신 시세 테이블입니다. 수집 함수(realtime_update, realtime_etf_update)가
+-- daily_metrics에 적재한 직후 같은 트랜잭션에서 MERGE로 갱신하므로, 실시간 조회가
+-- ROW_NUMBER() OVER(PARTITION BY ISU_SRT_CD ...)로 당일 전체 스냅샷을 훑을 필요가 없습니다.
+-- 컬럼 타입은 daily_metrics의 같은 컬럼과 맞춥니다.
+CREATE TABLE latest_metrics (
+	ISU_SRT_CD VARCHAR(12) NOT NULL,
+	metric_date DATE NOT NULL,
+	collected_at DATETIME2 NOT NULL,
+	TDD_CLSPRC BIGINT NULL,
+	FLUC_RT DECIMAL(10, 2) NULL,
+	TDD_OPNPRC BIGINT NULL,
+	TDD_HGPRC BIGINT NULL,
+	TDD_LWPRC BIGINT NULL,
+	ACC_TRDVOL BIGINT NULL,
+	ACC_TRDVAL BIGINT NULL,
+	MKTCAP BIGINT NULL,
+	CONSTRAINT PK_latest_metrics PRIMARY KEY (ISU_SRT_CD)
+);
+
+-- 최신 거래일 조회(MAX(metric_date))와 시가총액 정렬, 증분 조회(collected_at > watermark)용
+CREATE INDEX idx_latest_metrics_date_mktcap ON latest_metrics (metric_date, MKTCAP DESC);
+CREATE INDEX idx_latest_metrics_date_collected ON latest_metrics (metric_date, collected_at);
+
+-- 현재 종목명/업종/시장 조회 (end_date IS NULL)용
+CREATE INDEX idx_stock_history_current ON stock_history (stock_id, history_type, end_date) INCLUDE (value);
+
+-- 과거 시세 재구성(종목별 시세 이력, 특정 날짜의 장 마감 데이터)은 계속 daily_metrics의 윈도우 함수로 조회합니다.
+CREATE INDEX idx_daily_metrics_stock_date ON daily_metrics (ISU_SRT_CD, metric_date, collected_at DESC);
+
+-- 최초 1회: 기존 daily_metrics에서 종목별 최신 행으로 채움
+INSERT INTO latest_metrics (ISU_SRT_CD, metric_date, collected_at, TDD_CLSPRC, FLUC_RT,
+	TDD_OPNPRC, TDD_HGPRC, TDD_LWPRC, ACC_TRDVOL, ACC_TRDVAL, MKTCAP)
+SELECT ISU_SRT_CD, metric_date, collected_at, TDD_CLSPRC, FLUC_RT,
+	TDD_OPNPRC, TDD_HGPRC, TDD_LWPRC, ACC_TRDVOL, ACC_TRDVAL, MKTCAP
+FROM (
+	SELECT m.*, ROW_NUMBER() OVER(PARTITION BY m.ISU_SRT_CD ORDER BY m.metric_date DESC, m.collected_at DESC) as rn
+	FROM daily_metrics m
+) ranked
+WHERE rn = 1;
+-- 이후 application.properties의 krx.latest-snapshot.enabled=true로 조회를 전환합니다.
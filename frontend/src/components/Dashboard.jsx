@@ -116,6 +116,7 @@ function Dashboard() {
         removeWidget,
         updateWidgetSettings,
         renameWidget,
+        prefetched,
     } = useDashboard();
 
     const [isEditMode, setIsEditMode] = useState(false);
@@ -215,7 +216,7 @@ function Dashboard() {
     if (loading) return <div>Loading...</div>;
 
     return (
-        <DataProvider requiredDataKeys={requiredDataKeys}>
+        <DataProvider requiredDataKeys={requiredDataKeys} initialData={prefetched?.data}>
             {isLoginModalOpen && <LoginModal onClose={() => setLoginModalOpen(false)} />}
             {isAddModalOpen && <AddWidgetModal onAdd={handleAddWidget} onClose={() => setAddModalOpen(false)} />}
 
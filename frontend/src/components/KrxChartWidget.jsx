@@ -1,6 +1,7 @@
 import React, { useEffect, useRef, useState, useCallback } from 'react';
 import { createChart, CandlestickSeries, HistogramSeries } from 'lightweight-charts';
 import { useDashboard } from '../contexts/DashboardContext';
+import { CANDLE_MEDIA_TYPE, decodeCandles } from './candleCodec';
 
 /**
  * 국내 주식(KRX)의 시세 차트(캔들스틱 + 거래량)를 표시하는 위젯입니다.
@@ -18,8 +19,10 @@ const KrxChartWidget = ({ widgetId, settings, width, height, onSettingsChange })
     const candlestickSeriesRef = useRef(null);
     const volumeSeriesRef = useRef(null);
 
-    const { selectedAsset } = useDashboard();
+    const { selectedAsset, prefetched } = useDashboard();
     const { symbol = '005930' } = settings;
+    // 대시보드 초기 로딩 때 함께 받은 시세 이력은 첫 표시에만 사용합니다.
+    const usedPrefetchRef = useRef(false);
 
     // 차트 데이터 및 상태
     const [stockName, setStockName] = useState('');
@@ -74,15 +77,33 @@ const KrxChartWidget = ({ widgetId, settings, width, height, onSettingsChange })
         setSearchResults([]);
     };
 
-    /** symbol이 변경될 때마다 해당 종목의 시세 이력 데이터를 가져옵니다. */
+    /**
+     * symbol이 변경될 때마다 해당 종목의 시세 이력 데이터를 가져옵니다.
+     * 응답 크기와 파싱 시간을 줄이기 위해 바이너리 형식을 우선 요청하고, JSON 응답도 처리합니다.
+     * 처음 표시할 때 대시보드 초기 데이터에 이 종목의 이력(봉 개수를 줄인 요약)이 있으면 먼저 그리고,
+     * 전체 이력은 로딩 표시 없이 이어서 받아 교체합니다.
+     */
     useEffect(() => {
         if (!symbol) return;
-        setLoading(true);
+        const initial = !usedPrefetchRef.current && prefetched?.charts?.[symbol];
+        usedPrefetchRef.current = true;
+        if (initial) {
+            setStockName(initial.stockName);
+            setChartData(initial.history);
+            setLoading(false);
+        } else {
+            setLoading(true);
+        }
         setError(null);
-        fetch(`/api/charts/krx/history?symbol=${symbol}&days=5844`) // 약 16년치 데이터
+        fetch(`/api/charts/krx/history?symbol=${symbol}&days=5844`, { // 약 16년치 데이터
+            headers: { Accept: `${CANDLE_MEDIA_TYPE}, application/json;q=0.9` },
+        })
             .then(response => {
                 if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
-                return response.json();
+                const contentType = response.headers.get('Content-Type') || '';
+                return contentType.startsWith(CANDLE_MEDIA_TYPE)
+                    ? response.arrayBuffer().then(decodeCandles)
+                    : response.json();
             })
             .then(data => {
                 setStockName(data.stockName);
@@ -90,6 +111,7 @@ const KrxChartWidget = ({ widgetId, settings, width, height, onSettingsChange })
             })
             .catch(err => {
                 console.error("Fetch data error:", err);
+                if (initial) return; // 요약 이력을 그린 상태면 그대로 둡니다.
                 setChartData(null);
                 setError(err.message);
             })
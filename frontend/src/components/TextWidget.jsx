@@ -89,6 +89,12 @@ function TextWidget({ widgetId, settings, onSettingsChange }) {
                 <span>{sign} {formatNumber(change)}</span>
                 <span style={{ marginLeft: '5px' }}>({changeRate}%)</span>
             </div>
+            {/* 지수 조회에 실패하여 마지막으로 받은 값을 보여 주는 경우 */}
+            {metricData.stale && (
+                <div style={{ fontSize: '0.75em', color: '#999', marginTop: '6px' }} title={metricData.fetchedAt}>
+                    {metricData.fetchedAt ? `${String(metricData.fetchedAt).slice(11, 16)} 기준` : '지연된 값'}
+                </div>
+            )}
         </div>
     );
 }
@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useCallback, useMemo } from 'react';
+import React, { useState, useEffect, useCallback, useMemo, useRef } from 'react';
 import _ from 'lodash';
 import { useDashboard } from '../contexts/DashboardContext';
 import SymbolSearchInput from './SymbolSearchInput';
@@ -65,20 +65,31 @@ const SettingsModal = ({ settings, onColumnToggle, onWidthChange, onClose }) =>
  * @param {function} props.onSettingsChange - 위젯 설정 변경 시 호출되는 함수
  */
 function WatchlistWidget({ widgetId, settings, onSettingsChange }) {
-    const { setSelectedAsset } = useDashboard();
+    const { setSelectedAsset, prefetched } = useDashboard();
     const [watchlistData, setWatchlistData] = useState([]);
+    // 대시보드 초기 로딩 때 함께 받은 시세는 첫 표시에만 사용합니다.
+    const usedPrefetchRef = useRef(false);
     const [isLoading, setIsLoading] = useState(false);
     const [error, setError] = useState(null);
     const [showSettings, setShowSettings] = useState(false);
 
     const symbols = useMemo(() => settings.symbols || [], [settings.symbols]);
 
-    /** 위젯 설정에 저장된 `symbols` 배열이 변경될 때마다 해당 종목들의 최신 시세를 가져옵니다. */
+    /**
+     * 위젯 설정에 저장된 `symbols` 배열이 변경될 때마다 해당 종목들의 최신 시세를 가져옵니다.
+     * 처음 표시할 때 대시보드 초기 데이터에 모든 종목의 시세가 있으면 요청하지 않고 사용합니다.
+     */
     useEffect(() => {
         if (symbols.length === 0) {
             setWatchlistData([]);
             return;
         }
+        const initialQuotes = usedPrefetchRef.current ? null : prefetched?.quotes;
+        usedPrefetchRef.current = true;
+        if (initialQuotes && symbols.every(symbol => initialQuotes.some(item => item.isuSrtCd === symbol))) {
+            setWatchlistData(initialQuotes.filter(item => symbols.includes(item.isuSrtCd)));
+            return;
+        }
 
         const fetchWatchlistData = async () => {
             setIsLoading(true);
@@ -0,0 +1,77 @@
+/**
+ * 서버의 열 단위 바이너리 시세 이력 형식(application/vnd.krx.candles)을 디코딩합니다.
+ * 형식 정의는 백엔드의 stockDashboard.model.CandleCodec과 같습니다.
+ */
+
+/** 바이너리 형식을 요청할 때 사용할 미디어 타입 */
+export const CANDLE_MEDIA_TYPE = 'application/vnd.krx.candles';
+
+const MAGIC = [0x4b, 0x52, 0x58, 0x43]; // "KRXC"
+const VERSION = 1;
+const MS_PER_DAY = 86400000;
+
+/**
+ * 바이너리 시세 이력을 JSON 응답과 같은 모양의 객체로 변환합니다.
+ * @param {ArrayBuffer} buffer - 서버 응답 바이트
+ * @returns {{stockName: string|null, history: {time: string, open: number, high: number, low: number, close: number, volume: number}[]}}
+ */
+export function decodeCandles(buffer) {
+    const bytes = new Uint8Array(buffer);
+    let pos = 0;
+
+    const readByte = () => {
+        if (pos >= bytes.length) throw new Error('캔들 데이터가 잘렸습니다.');
+        return bytes[pos++];
+    };
+    // 값이 2^53을 넘지 않으므로 비트 연산 대신 곱셈으로 누적합니다.
+    const readVarint = () => {
+        let result = 0;
+        let scale = 1;
+        for (;;) {
+            const b = readByte();
+            result += (b & 0x7f) * scale;
+            if ((b & 0x80) === 0) return result;
+            scale *= 128;
+        }
+    };
+    const readDeltaColumn = (n) => {
+        const column = new Array(n);
+        let prev = 0;
+        for (let i = 0; i < n; i++) {
+            const zz = readVarint();
+            prev += zz % 2 === 0 ? zz / 2 : -(zz + 1) / 2;
+            column[i] = prev;
+        }
+        return column;
+    };
+
+    for (const b of MAGIC) {
+        if (readByte() !== b) throw new Error('캔들 데이터 형식이 아닙니다.');
+    }
+    const version = readByte();
+    if (version !== VERSION) throw new Error(`지원하지 않는 캔들 데이터 버전입니다: ${version}`);
+
+    const nameLength = readVarint();
+    let stockName = null;
+    if (nameLength > 0) {
+        stockName = new TextDecoder().decode(bytes.subarray(pos, pos + nameLength - 1));
+        pos += nameLength - 1;
+    }
+    const n = readVarint();
+
+    const day = readDeltaColumn(n);
+    const open = readDeltaColumn(n);
+    const high = readDeltaColumn(n);
+    const low = readDeltaColumn(n);
+    const close = readDeltaColumn(n);
+    const volume = readDeltaColumn(n);
+
+    const history = new Array(n);
+    for (let i = 0; i < n; i++) {
+        history[i] = {
+            time: new Date(day[i] * MS_PER_DAY).toISOString().slice(0, 10),
+            open: open[i], high: high[i], low: low[i], close: close[i], volume: volume[i],
+        };
+    }
+    return { stockName, history };
+}
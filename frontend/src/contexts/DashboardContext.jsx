@@ -13,6 +13,7 @@ const DashboardContext = createContext(null);
  *   loading: boolean,
  *   selectedAsset: object|null,
  *   setSelectedAsset: function,
+ *   prefetched: {data: object, quotes: object[], charts: object}|null,
  *   onLayoutChange: function,
  *   addWidget: function,
  *   removeWidget: function,
@@ -84,44 +85,47 @@ export const DashboardProvider = ({ children }) => {
     const [loading, setLoading] = useState(true); // 위젯 로딩 상태
     const [selectedAsset, setSelectedAsset] = useState(null); // 종목 검색 등에서 선택된 자산 정보
 
+    // 서버가 위젯 목록과 함께 보내 준 위젯별 초기 데이터 ({ data, quotes, charts })
+    const [prefetched, setPrefetched] = useState(null);
+
     // 사용자 인증 상태가 변경될 때 위젯 및 레이아웃을 로드합니다.
+    // 위젯 목록과 각 위젯이 처음 그릴 데이터를 /api/dashboard/bootstrap 한 번의 요청으로 받아옵니다.
+    // 비로그인 사용자는 서버의 데모 대시보드를 받으며, 요청이 실패하면 미리 정의된 샘플 데이터를 사용합니다.
     useEffect(() => {
-        if (user) {
-            // 로그인한 사용자의 경우, 서버에서 위젯 데이터를 가져옵니다.
-            setLoading(true);
-            fetch('/api/widgets')
-                .then(res => res.ok ? res.json() : Promise.reject(new Error('Failed to fetch widgets')))
-                .then(data => {
-                    if (data && data.length > 0) {
-                        const newWidgets = {};
-                        const newLayouts = { lg: [], md: [], sm: [] };
-                        data.forEach(widget => {
-                            const widgetId = widget.widgetId.toString();
-                            newWidgets[widgetId] = { title: widget.widgetName, type: widget.widgetType, props: JSON.parse(widget.widgetSettings) };
-                            const layoutInfo = JSON.parse(widget.layoutInfo);
-                            const limits = WIDGET_SIZE_LIMITS[widget.widgetType] || {};
-                            Object.keys(layoutInfo).forEach(bp => {
-                                if (newLayouts[bp] && layoutInfo[bp]) {
-                                    newLayouts[bp].push({ ...layoutInfo[bp], i: widgetId, ...limits });
-                                }
-                            });
-                        });
-                        setWidgets(newWidgets);
-                        setLayouts(newLayouts);
-                    } else {
-                        // DB에 위젯이 없는 신규 사용자의 경우, 비어있는 상태로 시작합니다.
-                        setWidgets({});
-                        setLayouts({ lg: [], md: [], sm: [] });
-                    }
-                })
-                .catch(error => console.error(error))
-                .finally(() => setLoading(false));
-        } else {
-            // 비로그인 사용자의 경우, 미리 정의된 샘플 데이터로 대시보드를 구성합니다.
-            setWidgets(sampleWidgets);
-            setLayouts(sampleLayouts);
-            setLoading(false);
-        }
+        setLoading(true);
+        fetch('/api/dashboard/bootstrap')
+            .then(res => res.ok ? res.json() : Promise.reject(new Error('Failed to fetch dashboard')))
+            .then(({ widgets: data, ...initialData }) => {
+                const newWidgets = {};
+                const newLayouts = { lg: [], md: [], sm: [] };
+                // DB에 위젯이 없는 신규 사용자의 경우, 비어있는 상태로 시작합니다.
+                (data || []).forEach(widget => {
+                    const widgetId = widget.widgetId.toString();
+                    newWidgets[widgetId] = { title: widget.widgetName, type: widget.widgetType, props: JSON.parse(widget.widgetSettings) };
+                    const layoutInfo = JSON.parse(widget.layoutInfo);
+                    const limits = WIDGET_SIZE_LIMITS[widget.widgetType] || {};
+                    Object.keys(layoutInfo).forEach(bp => {
+                        if (newLayouts[bp] && layoutInfo[bp]) {
+                            newLayouts[bp].push({ ...layoutInfo[bp], i: widgetId, ...limits });
+                        }
+                    });
+                });
+                setWidgets(newWidgets);
+                setLayouts(newLayouts);
+                setPrefetched(initialData);
+            })
+            .catch(error => {
+                console.error(error);
+                setPrefetched(null);
+                if (user) {
+                    setWidgets({});
+                    setLayouts({ lg: [], md: [], sm: [] });
+                } else {
+                    setWidgets(sampleWidgets);
+                    setLayouts(sampleLayouts);
+                }
+            })
+            .finally(() => setLoading(false));
     }, [user]);
 
     // 레이아웃 변경사항을 임시 저장하는 ref
@@ -136,14 +140,16 @@ export const DashboardProvider = ({ children }) => {
         const layoutsToSave = { ...changedLayoutsRef.current };
         if (Object.keys(layoutsToSave).length === 0) return;
 
-        Object.keys(layoutsToSave).forEach(widgetId => {
-            const layoutInfo = layoutsToSave[widgetId];
-            fetch(`/api/widgets/${widgetId}/layout`, {
-                method: 'PUT',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(layoutInfo)
-            }).catch(error => console.error(`Failed to save layout for widget ${widgetId}:`, error));
-        });
+        // 변경된 위젯들의 레이아웃을 한 번의 요청으로 저장
+        const body = Object.keys(layoutsToSave).map(widgetId => ({
+            widgetId: Number(widgetId),
+            layoutInfo: layoutsToSave[widgetId]
+        }));
+        fetch('/api/widgets/layout', {
+            method: 'PUT',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(body)
+        }).catch(error => console.error('Failed to save widget layouts:', error));
         changedLayoutsRef.current = {};
     }, 2000), [user]);
 
@@ -334,6 +340,7 @@ export const DashboardProvider = ({ children }) => {
         loading,
         selectedAsset,
         setSelectedAsset,
+        prefetched,
         onLayoutChange,
         addWidget,
         removeWidget,
@@ -1,18 +1,25 @@
-import React, { createContext, useState, useEffect, useCallback, useMemo, useContext } from 'react';
+import React, { createContext, useState, useEffect, useCallback, useMemo, useContext, useRef } from 'react';
 
 const DataContext = createContext(null);
 
 /**
  * 특정 데이터 키 목록에 대한 데이터를 서버에서 동적으로 가져와 제공하는 Provider 컴포넌트입니다.
- * 데이터는 30초마다 자동으로 새로고침됩니다.
+ * 서버의 SSE 스트림(/api/dashboard/stream)을 구독하여 데이터가 바뀔 때만 변경분을 받아 반영합니다.
+ * SSE를 사용할 수 없거나 연결이 끊긴 동안에는 30초마다 폴링하며, 서버 데이터가 바뀌지 않았으면(304) 기존 데이터를 유지합니다.
  * @param {object} props - 컴포넌트에 전달되는 속성
  * @param {string[]} props.requiredDataKeys - 서버에 요청할 데이터 키의 배열
+ * @param {object} [props.initialData] - 대시보드 초기 로딩 때 함께 받은 데이터 (SSE 첫 메시지 전까지 표시)
  * @param {React.ReactNode} props.children - 이 Provider가 감싸게 될 자식 컴포넌트들
  */
-export function DataProvider({ requiredDataKeys, children }) {
-	const [data, setData] = useState({});
-	const [isLoading, setIsLoading] = useState(true);
+export function DataProvider({ requiredDataKeys, initialData, children }) {
+	const [data, setData] = useState(initialData || {});
+	const [isLoading, setIsLoading] = useState(!initialData);
+	// 구독을 새로 시작할 때 이미 가진 데이터로 화면을 그릴 수 있는지 확인하기 위한 최신 데이터 참조
+	const dataRef = useRef(data);
+	dataRef.current = data;
 	const [error, setError] = useState(null);
+	// 마지막으로 받은 응답의 ETag와 그 응답을 요청한 키 목록
+	const lastEtag = useRef({ keys: null, etag: null });
 
 	/**
 	 * 주어진 키 목록을 사용하여 서버에서 동적 데이터를 비동기적으로 가져옵니다.
@@ -29,17 +36,28 @@ export function DataProvider({ requiredDataKeys, children }) {
 		setError(null);
 
 		try {
+            const body = JSON.stringify(keys);
+            const headers = { 'Content-Type': 'application/json' };
+            // 같은 키 목록으로 받은 ETag가 있으면 조건부 요청을 보냅니다.
+            if (lastEtag.current.keys === body && lastEtag.current.etag) {
+                headers['If-None-Match'] = lastEtag.current.etag;
+            }
+
             const response = await fetch('/api/dashboard/dynamic-data', {
                 method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(keys),
+                headers,
+                body,
             });
 
+			if (response.status === 304) {
+				return; // 변경 없음, 기존 데이터 유지
+			}
 			if (!response.ok) {
 				throw new Error('Failed to fetch dynamic dashboard data.');
 			}
 
 			const result = await response.json();
+			lastEtag.current = { keys: body, etag: response.headers.get('ETag') };
 			setData(result);
 
 		} catch (err) {
@@ -50,16 +68,57 @@ export function DataProvider({ requiredDataKeys, children }) {
 		}
 	}, []);
 
-    // `requiredDataKeys`가 변경되거나 30초마다 데이터를 새로고침합니다.
+    // `requiredDataKeys`가 변경되면 SSE 구독을 새로 시작합니다. SSE가 동작하지 않으면 30초마다 폴링합니다.
 	useEffect(() => {
-        // 키 배열의 순서에 상관없이 변경을 감지하기 위해 정렬 후 문자열로 변환합니다.
-        const keysString = JSON.stringify(requiredDataKeys.sort());
+        const keys = [...requiredDataKeys];
+        let intervalId = null;
+
+        const startPolling = () => {
+            if (intervalId !== null) return;
+            fetchData(keys);
+            intervalId = setInterval(() => fetchData(keys), 30000); // 30초마다 폴링
+        };
+        const stopPolling = () => {
+            if (intervalId === null) return;
+            clearInterval(intervalId);
+            intervalId = null;
+        };
 
-		fetchData(requiredDataKeys);
+        if (keys.length === 0 || typeof EventSource === 'undefined') {
+            startPolling();
+            return stopPolling;
+        }
 
-		const intervalId = setInterval(() => fetchData(requiredDataKeys), 30000); // 30초마다 폴링
+        // 필요한 키의 데이터를 이미 가지고 있으면(초기 데이터 등) 첫 메시지를 기다리는 동안에도 그대로 표시합니다.
+        if (!keys.every(key => key in dataRef.current)) {
+            setIsLoading(true);
+        }
+        const source = new EventSource(`/api/dashboard/stream?keys=${encodeURIComponent(keys.join(','))}`);
+        // 연결(재연결) 직후 첫 메시지는 전체 데이터, 이후 메시지는 바뀐 키의 데이터만 담고 있습니다.
+        // 이벤트 ID는 데이터 세대 번호이며, 이미 받은 세대보다 오래된 변경분은 무시합니다.
+        let isFirstMessage = true;
+        let lastGeneration = -1;
+        source.onopen = () => { isFirstMessage = true; };
+        source.addEventListener('data', (event) => {
+            const generation = Number(event.lastEventId);
+            if (!isFirstMessage && generation <= lastGeneration) return;
+            const payload = JSON.parse(event.data);
+            // 업데이터는 나중에 실행될 수 있으므로 지금의 값을 고정해서 넘깁니다.
+            const first = isFirstMessage;
+            setData(prev => (first ? payload : { ...prev, ...payload }));
+            isFirstMessage = false;
+            lastGeneration = generation;
+            stopPolling();
+            setError(null);
+            setIsLoading(false);
+        });
+        // EventSource가 스스로 재연결을 시도하는 동안에는 폴링으로 데이터를 유지합니다.
+        source.onerror = () => startPolling();
 
-		return () => clearInterval(intervalId); // 컴포넌트 언마운트 시 인터벌 정리
+        return () => { // 컴포넌트 언마운트 또는 키 변경 시 정리
+            source.close();
+            stopPolling();
+        };
 	}, [fetchData, JSON.stringify(requiredDataKeys.sort())]); // 키 목록이 바뀌면 즉시 재실행
 
 	const value = useMemo(() => ({ data, isLoading, error }), [data, isLoading, error]);
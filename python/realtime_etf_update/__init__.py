@@ -7,6 +7,8 @@ from dotenv import load_dotenv
 import azure.functions as func
 import logging
 
+from shared_code.latest_metrics import merge_latest_metrics
+
 # --- 1. 설정 (Configuration) ---
 KRX_URL = 'https://data.krx.co.kr/comm/bldAttendant/getJsonData.cmd'
 
@@ -159,8 +161,12 @@ def upsert_daily_etf_metrics(conn, df, collected_at_str):
 			conn.rollback()
 			raise
 
+	# 3. 최신 시세 테이블 갱신 (같은 트랜잭션), 실패해도 daily_metrics는 커밋
+	merged_count = merge_latest_metrics(cursor, today_str, formatted_collected_at)
+
 	conn.commit()
 	logging.info(f"Successfully inserted {inserted_count} ETF metrics into daily_metrics.")
+	logging.info(f"Merged {merged_count} ETF rows into latest_metrics.")
 	if node_inserted_count > 0:
 		logging.info(f"Successfully added {node_inserted_count} new ETF nodes.")
 
@@ -14,6 +14,8 @@ import math
 import os
 from dotenv import load_dotenv
 
+from shared_code.latest_metrics import merge_latest_metrics
+
 
 # --- 1. 설정 ---
 HEADERS = {
@@ -279,8 +281,11 @@ def upsert_daily_metrics(conn, df, collected_at_str, ohlcv_map: dict):
             success += 1
         except Exception as e:
             logging.warning(f"INSERT 실패 [{params[0]}]: {e}")
+
+    # 같은 트랜잭션에서 최신 시세 테이블 갱신 (조회 쪽 ROW_NUMBER() 스캔 제거), 실패해도 daily_metrics는 커밋
+    merged_count = merge_latest_metrics(cursor, today_str, collected_at_dt)
     conn.commit()
-    logging.info(f"{success}/{len(insert_data)}개 종목 DB 저장 완료")
+    logging.info(f"{success}/{len(insert_data)}개 종목 DB 저장 완료 (최신 시세 {merged_count}개 갱신)")
 
 
 # --- 6. 메인 로직 ---
@@ -0,0 +1,51 @@
+import logging
+
+import pyodbc
+
+
+# 방금 적재한 수집분을 종목별 최신 시세 테이블(latest_metrics)에 반영 (더 오래된 수집분으로 덮어쓰지 않음)
+MERGE_LATEST_SQL = """
+    MERGE latest_metrics WITH (HOLDLOCK) AS t
+    USING (
+        SELECT ISU_SRT_CD, metric_date, collected_at, TDD_CLSPRC, FLUC_RT,
+               TDD_OPNPRC, TDD_HGPRC, TDD_LWPRC, ACC_TRDVOL, ACC_TRDVAL, MKTCAP
+        FROM daily_metrics
+        WHERE metric_date = ? AND collected_at = ?
+    ) AS s
+    ON t.ISU_SRT_CD = s.ISU_SRT_CD
+    WHEN MATCHED AND (s.metric_date > t.metric_date
+                      OR (s.metric_date = t.metric_date AND s.collected_at >= t.collected_at)) THEN
+        UPDATE SET metric_date = s.metric_date, collected_at = s.collected_at, TDD_CLSPRC = s.TDD_CLSPRC,
+                   FLUC_RT = s.FLUC_RT, TDD_OPNPRC = s.TDD_OPNPRC, TDD_HGPRC = s.TDD_HGPRC,
+                   TDD_LWPRC = s.TDD_LWPRC, ACC_TRDVOL = s.ACC_TRDVOL, ACC_TRDVAL = s.ACC_TRDVAL, MKTCAP = s.MKTCAP
+    WHEN NOT MATCHED THEN
+        INSERT (ISU_SRT_CD, metric_date, collected_at, TDD_CLSPRC, FLUC_RT,
+                TDD_OPNPRC, TDD_HGPRC, TDD_LWPRC, ACC_TRDVOL, ACC_TRDVAL, MKTCAP)
+        VALUES (s.ISU_SRT_CD, s.metric_date, s.collected_at, s.TDD_CLSPRC, s.FLUC_RT,
+                s.TDD_OPNPRC, s.TDD_HGPRC, s.TDD_LWPRC, s.ACC_TRDVOL, s.ACC_TRDVAL, s.MKTCAP);
+"""
+
+
+def merge_latest_metrics(cursor, metric_date, collected_at):
+    """
+    방금 적재한 수집분을 latest_metrics에 반영합니다 (daily_metrics와 같은 트랜잭션).
+    latest_metrics 테이블이 아직 없거나(KRX_Stock.sql의 DDL 적용 전) MERGE가 실패해도
+    예외를 던지지 않고 저장점까지만 되돌리므로, 호출한 쪽의 daily_metrics 커밋은 그대로 진행됩니다.
+    :return: 반영한 행 수, 건너뛰었거나 실패하면 None
+    """
+    cursor.execute("SELECT OBJECT_ID('latest_metrics')")
+    if cursor.fetchone()[0] is None:
+        logging.info("latest_metrics 테이블이 없어 최신 시세 갱신을 건너뜁니다.")
+        return None
+
+    cursor.execute("SAVE TRANSACTION merge_latest_metrics")
+    try:
+        cursor.execute(MERGE_LATEST_SQL, metric_date, collected_at)
+        return cursor.rowcount
+    except pyodbc.Error as e:
+        logging.warning(f"latest_metrics 갱신 실패 (daily_metrics는 그대로 저장): {e}")
+        try:
+            cursor.execute("IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION merge_latest_metrics")
+        except pyodbc.Error as rollback_error:
+            logging.warning(f"latest_metrics 저장점 복구 실패: {rollback_error}")
+        return None
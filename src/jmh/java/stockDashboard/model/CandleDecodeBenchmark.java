@@ -0,0 +1,69 @@
+package stockDashboard.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stockDashboard.dto.ChartDataDto;
+import stockDashboard.dto.PriceHistoryDto;
+
+/**
+ * 일봉 차트 데이터의 JSON 디코딩과 바이너리 형식({@link CandleCodec}) 디코딩 시간을 비교하는 벤치마크입니다.
+ * 4,000개는 약 16년치 일봉, 250개는 약 1년치 일봉을 가정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CandleDecodeBenchmark {
+
+    @Param({ "250", "4000" })
+    public int candles;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        List<PriceHistoryDto> bars = new ArrayList<>(candles);
+        LocalDate day = LocalDate.of(2010, 1, 4);
+        long close = 16_000;
+        for (int i = 0; i < candles; i++) {
+            long open = close + random.nextLong(-300, 300);
+            close = Math.max(100, open + random.nextLong(-800, 800));
+            long high = Math.max(open, close) + random.nextLong(0, 500);
+            long low = Math.max(1, Math.min(open, close) - random.nextLong(0, 500));
+            bars.add(new PriceHistoryDto(day.toString(), open, high, low, close, random.nextLong(0, 30_000_000)));
+            day = day.plusDays(day.getDayOfWeek().getValue() == 5 ? 3 : 1); // 주말 제외
+        }
+        ChartDataDto chart = new ChartDataDto("삼성전자", bars);
+        json = objectMapper.writeValueAsBytes(chart);
+        binary = CandleCodec.encode(chart);
+    }
+
+    /** 기존 응답 형식인 JSON을 Jackson으로 디코딩합니다. */
+    @Benchmark
+    public ChartDataDto decodeJson() throws Exception {
+        return objectMapper.readValue(json, ChartDataDto.class);
+    }
+
+    /** 바이너리 형식을 디코딩합니다. */
+    @Benchmark
+    public ChartDataDto decodeBinary() {
+        return CandleCodec.decode(binary);
+    }
+}
@@ -0,0 +1,150 @@
+package stockDashboard.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import stockDashboard.dto.MarketDataDto;
+import stockDashboard.dto.RankItemDto;
+
+/**
+ * 순위 생성 방식별 성능을 비교하는 벤치마크입니다.
+ * 기존 방식(박싱된 DTO 리스트를 nullsLast Comparator로 전체 정렬 후 상위 100개)과
+ * 기본형 키 배열에 대한 Top-K 힙 선택({@link TopKSelector})을 같은 데이터로 비교합니다.
+ * 두 방식 모두 응답에 쓰는 RankItemDto 목록까지 만들어 같은 일을 하도록 맞췄습니다.
+ * 2,700행은 현재 KRX 전체 종목 수, 50,000행은 해외/가상자산 종목을 추가한 경우를 가정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankSelectionBenchmark {
+
+    private static final int LIMIT = 100;
+
+    @Param({ "2700", "50000" })
+    public int rows;
+
+    private List<MarketDataDto> dtoList;
+    private MarketSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.of(2026, 1, 2);
+        LocalDateTime collectedAt = today.atTime(10, 0);
+
+        dtoList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean missing = random.nextInt(100) == 0; // 약 1%는 값이 없는 종목
+            dtoList.add(new MarketDataDto(
+                    String.format("%06d", i),
+                    "종목" + i,
+                    missing ? null : random.nextLong(1_000_000_000L, 500_000_000_000_000L),
+                    missing ? null : random.nextDouble(-30.0, 30.0),
+                    random.nextLong(1_000, 1_000_000),
+                    null, null, null,
+                    random.nextLong(0, 100_000_000),
+                    random.nextLong(0, 10_000_000_000_000L),
+                    "섹터" + (i % 40),
+                    i % 2 == 0 ? "KOSPI" : "KOSDAQ",
+                    today,
+                    collectedAt));
+        }
+        snapshot = MarketSnapshot.of(dtoList);
+    }
+
+    /** 기존 DashboardService.createRankData의 시가총액 순위 생성 방식입니다. */
+    @Benchmark
+    public List<RankItemDto> streamSortMarketCap() {
+        return dtoRankItems(dtoList.stream()
+                .sorted(Comparator.comparing(MarketDataDto::mktcap, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(LIMIT)
+                .toList());
+    }
+
+    /** 기존 방식의 등락률 상위 + 하위(Top & Bottom) 생성, 전체 정렬을 두 번 수행합니다. */
+    @Benchmark
+    public List<RankItemDto> streamSortTopAndBottom() {
+        List<RankItemDto> top = dtoRankItems(dtoList.stream()
+                .sorted(Comparator.comparing(MarketDataDto::fluc_rate, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(LIMIT)
+                .toList());
+        List<RankItemDto> bottom = dtoRankItems(dtoList.stream()
+                .sorted(Comparator.comparing(MarketDataDto::fluc_rate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(LIMIT)
+                .toList());
+        return Stream.concat(top.stream(), bottom.stream()).toList();
+    }
+
+    /** 열 단위 스냅샷과 Top-K 힙 선택을 사용한 시가총액 순위 생성, 키는 서비스와 같은 {@link MarketRankIndex#sortKeys}로 만듭니다. */
+    @Benchmark
+    public List<RankItemDto> topKMarketCap() {
+        int[] candidates = allRows();
+        double[] keys = MarketRankIndex.sortKeys(snapshot, MarketRankIndex.Metric.MARKET_CAP, false);
+        return snapshotRankItems(TopKSelector.select(candidates, candidates.length, keys, LIMIT, false));
+    }
+
+    /** 열 단위 스냅샷과 Top-K 힙 선택을 사용한 Top & Bottom 생성, 값이 없는 종목이 양쪽 모두 마지막에 오도록 방향별 키를 만듭니다. */
+    @Benchmark
+    public List<RankItemDto> topKTopAndBottom() {
+        int[] candidates = allRows();
+        double[] topKeys = MarketRankIndex.sortKeys(snapshot, MarketRankIndex.Metric.CHANGE_RATE, false);
+        double[] bottomKeys = MarketRankIndex.sortKeys(snapshot, MarketRankIndex.Metric.CHANGE_RATE, true);
+        List<RankItemDto> top = snapshotRankItems(TopKSelector.select(candidates, candidates.length, topKeys, LIMIT, false));
+        List<RankItemDto> bottom = snapshotRankItems(TopKSelector.select(candidates, candidates.length, bottomKeys, LIMIT, true));
+        return Stream.concat(top.stream(), bottom.stream()).toList();
+    }
+
+    private int[] allRows() {
+        int[] candidates = new int[snapshot.size()];
+        for (int row = 0; row < candidates.length; row++) {
+            candidates[row] = row;
+        }
+        return candidates;
+    }
+
+    /** 정렬된 DTO 목록을 응답 형식으로 변환합니다. 값이 없는 필드는 서비스와 같이 0으로 채웁니다. */
+    private static List<RankItemDto> dtoRankItems(List<MarketDataDto> sorted) {
+        List<RankItemDto> result = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            MarketDataDto d = sorted.get(i);
+            result.add(new RankItemDto(i + 1, d.isuSrtCd(), d.nodeName(),
+                    orZero(d.currentPrice()), d.fluc_rate() != null ? d.fluc_rate() : 0.0,
+                    orZero(d.tradeVolume()), orZero(d.tradeValue()), orZero(d.mktcap())));
+        }
+        return result;
+    }
+
+    /** 선택된 스냅샷 행을 응답 형식으로 변환합니다. DashboardService.toRankItem과 같은 변환입니다. */
+    private List<RankItemDto> snapshotRankItems(int[] rows) {
+        List<RankItemDto> result = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            result.add(new RankItemDto(i + 1, snapshot.symbol(row), snapshot.name(row),
+                    MarketSnapshot.orElse(snapshot.close(row), 0L),
+                    MarketSnapshot.orElse(snapshot.flucRate(row), 0.0),
+                    MarketSnapshot.orElse(snapshot.volume(row), 0L),
+                    MarketSnapshot.orElse(snapshot.value(row), 0L),
+                    MarketSnapshot.orElse(snapshot.mktcap(row), 0L)));
+        }
+        return result;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
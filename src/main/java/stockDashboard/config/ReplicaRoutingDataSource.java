@@ -0,0 +1,152 @@
+package stockDashboard.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시장 데이터 조회를 읽기 전용 복제본으로 보내고, 복제본이 뒤처지거나 연결할 수 없으면 주 DB로 보내는 데이터 소스입니다.
+ * 주기적으로 두 DB의 최신 수집 시각(daily_metrics.collected_at)을 비교하여 복제 지연을 측정하며,
+ * 지연이 허용치 이하인 동안에만 복제본을 사용합니다. 첫 측정 전에는 주 DB를 사용합니다.
+ * 조회 전용 리포지토리(KrxRepository)에만 연결하며, 쓰기는 항상 주 DB 데이터 소스를 직접 사용합니다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    /** 최신 거래일 데이터의 마지막 수집 시각을 구하는 쿼리입니다. (metric_date 인덱스 사용) */
+    static final String LAST_COLLECTED_SQL =
+            "SELECT MAX(collected_at) FROM daily_metrics WHERE metric_date = (SELECT MAX(metric_date) FROM daily_metrics)";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable = false;
+    private volatile Duration lastLag;
+
+    /**
+     * ReplicaRoutingDataSource 생성자입니다.
+     * 라우팅 대상 등록은 Bean 초기화 시 호출되는 {@link #afterPropertiesSet()}에서 합니다.
+     * @param primary 주 DB 데이터 소스
+     * @param replica 읽기 전용 복제본 데이터 소스
+     * @param maxLag 복제본을 사용할 수 있는 최대 복제 지연
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * 주 DB와 복제본을 라우팅 대상으로 등록합니다. Spring이 Bean 생성 후 호출합니다.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaUsable ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    /**
+     * 복제본을 사용할 수 있으면 복제본 연결을, 그렇지 않으면 주 DB 연결을 반환합니다.
+     * 복제본 연결에 실패하면 다음 측정 전까지 주 DB를 사용합니다.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!replicaUsable) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaUsable = false;
+            log.warn("복제본 연결에 실패하여 주 DB로 전환합니다: {}", e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * 주 DB와 복제본의 최신 수집 시각을 비교하여 복제본 사용 여부를 갱신합니다.
+     */
+    @Scheduled(fixedDelayString = "${krx.replica.lag-probe-interval-ms:15000}")
+    public void probeLag() {
+        Timestamp primaryLast;
+        try {
+            primaryLast = lastCollectedAt(primary);
+        } catch (DataAccessException e) {
+            // 주 DB를 측정할 수 없으면 지연을 판단할 수 없으므로 현재 상태를 유지합니다.
+            log.warn("주 DB의 최신 수집 시각을 확인하지 못했습니다: {}", e.getMessage());
+            return;
+        }
+        Timestamp replicaLast;
+        try {
+            replicaLast = lastCollectedAt(replica);
+        } catch (DataAccessException e) {
+            update(false, null, "복제본을 조회할 수 없음: " + e.getMessage());
+            return;
+        }
+        if (primaryLast == null) {
+            update(true, Duration.ZERO, null);
+            return;
+        }
+        if (replicaLast == null) {
+            update(false, null, "복제본에 데이터가 없음");
+            return;
+        }
+        Duration lag = Duration.between(replicaLast.toInstant(), primaryLast.toInstant());
+        if (lag.isNegative()) {
+            lag = Duration.ZERO;
+        }
+        update(lag.compareTo(maxLag) <= 0, lag, "복제 지연 " + lag.toSeconds() + "초");
+    }
+
+    /**
+     * 현재 조회를 복제본으로 보내고 있는지 여부입니다.
+     * @return 복제본 사용 중이면 true
+     */
+    public boolean isUsingReplica() {
+        return replicaUsable;
+    }
+
+    /**
+     * 마지막으로 측정한 복제 지연입니다.
+     * @return 복제 지연, 측정하지 못했으면 null
+     */
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    private void update(boolean usable, Duration lag, String reason) {
+        lastLag = lag;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("시장 데이터 조회를 복제본으로 전환합니다. (복제 지연 {}초)", lag.toSeconds());
+            } else {
+                log.warn("시장 데이터 조회를 주 DB로 전환합니다. ({})", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    private static Timestamp lastCollectedAt(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject(LAST_COLLECTED_SQL, Timestamp.class);
+    }
+}
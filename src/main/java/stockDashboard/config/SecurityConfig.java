@@ -48,10 +48,14 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/register", "/api/login").permitAll()
                 // 동적 데이터 조회 API는 누구나 접근 가능
                 .requestMatchers(HttpMethod.POST, "/api/dashboard/dynamic-data").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/dashboard/stream", "/api/dashboard/bootstrap", "/api/dashboard/refresh-status").permitAll()
                 // 차트 및 종목 검색 API는 누구나 접근 가능
                 .requestMatchers(HttpMethod.GET, "/api/charts/krx/history", "/api/stocks/search").permitAll()
                 // 그 외 모든 /api/** 요청은 인증 필요
                 .requestMatchers("/api/**").authenticated()
+                // 상태 확인은 누구나, 그 외 운영 지표(actuator)는 인증 필요
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").authenticated()
                 // 나머지 요청은 일단 허용 (필요에 따라 authenticated()로 변경 가능)
                 .anyRequest().permitAll()
             )
@@ -74,14 +78,15 @@ public class SecurityConfig {
      * 사용자 인증 정보를 관리하는 UserDetailsManager를 JDBC 기반으로 구성합니다.
      * 'authDataSource'를 사용하여 사용자 데이터베이스에 접근하고,
      * 사용자 조회 및 생성에 필요한 SQL 쿼리를 커스터마이징합니다.
+     * 로그인 시 user_id도 함께 조회하여 인증 주체({@link stockDashboard.model.DashboardUser})에 담습니다.
      *
      * @param dataSource 'authDataSource'로 지정된 인증용 데이터 소스
      * @return 커스텀 쿼리가 적용된 JdbcUserDetailsManager 객체
      */
     @Bean
     public UserDetailsManager userDetailsManager(@Qualifier("authDataSource") DataSource dataSource) {
-        JdbcUserDetailsManager users = new JdbcUserDetailsManager(dataSource);
-        users.setUsersByUsernameQuery("SELECT username, password_hash, 1 as enabled FROM users WHERE username = ?");
+        JdbcUserDetailsManager users = new DashboardUserDetailsManager(dataSource);
+        users.setUsersByUsernameQuery("SELECT username, password_hash, 1 as enabled, user_id FROM users WHERE username = ?");
         users.setAuthoritiesByUsernameQuery("SELECT username, 'ROLE_USER' as authority FROM users WHERE username = ?");
         // 사용자 생성 시 nickname을 username과 동일하게 설정
         users.setCreateUserSql("INSERT INTO users (username, password_hash, nickname) VALUES (?,?,?)");
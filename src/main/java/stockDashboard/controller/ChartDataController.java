@@ -2,15 +2,18 @@ package stockDashboard.controller;
 
 import lombok.RequiredArgsConstructor;
 import stockDashboard.dto.ChartDataDto;
-import stockDashboard.dto.PriceHistoryDto;
+import stockDashboard.model.CandleAggregator.Downsampling;
+import stockDashboard.model.CandleAggregator.Timeframe;
+import stockDashboard.model.CandleCodec;
 import stockDashboard.service.ChartDataService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/charts")
@@ -21,20 +24,30 @@ public class ChartDataController {
 
     /**
      * 특정 종목의 시세 이력과 종목명을 반환하는 API 엔드포인트입니다.
+     * timeframe으로 주봉/월봉을 요청할 수 있고, points를 지정하면 봉 개수를 그 이하로 줄여 반환합니다.
      * @param symbol 종목코드 (필수)
-     * @param days 조회 기간(일) (기본값: 365일)
-     * @return 차트 데이터 DTO (종목명 + 시세 이력)
+     * @param days 조회 기간(일), 1 ~ {@link ChartDataService#MAX_DAYS} (기본값: 365일)
+     * @param timeframe 봉 기간 단위, D(일)/W(주)/M(월) (기본값: D)
+     * @param points 최대 봉 개수, 0이면 줄이지 않음 (기본값: 0)
+     * @param mode 봉 개수를 줄이는 방식, minmax 또는 lttb (기본값: minmax)
+     * @return 차트 데이터 DTO (종목명 + 시세 이력), 파라미터가 잘못되었으면 400 Bad Request
      */
     @GetMapping("/krx/history")
     public ResponseEntity<ChartDataDto> getPriceHistory(
             @RequestParam("symbol") String symbol,
-            @RequestParam(value = "days", defaultValue = "365") int days) {
+            @RequestParam(value = "days", defaultValue = "365") int days,
+            @RequestParam(value = "timeframe", defaultValue = "D") String timeframe,
+            @RequestParam(value = "points", defaultValue = "0") int points,
+            @RequestParam(value = "mode", defaultValue = "MINMAX") String mode) {
         
-        if (symbol == null || symbol.isBlank()) {
+        Optional<Timeframe> tf = Timeframe.parse(timeframe);
+        Optional<Downsampling> ds = Downsampling.parse(mode);
+        if (symbol == null || symbol.isBlank() || tf.isEmpty() || ds.isEmpty()
+                || days < 1 || days > ChartDataService.MAX_DAYS) {
             return ResponseEntity.badRequest().build();
         }
         
-        ChartDataDto chartData = chartDataService.getPriceHistory(symbol, days);
+        ChartDataDto chartData = chartDataService.getPriceHistory(symbol, days, tf.get(), points, ds.get());
         
         if (chartData == null || chartData.history() == null || chartData.history().isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -42,4 +55,28 @@ public class ChartDataController {
         
         return ResponseEntity.ok(chartData);
     }
+
+    /**
+     * 시세 이력을 열 단위 바이너리 형식({@link CandleCodec#MEDIA_TYPE})으로 반환하는 API 엔드포인트입니다.
+     * Accept 헤더에 해당 미디어 타입을 지정한 요청만 이 메서드로 처리되며, 그 외에는 JSON으로 응답합니다.
+     * 파라미터는 {@link #getPriceHistory}와 같습니다.
+     * @return 인코딩된 차트 데이터
+     */
+    @GetMapping(value = "/krx/history", produces = CandleCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getPriceHistoryBinary(
+            @RequestParam("symbol") String symbol,
+            @RequestParam(value = "days", defaultValue = "365") int days,
+            @RequestParam(value = "timeframe", defaultValue = "D") String timeframe,
+            @RequestParam(value = "points", defaultValue = "0") int points,
+            @RequestParam(value = "mode", defaultValue = "MINMAX") String mode) {
+
+        ResponseEntity<ChartDataDto> response = getPriceHistory(symbol, days, timeframe, points, mode);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(response.getStatusCode()).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CandleCodec.MEDIA_TYPE))
+                .body(CandleCodec.encode(response.getBody()));
+    }
 }
@@ -1,50 +1,108 @@
 package stockDashboard.controller;
 
+import stockDashboard.service.DashboardBootstrapService;
+import stockDashboard.service.DashboardPushService;
 import stockDashboard.service.DashboardService;
+import stockDashboard.service.MarketRefreshScheduler;
+import stockDashboard.service.UserService;
+import stockDashboard.dto.DashboardBootstrapDto;
+import stockDashboard.dto.MarketRefreshStatusDto;
+import stockDashboard.dto.PreRenderedJson;
 import stockDashboard.dto.RankItemDto;
-import stockDashboard.dto.TreemapDto;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @RestController // JSON REST API
 public class DashboardController {
 	private final DashboardService serv;
+	private final DashboardPushService pushService;
+	private final DashboardBootstrapService bootstrapService;
+	private final UserService userService;
+	private final MarketRefreshScheduler refreshScheduler;
 	
 	/**
      * d3.js treemap에서 사용할 시장 데이터를 반환하는 API 엔드포인트입니다.
      *
+     * 캐시 갱신 시점에 직렬화해 둔 JSON 바이트를 그대로 응답하며,
+     * 클라이언트가 gzip을 지원하고 압축본이 있으면 미리 압축된 바이트를 보냅니다.
+     * 내용 해시 ETag를 함께 보내며, If-None-Match가 일치하면 304로 응답합니다.
+     *
      * @param marketType "kospi" 또는 "kosdaq"
-     * @return JSON 형식의 TreemapDto
+     * @param acceptEncoding 클라이언트의 Accept-Encoding 헤더
+     * @param request 조건부 요청 처리를 위한 요청 객체
+     * @return JSON 형식의 TreemapDto 바이트, 변경이 없으면 null (304)
      */
     @GetMapping("/api/charts/treemap/{marketType}")
-    public TreemapDto getMarketDataForTreemap(@PathVariable("marketType") String marketType) {
-        return serv.getTreemapData(marketType);
+    public ResponseEntity<byte[]> getMarketDataForTreemap(
+            @PathVariable("marketType") String marketType,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        PreRenderedJson treemap = serv.getTreemapJson(marketType);
+        if (treemap == null) {
+            return ResponseEntity.ok().build();
+        }
+        boolean gzip = treemap.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        // 같은 내용이라도 인코딩별로 다른 표현이므로 ETag를 구분합니다.
+        String etag = gzip ? treemap.etag().replaceFirst("\"$", "-gz\"") : treemap.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(treemap.gzip());
+        }
+        return response.body(treemap.json());
     }
 
     /**
      * 각종 순위 데이터를 반환하는 API 엔드포인트입니다.
-     * @param by 정렬 기준 (market_cap, change_rate, volume)
-     * @param market 시장 구분 (kospi, kosdaq, all)
+     * 미리 계산된 조합이 아니어도 현재 스냅샷의 순위 인덱스에서 바로 응답합니다.
+     * 응답 내용의 해시를 ETag로 보내며, If-None-Match가 일치하면 304로 응답합니다.
+     * @param by 정렬 기준 (market_cap, change_rate, volume, trade_value, intraday_range)
+     * @param market 시장 구분 (kospi, kosdaq, etf, all)
+     * @param order 정렬 순서 (asc, desc, 기본값 desc)
      * @param limit 반환할 개수 (기본값 10)
-     * @return JSON 형식의 RankItemDto 리스트
+     * @param request 조건부 요청 처리를 위한 요청 객체
+     * @return JSON 형식의 RankItemDto 리스트 바이트, 변경이 없으면 null (304)
      */
     @GetMapping("/api/market/rank")
-    public List<RankItemDto> getRankData(
+    public ResponseEntity<byte[]> getRankData(
             @RequestParam("by") String by,
             @RequestParam(value = "market", defaultValue = "ALL") String market,
             @RequestParam(value = "order", defaultValue = "DESC") String order,
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
-        return serv.getRankData(by, market, order, limit);
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            WebRequest request) {
+        PreRenderedJson rank = serv.getRankJson(by, market, order, limit);
+        if (rank == null) {
+            return ResponseEntity.internalServerError().build();
+        }
+        if (request.checkNotModified(rank.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(rank.json());
     }
 
     /**
@@ -59,11 +117,81 @@ public class DashboardController {
 
     /**
      * 요청된 키 목록에 해당하는 모든 대시보드 데이터를 반환합니다.
+     * 미리 직렬화된 JSON 조각을 응답 스트림에 바로 이어 붙여 {"키": 데이터, ...} 형식으로 응답합니다.
+     * 요청한 키들의 내용 해시를 조합한 ETag를 보내며, If-None-Match가 일치하면 본문 없이 304로 응답합니다.
+     * (POST 요청은 WebRequest.checkNotModified가 412로 처리하므로 헤더를 직접 비교합니다.)
      * @param dataKeys 프론트엔드에서 필요한 데이터 키의 목록
-     * @return 데이터 키와 실제 데이터 객체로 구성된 Map
+     * @param ifNoneMatch 클라이언트가 마지막으로 받은 ETag
+     * @param response JSON을 기록할 HTTP 응답
+     * @throws IOException 응답 기록 실패 시
      */
     @PostMapping("/api/dashboard/dynamic-data")
-    public Map<String, Object> getDynamicDashboardData(@RequestBody List<String> dataKeys) {
-        return serv.getDynamicData(dataKeys);
+    public void getDynamicDashboardData(
+            @RequestBody List<String> dataKeys,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        Map<String, PreRenderedJson> fragments = serv.getDynamicJson(dataKeys);
+        String etag = serv.dynamicDataEtag(fragments);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etagMatches(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        serv.writeDynamicData(fragments, response.getOutputStream());
+    }
+
+    /**
+     * 요청된 키 목록의 데이터를 Server-Sent Events로 구독합니다.
+     * 연결 직후 전체 데이터를 "data" 이벤트로 한 번 보내고, 이후에는 캐시 갱신으로 내용이 바뀐 키의 데이터만 보냅니다.
+     * @param dataKeys 구독할 데이터 키 목록 (쉼표로 구분, 최대 {@link DashboardPushService#MAX_KEYS}개)
+     * @return SSE 연결, 키가 너무 많으면 400 Bad Request
+     */
+    @GetMapping(value = "/api/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDashboardData(@RequestParam("keys") List<String> dataKeys) {
+        if (dataKeys.size() > DashboardPushService.MAX_KEYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(pushService.subscribe(dataKeys));
+    }
+
+    /**
+     * 대시보드 첫 화면에 필요한 위젯 목록과 위젯별 데이터(동적 데이터, 관심종목 시세, 차트 시세 이력)를 한 번에 반환합니다.
+     * 로그인하지 않은 경우 데모 대시보드의 위젯과 데이터를 반환합니다.
+     * @param userDetails 현재 인증된 사용자 정보 (비로그인 시 null)
+     * @return 위젯 목록과 위젯별 데이터
+     */
+    @GetMapping("/api/dashboard/bootstrap")
+    public ResponseEntity<DashboardBootstrapDto> getBootstrap(@AuthenticationPrincipal UserDetails userDetails) {
+        Long userId = userDetails != null ? userService.getUserId(userDetails) : null;
+        return ResponseEntity.ok(bootstrapService.bootstrap(userId));
+    }
+
+    /**
+     * 시장 데이터 갱신 스케줄러의 상태(장 운영 단계, 마지막 수집/갱신 시각, 다음 갱신 예정 시각)를 반환합니다.
+     * @return 갱신 스케줄러 상태
+     */
+    @GetMapping("/api/dashboard/refresh-status")
+    public ResponseEntity<MarketRefreshStatusDto> getRefreshStatus() {
+        return ResponseEntity.ok(refreshScheduler.status());
+    }
+
+    /**
+     * If-None-Match 헤더 값(쉼표로 구분된 목록, 약한 ETag 포함)에 주어진 ETag가 있는지 확인합니다.
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -1,15 +1,18 @@
 package stockDashboard.controller;
 
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import stockDashboard.repository.WidgetRepository.WidgetDto;
+import stockDashboard.service.UserService;
 import stockDashboard.service.WidgetService;
 
 /**
@@ -21,32 +24,17 @@ import stockDashboard.service.WidgetService;
 public class WidgetController {
 
     private final WidgetService widgetService;
-    private final JdbcTemplate jdbcTemplate; // authJdbcTemplate 주입
+    private final UserService userService;
 
     /**
      * WidgetController 생성자입니다.
-     * WidgetService와 인증용 JdbcTemplate을 주입받습니다.
+     * WidgetService와 사용자 ID 확인을 위한 UserService를 주입받습니다.
      * @param widgetService 위젯 관련 비즈니스 로직을 처리하는 서비스
-     * @param jdbcTemplate 'authDataSource'에 연결된 인증용 JdbcTemplate
+     * @param userService 인증된 사용자의 ID를 확인하는 서비스
      */
-    public WidgetController(WidgetService widgetService, @Qualifier("authJdbcTemplate") JdbcTemplate jdbcTemplate) {
+    public WidgetController(WidgetService widgetService, UserService userService) {
         this.widgetService = widgetService;
-        this.jdbcTemplate = jdbcTemplate;
-    }
-
-    /**
-     * Spring Security의 UserDetails 객체에서 사용자 ID를 조회합니다.
-     * @param userDetails 현재 인증된 사용자의 상세 정보
-     * @return 데이터베이스의 사용자 ID (long)
-     * @throws IllegalStateException 사용자를 찾을 수 없을 때 발생하는 예외
-     */
-    private long getUserIdFromUserDetails(UserDetails userDetails) {
-        String username = userDetails.getUsername();
-        Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE username = ?", Long.class, username);
-        if (userId == null) {
-            throw new IllegalStateException("Cannot find user ID for: " + username);
-        }
-        return userId;
+        this.userService = userService;
     }
 
     /**
@@ -62,14 +50,16 @@ public class WidgetController {
      * 새로운 위젯을 추가합니다.
      * @param request 위젯 생성에 필요한 정보를 담은 요청 바디
      * @param userDetails 현재 인증된 사용자 정보
-     * @return 성공 시 200 OK
+     * @return 성공 시 200 OK, 위젯 이름이 너무 긴 경우 400 Bad Request
      */
     @PostMapping
     public ResponseEntity<Void> addWidget(@RequestBody WidgetCreationRequest request, @AuthenticationPrincipal UserDetails userDetails) {
-        long userId = getUserIdFromUserDetails(userDetails);
+        long userId = userService.getUserId(userDetails);
         try {
             widgetService.addWidget(userId, request.widgetName(), request.widgetType(), request.layoutInfo(), request.widgetSettings());
             return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -82,7 +72,7 @@ public class WidgetController {
      */
     @GetMapping
     public ResponseEntity<List<WidgetDto>> getUserWidgets(@AuthenticationPrincipal UserDetails userDetails) {
-        long userId = getUserIdFromUserDetails(userDetails);
+        long userId = userService.getUserId(userDetails);
         try {
             List<WidgetDto> widgets = widgetService.getUserWidgets(userId);
             return ResponseEntity.ok(widgets);
@@ -100,7 +90,7 @@ public class WidgetController {
      */
     @PutMapping("/{widgetId}/layout")
     public ResponseEntity<Void> updateLayout(@PathVariable("widgetId") long widgetId, @RequestBody String layoutInfo, @AuthenticationPrincipal UserDetails userDetails) {
-        long userId = getUserIdFromUserDetails(userDetails);
+        long userId = userService.getUserId(userDetails);
         try {
             widgetService.updateWidgetLayout(userId, widgetId, layoutInfo);
             return ResponseEntity.ok().build();
@@ -109,6 +99,40 @@ public class WidgetController {
         }
     }
 
+    /**
+     * 한 위젯의 레이아웃 변경 내용입니다.
+     * @param widgetId 위젯 ID
+     * @param layoutInfo 새로운 레이아웃 정보 (브레이크포인트별 위치/크기 객체)
+     */
+    private record WidgetLayoutRequest(long widgetId, JsonNode layoutInfo) {}
+
+    /**
+     * 여러 위젯의 레이아웃 정보를 한 번의 요청으로 수정합니다.
+     * 그리드 재배치처럼 여러 위젯의 위치가 함께 바뀔 때 사용합니다.
+     * @param requests 위젯별 레이아웃 변경 목록
+     * @param userDetails 현재 인증된 사용자 정보
+     * @return 성공 시 200 OK, 요청이 너무 크거나 잘못된 경우 400 Bad Request
+     */
+    @PutMapping("/layout")
+    public ResponseEntity<Void> updateLayouts(@RequestBody List<WidgetLayoutRequest> requests, @AuthenticationPrincipal UserDetails userDetails) {
+        long userId = userService.getUserId(userDetails);
+        Map<Long, String> layouts = new LinkedHashMap<>();
+        for (WidgetLayoutRequest request : requests) {
+            if (request.layoutInfo() == null || !request.layoutInfo().isObject()) {
+                return ResponseEntity.badRequest().build();
+            }
+            layouts.put(request.widgetId(), request.layoutInfo().toString());
+        }
+        try {
+            widgetService.updateWidgetLayouts(userId, layouts);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * 특정 위젯의 설정을 수정합니다.
      * @param widgetId 수정할 위젯의 ID
@@ -118,7 +142,7 @@ public class WidgetController {
      */
     @PutMapping("/{widgetId}/settings")
     public ResponseEntity<Void> updateSettings(@PathVariable("widgetId") long widgetId, @RequestBody String widgetSettings, @AuthenticationPrincipal UserDetails userDetails) {
-        long userId = getUserIdFromUserDetails(userDetails);
+        long userId = userService.getUserId(userDetails);
         try {
             widgetService.updateWidgetSettings(userId, widgetId, widgetSettings);
             return ResponseEntity.ok().build();
@@ -132,14 +156,16 @@ public class WidgetController {
      * @param widgetId 수정할 위젯의 ID
      * @param widgetName 새로운 위젯 이름
      * @param userDetails 현재 인증된 사용자 정보
-     * @return 성공 시 200 OK
+     * @return 성공 시 200 OK, 위젯 이름이 너무 긴 경우 400 Bad Request
      */
     @PutMapping("/{widgetId}/name")
     public ResponseEntity<Void> updateName(@PathVariable("widgetId") long widgetId, @RequestBody String widgetName, @AuthenticationPrincipal UserDetails userDetails) {
-        long userId = getUserIdFromUserDetails(userDetails);
+        long userId = userService.getUserId(userDetails);
         try {
             widgetService.updateWidgetName(userId, widgetId, widgetName);
             return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -153,7 +179,7 @@ public class WidgetController {
      */
     @DeleteMapping("/{widgetId}")
     public ResponseEntity<Void> deleteWidget(@PathVariable("widgetId") long widgetId, @AuthenticationPrincipal UserDetails userDetails) {
-        long userId = getUserIdFromUserDetails(userDetails);
+        long userId = userService.getUserId(userDetails);
         try {
             widgetService.deleteWidget(userId, widgetId);
             return ResponseEntity.ok().build();
@@ -0,0 +1,20 @@
+package stockDashboard.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import stockDashboard.repository.WidgetRepository.WidgetDto;
+
+/**
+ * 대시보드 첫 화면을 그리는 데 필요한 위젯 목록과 위젯별 데이터를 한 번에 담아 전달하는 DTO입니다.
+ * @param widgets 위젯 목록 (로그인하지 않은 경우 데모 대시보드의 위젯)
+ * @param data 위젯들이 필요로 하는 동적 데이터 (데이터 키 → 데이터, /api/dashboard/dynamic-data 응답과 같은 형식)
+ * @param quotes 관심종목 위젯들의 최신 시세
+ * @param charts KRX 차트 위젯들의 요약 시세 이력 (종목코드 → 봉 개수를 줄인 차트 데이터), 제한 시간 안에 조회된 종목만 포함
+ */
+public record DashboardBootstrapDto(
+    List<WidgetDto> widgets,
+    Map<String, PreRenderedJson> data,
+    List<MarketDataDto> quotes,
+    Map<String, ChartDataDto> charts
+) {}
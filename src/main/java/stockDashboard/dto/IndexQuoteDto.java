@@ -0,0 +1,31 @@
+package stockDashboard.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 코스피/코스닥 지수 시세를 담는 DTO입니다.
+ * 지수 값의 JSON 필드 이름은 프론트엔드 TextWidget이 사용하는 이름(CLSPRC_IDX 등)을 따릅니다.
+ * @param closePrice 현재 지수 (소수점 2자리 문자열)
+ * @param change 전일 대비 (소수점 2자리 문자열)
+ * @param changeRate 등락률(%) (소수점 2자리 문자열)
+ * @param fetchedAt 값을 가져온 시각 (KST)
+ * @param stale 최근 조회에 실패하여 마지막으로 성공한 값을 대신 전달하는 경우 true
+ */
+public record IndexQuoteDto(
+    @JsonProperty("CLSPRC_IDX") String closePrice,
+    @JsonProperty("CMPPREVDD_IDX") String change,
+    @JsonProperty("FLUC_RT") String changeRate,
+    LocalDateTime fetchedAt,
+    boolean stale
+) {
+
+    /**
+     * 같은 값을 오래된 값으로 표시한 DTO를 반환합니다.
+     * @return stale이 true인 DTO
+     */
+    public IndexQuoteDto asStale() {
+        return stale ? this : new IndexQuoteDto(closePrice, change, changeRate, fetchedAt, true);
+    }
+}
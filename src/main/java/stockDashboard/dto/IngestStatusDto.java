@@ -0,0 +1,13 @@
+package stockDashboard.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가장 최근 날짜 데이터의 적재 상태를 전달하는 DTO입니다. 갱신 스케줄러가 새 수집분 확인에 사용합니다.
+ * @param latestCollectedAt 마지막 수집 시각(collected_at), 데이터가 없으면 null
+ * @param collectedSince 기준 시각 이후에 수집된 종목 수
+ */
+public record IngestStatusDto(
+    LocalDateTime latestCollectedAt,
+    int collectedSince
+) {}
@@ -0,0 +1,21 @@
+package stockDashboard.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시장 데이터 갱신 스케줄러의 현재 상태를 전달하는 DTO입니다. 시각은 모두 KST 기준입니다.
+ * @param phase 장 운영 단계 (PRE_OPEN, OPEN, POST_CLOSE, CLOSED)
+ * @param lastCollectedAt DB에서 마지막으로 확인한 수집 시각
+ * @param lastCheckedAt 마지막으로 새 수집분을 확인한 시각
+ * @param lastRefreshedAt 마지막으로 캐시를 갱신한 시각
+ * @param nextCheckAt 다음으로 새 수집분을 확인할 예정 시각
+ * @param nextRefreshBy 늦어도 이 시각까지는 캐시를 다시 갱신할 예정 (장중이 아니면 다음 장 시작 시각)
+ */
+public record MarketRefreshStatusDto(
+    String phase,
+    LocalDateTime lastCollectedAt,
+    LocalDateTime lastCheckedAt,
+    LocalDateTime lastRefreshedAt,
+    LocalDateTime nextCheckAt,
+    LocalDateTime nextRefreshBy
+) {}
@@ -0,0 +1,41 @@
+package stockDashboard.dto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * 캐시 갱신 시점에 미리 직렬화해 둔 JSON 데이터를 담는 객체입니다.
+ * 요청마다 객체 그래프를 다시 직렬화하지 않고, 저장된 바이트를 응답 스트림에 그대로 기록합니다.
+ * @param value 원본 데이터 객체 (e.g., TreemapDto, RankItemDto 리스트)
+ * @param json UTF-8로 인코딩된 JSON 바이트
+ * @param gzip json을 gzip으로 압축한 바이트, 크기가 작아 압축하지 않은 경우 null
+ * @param etag json 내용의 해시로 만든 ETag (따옴표 포함)
+ */
+@JsonSerialize(using = PreRenderedJson.RawJsonSerializer.class)
+public record PreRenderedJson(
+    Object value,
+    byte[] json,
+    byte[] gzip,
+    String etag
+) {
+
+    /**
+     * 다른 응답 객체에 포함되어 직렬화될 때, 원본 객체를 다시 직렬화하지 않고 저장된 JSON을 그대로 기록합니다.
+     */
+    static class RawJsonSerializer extends StdSerializer<PreRenderedJson> {
+
+        RawJsonSerializer() {
+            super(PreRenderedJson.class);
+        }
+
+        @Override
+        public void serialize(PreRenderedJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(new String(value.json(), StandardCharsets.UTF_8));
+        }
+    }
+}
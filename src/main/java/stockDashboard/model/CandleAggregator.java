@@ -0,0 +1,246 @@
+package stockDashboard.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import stockDashboard.dto.PriceHistoryDto;
+
+/**
+ * 일봉을 주봉/월봉으로 합치거나, 화면 폭에 맞게 일정 개수 이하로 줄이는(downsampling) 유틸리티입니다.
+ * 모든 메서드는 날짜 오름차순 목록을 받아 새 목록을 반환하며 입력을 변경하지 않습니다.
+ */
+public final class CandleAggregator {
+
+    /** 봉의 기간 단위입니다. */
+    public enum Timeframe {
+        /** 일봉 */
+        DAY,
+        /** 주봉 (월요일 시작) */
+        WEEK,
+        /** 월봉 */
+        MONTH;
+
+        /**
+         * 요청 파라미터 문자열을 기간 단위로 변환합니다.
+         * @param name "D"/"W"/"M" 또는 "DAY"/"WEEK"/"MONTH" (대소문자 무관)
+         * @return 변환된 기간 단위, 알 수 없는 값이면 빈 Optional
+         */
+        public static Optional<Timeframe> parse(String name) {
+            if (name == null) {
+                return Optional.empty();
+            }
+            return switch (name.toUpperCase(Locale.ROOT)) {
+                case "D", "DAY" -> Optional.of(DAY);
+                case "W", "WEEK" -> Optional.of(WEEK);
+                case "M", "MONTH" -> Optional.of(MONTH);
+                default -> Optional.empty();
+            };
+        }
+
+        /**
+         * 날짜가 속한 구간의 시작 날짜를 반환합니다.
+         * @param date 날짜
+         * @return 일봉은 그 날짜, 주봉은 그 주의 월요일, 월봉은 그 달의 1일
+         */
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+
+    /** 봉 개수를 줄이는 방식입니다. */
+    public enum Downsampling {
+        /** 연속한 봉을 같은 크기의 구간으로 묶어 구간별 시가/최고가/최저가/종가로 합칩니다. 고점과 저점이 보존됩니다. */
+        MINMAX,
+        /** Largest-Triangle-Three-Buckets, 종가 곡선의 모양을 가장 잘 유지하는 원본 봉을 구간마다 하나씩 고릅니다. */
+        LTTB;
+
+        /**
+         * 요청 파라미터 문자열을 방식으로 변환합니다.
+         * @param name 방식 이름 (대소문자 무관)
+         * @return 변환된 방식, 알 수 없는 값이면 빈 Optional
+         */
+        public static Optional<Downsampling> parse(String name) {
+            if (name == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private CandleAggregator() {
+    }
+
+    /**
+     * 일봉을 기간 단위별 봉으로 합칩니다. 각 봉의 날짜는 구간에서 첫 거래일입니다.
+     * @param daily 날짜 오름차순의 일봉
+     * @param timeframe 기간 단위
+     * @return 합쳐진 봉 목록, DAY이면 입력 그대로
+     */
+    public static List<PriceHistoryDto> aggregate(List<PriceHistoryDto> daily, Timeframe timeframe) {
+        if (timeframe == Timeframe.DAY || daily.isEmpty()) {
+            return daily;
+        }
+        List<PriceHistoryDto> result = new ArrayList<>();
+        int from = 0;
+        LocalDate bucket = timeframe.bucketStart(LocalDate.parse(daily.get(0).time()));
+        for (int i = 1; i < daily.size(); i++) {
+            LocalDate next = timeframe.bucketStart(LocalDate.parse(daily.get(i).time()));
+            if (!next.equals(bucket)) {
+                result.add(merge(daily, from, i));
+                from = i;
+                bucket = next;
+            }
+        }
+        result.add(merge(daily, from, daily.size()));
+        return result;
+    }
+
+    /**
+     * 이미 합쳐진 봉 목록의 끝에 일봉 하나를 반영합니다. 같은 구간이면 마지막 봉과 합치고, 아니면 새 봉으로 추가합니다.
+     * @param bars 날짜 오름차순의 기간 단위 봉
+     * @param bar 마지막 봉 이후 날짜의 일봉
+     * @param timeframe 기간 단위
+     * @return 반영된 새 목록
+     */
+    public static List<PriceHistoryDto> appendDaily(List<PriceHistoryDto> bars, PriceHistoryDto bar, Timeframe timeframe) {
+        List<PriceHistoryDto> result = new ArrayList<>(bars.size() + 1);
+        result.addAll(bars);
+        if (!bars.isEmpty()) {
+            PriceHistoryDto last = bars.get(bars.size() - 1);
+            LocalDate lastBucket = timeframe.bucketStart(LocalDate.parse(last.time()));
+            if (timeframe != Timeframe.DAY && lastBucket.equals(timeframe.bucketStart(LocalDate.parse(bar.time())))) {
+                result.set(result.size() - 1, merge(List.of(last, bar), 0, 2));
+                return result;
+            }
+        }
+        result.add(bar);
+        return result;
+    }
+
+    /**
+     * 날짜 오름차순 봉 목록에서 시작 날짜 이후의 봉만 반환합니다. 복사 없이 원본 목록의 뷰를 반환합니다.
+     * @param bars 날짜 오름차순의 봉
+     * @param startDate 시작 날짜 (포함)
+     * @return startDate 이후의 봉 목록
+     */
+    public static List<PriceHistoryDto> since(List<PriceHistoryDto> bars, LocalDate startDate) {
+        String start = startDate.toString(); // yyyy-MM-dd 문자열은 사전순이 날짜순과 같습니다.
+        int lo = 0;
+        int hi = bars.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bars.get(mid).time().compareTo(start) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return bars.subList(lo, bars.size());
+    }
+
+    /**
+     * 봉 목록을 최대 maxPoints개 이하로 줄입니다.
+     * LTTB는 첫 봉과 마지막 봉을 포함해 최소 3개가 필요하므로, maxPoints가 3 미만이면 MINMAX로 줄입니다.
+     * @param bars 날짜 오름차순의 봉
+     * @param maxPoints 최대 봉 개수
+     * @param mode 줄이는 방식
+     * @return 줄인 봉 목록, 이미 maxPoints개 이하이면 입력 그대로
+     */
+    public static List<PriceHistoryDto> downsample(List<PriceHistoryDto> bars, int maxPoints, Downsampling mode) {
+        if (maxPoints <= 0 || bars.size() <= maxPoints) {
+            return bars;
+        }
+        return mode == Downsampling.LTTB && maxPoints >= 3 ? lttb(bars, maxPoints) : minMaxBuckets(bars, maxPoints);
+    }
+
+    private static List<PriceHistoryDto> minMaxBuckets(List<PriceHistoryDto> bars, int maxPoints) {
+        int n = bars.size();
+        List<PriceHistoryDto> result = new ArrayList<>(maxPoints);
+        for (int b = 0; b < maxPoints; b++) {
+            int from = (int) ((long) b * n / maxPoints);
+            int to = (int) ((long) (b + 1) * n / maxPoints);
+            if (from < to) {
+                result.add(merge(bars, from, to));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 종가를 y값으로 하는 LTTB 알고리즘입니다. 첫 봉과 마지막 봉은 항상 포함됩니다.
+     */
+    private static List<PriceHistoryDto> lttb(List<PriceHistoryDto> bars, int threshold) {
+        int n = bars.size();
+        List<PriceHistoryDto> result = new ArrayList<>(threshold);
+        result.add(bars.get(0));
+
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        for (int b = 0; b < threshold - 2; b++) {
+            // 다음 구간의 평균점
+            int nextFrom = (int) ((b + 1) * bucketSize) + 1;
+            int nextTo = Math.min((int) ((b + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                avgX += i;
+                avgY += bars.get(i).close();
+            }
+            int nextCount = Math.max(1, nextTo - nextFrom);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            // 현재 구간에서 이전 선택점, 다음 구간 평균점과 만드는 삼각형 넓이가 가장 큰 봉을 고릅니다.
+            int from = (int) (b * bucketSize) + 1;
+            int to = (int) ((b + 1) * bucketSize) + 1;
+            double ax = a;
+            double ay = bars.get(a).close();
+            double maxArea = -1;
+            int selected = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((ax - avgX) * (bars.get(i).close() - ay) - (ax - i) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            result.add(bars.get(selected));
+            a = selected;
+        }
+        result.add(bars.get(n - 1));
+        return result;
+    }
+
+    /**
+     * [from, to) 구간의 봉을 하나로 합칩니다. 값이 없는(0) 저가는 최저가 계산에서 제외합니다.
+     */
+    private static PriceHistoryDto merge(List<PriceHistoryDto> bars, int from, int to) {
+        PriceHistoryDto first = bars.get(from);
+        PriceHistoryDto last = bars.get(to - 1);
+        long high = Long.MIN_VALUE;
+        long low = Long.MAX_VALUE;
+        long volume = 0;
+        for (int i = from; i < to; i++) {
+            PriceHistoryDto bar = bars.get(i);
+            high = Math.max(high, bar.high());
+            if (bar.low() > 0) {
+                low = Math.min(low, bar.low());
+            }
+            volume += bar.volume();
+        }
+        return new PriceHistoryDto(first.time(), first.open(), high, low == Long.MAX_VALUE ? 0L : low, last.close(), volume);
+    }
+}
@@ -0,0 +1,206 @@
+package stockDashboard.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import stockDashboard.dto.ChartDataDto;
+import stockDashboard.dto.PriceHistoryDto;
+
+/**
+ * 시세 이력(일봉)을 열 단위 바이너리 형식으로 인코딩/디코딩하는 코덱입니다.
+ * 일봉마다 JSON 객체를 만드는 대신 날짜와 시가/고가/저가/종가/거래량을 각각 한 열로 모으고,
+ * 각 열은 직전 값과의 차이를 zig-zag 변환한 가변 길이 정수(varint)로 저장합니다.
+ * 인접한 일봉의 값은 차이가 작으므로 대부분 1~3바이트로 표현됩니다.
+ *
+ * <pre>
+ * magic    "KRXC" (4바이트)
+ * version  1바이트 ({@link #VERSION})
+ * name     varint(UTF-8 바이트 수 + 1, 0이면 null) + UTF-8 바이트
+ * count    varint
+ * day      zig-zag varint × count  (epoch day, 첫 값은 0 기준 차이)
+ * open     zig-zag varint × count  (직전 시가와의 차이)
+ * high     zig-zag varint × count
+ * low      zig-zag varint × count
+ * close    zig-zag varint × count
+ * volume   zig-zag varint × count
+ * </pre>
+ * 프론트엔드 디코더는 frontend/src/components/candleCodec.js 입니다.
+ */
+public final class CandleCodec {
+
+    /** 이 형식의 미디어 타입입니다. Accept 헤더로 요청하면 JSON 대신 이 형식으로 응답합니다. */
+    public static final String MEDIA_TYPE = "application/vnd.krx.candles";
+
+    /** 형식 버전입니다. 형식이 바뀌면 증가시킵니다. */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 'K', 'R', 'X', 'C' };
+
+    private CandleCodec() {
+    }
+
+    /**
+     * 차트 데이터를 바이너리 형식으로 인코딩합니다.
+     * @param chartData 종목명과 날짜 오름차순의 시세 이력
+     * @return 인코딩된 바이트 배열
+     */
+    public static byte[] encode(ChartDataDto chartData) {
+        List<PriceHistoryDto> bars = chartData.history();
+        int n = bars.size();
+        Writer out = new Writer(16 + n * 8);
+
+        out.writeBytes(MAGIC);
+        out.writeByte(VERSION);
+        if (chartData.stockName() == null) {
+            out.writeVarint(0);
+        } else {
+            byte[] name = chartData.stockName().getBytes(StandardCharsets.UTF_8);
+            out.writeVarint(name.length + 1L);
+            out.writeBytes(name);
+        }
+        out.writeVarint(n);
+
+        long prev = 0;
+        for (PriceHistoryDto bar : bars) {
+            long day = LocalDate.parse(bar.time()).toEpochDay();
+            out.writeSigned(day - prev);
+            prev = day;
+        }
+        prev = 0;
+        for (PriceHistoryDto bar : bars) {
+            out.writeSigned(bar.open() - prev);
+            prev = bar.open();
+        }
+        prev = 0;
+        for (PriceHistoryDto bar : bars) {
+            out.writeSigned(bar.high() - prev);
+            prev = bar.high();
+        }
+        prev = 0;
+        for (PriceHistoryDto bar : bars) {
+            out.writeSigned(bar.low() - prev);
+            prev = bar.low();
+        }
+        prev = 0;
+        for (PriceHistoryDto bar : bars) {
+            out.writeSigned(bar.close() - prev);
+            prev = bar.close();
+        }
+        prev = 0;
+        for (PriceHistoryDto bar : bars) {
+            out.writeSigned(bar.volume() - prev);
+            prev = bar.volume();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 바이너리 형식을 차트 데이터로 디코딩합니다.
+     * @param data {@link #encode}로 만든 바이트 배열
+     * @return 디코딩된 차트 데이터
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static ChartDataDto decode(byte[] data) {
+        Reader in = new Reader(data);
+        for (byte b : MAGIC) {
+            if (in.readByte() != b) {
+                throw new IllegalArgumentException("캔들 데이터 형식이 아닙니다.");
+            }
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 캔들 데이터 버전입니다: " + version);
+        }
+        int nameLength = (int) in.readVarint();
+        String stockName = nameLength == 0 ? null : in.readString(nameLength - 1);
+        int n = (int) in.readVarint();
+
+        long[] day = in.readDeltaColumn(n);
+        long[] open = in.readDeltaColumn(n);
+        long[] high = in.readDeltaColumn(n);
+        long[] low = in.readDeltaColumn(n);
+        long[] close = in.readDeltaColumn(n);
+        long[] volume = in.readDeltaColumn(n);
+
+        List<PriceHistoryDto> bars = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            bars.add(new PriceHistoryDto(LocalDate.ofEpochDay(day[i]).toString(), open[i], high[i], low[i], close[i], volume[i]));
+        }
+        return new ChartDataDto(stockName, bars);
+    }
+
+    /** 바이트 배열에 varint를 기록하는 버퍼입니다. */
+    private static final class Writer extends ByteArrayOutputStream {
+        Writer(int capacity) {
+            super(capacity);
+        }
+
+        void writeByte(int b) {
+            write(b);
+        }
+
+        void writeVarint(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void writeSigned(long v) {
+            writeVarint((v << 1) ^ (v >> 63));
+        }
+    }
+
+    /** 바이트 배열에서 varint를 읽는 커서입니다. */
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            if (pos >= data.length) {
+                throw new IllegalArgumentException("캔들 데이터가 잘렸습니다.");
+            }
+            return data[pos++];
+        }
+
+        long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("varint가 너무 깁니다.");
+        }
+
+        String readString(int length) {
+            if (length < 0 || pos + length > data.length) {
+                throw new IllegalArgumentException("캔들 데이터가 잘렸습니다.");
+            }
+            String s = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        long[] readDeltaColumn(int n) {
+            long[] column = new long[n];
+            long prev = 0;
+            for (int i = 0; i < n; i++) {
+                long zz = readVarint();
+                prev += (zz >>> 1) ^ -(zz & 1);
+                column[i] = prev;
+            }
+            return column;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package stockDashboard.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import stockDashboard.dto.PreRenderedJson;
+
+/**
+ * 한 번의 캐시 갱신으로 만들어진 대시보드 데이터 전체(세대)입니다.
+ * 시장 스냅샷, 순위 인덱스, 미리 직렬화한 캐시 항목을 하나의 불변 객체로 묶어 한 번에 교체하므로,
+ * 읽는 쪽은 잠금 없이도 항상 같은 갱신에서 만들어진 트리맵과 순위를 함께 보게 됩니다.
+ * @param number 세대 번호, 새 세대가 발행될 때마다 1씩 증가 (적재 전 빈 세대는 0)
+ * @param builtAt 세대를 만든 시각 (KST)
+ * @param snapshot 전체 시장 데이터 스냅샷
+ * @param rankIndex 스냅샷에 대한 순위 인덱스
+ * @param entries 캐시 키별 미리 직렬화된 데이터 (불변)
+ */
+public record DashboardGeneration(
+    long number,
+    LocalDateTime builtAt,
+    MarketSnapshot snapshot,
+    MarketRankIndex rankIndex,
+    Map<String, PreRenderedJson> entries
+) {
+
+    private static final DashboardGeneration EMPTY =
+            new DashboardGeneration(0, null, MarketSnapshot.empty(), MarketRankIndex.empty(), Map.of());
+
+    public DashboardGeneration {
+        entries = Map.copyOf(entries);
+    }
+
+    /**
+     * 아직 아무 데이터도 적재되지 않은 세대를 반환합니다.
+     * @return 빈 세대
+     */
+    public static DashboardGeneration empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 이 세대 다음 번호의 세대를 만듭니다.
+     * @param builtAt 세대를 만든 시각
+     * @param snapshot 전체 시장 데이터 스냅샷
+     * @param rankIndex 스냅샷에 대한 순위 인덱스
+     * @param entries 캐시 키별 미리 직렬화된 데이터 (복사하여 저장)
+     * @return 새 세대
+     */
+    public DashboardGeneration next(LocalDateTime builtAt, MarketSnapshot snapshot, MarketRankIndex rankIndex,
+                                    Map<String, PreRenderedJson> entries) {
+        return new DashboardGeneration(number + 1, builtAt, snapshot, rankIndex, entries);
+    }
+
+    /**
+     * 이 세대의 시세 데이터가 기준으로 하는 마지막 수집 시각입니다.
+     * @return 스냅샷의 마지막 수집 시각(collected_at), 적재 전이면 null
+     */
+    public LocalDateTime collectedAt() {
+        return snapshot.maxCollectedAt();
+    }
+
+    /**
+     * 캐시 키의 미리 직렬화된 데이터를 조회합니다.
+     * @param key 캐시 키
+     * @return 미리 직렬화된 데이터, 없으면 null
+     */
+    public PreRenderedJson get(String key) {
+        return entries.get(key);
+    }
+}
@@ -0,0 +1,39 @@
+package stockDashboard.model;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * 로그인 시점에 조회한 사용자 ID(users.user_id)를 함께 보관하는 인증 주체(principal)입니다.
+ * 세션에 저장되므로, 인증 후 요청에서는 사용자 이름으로 ID를 다시 조회할 필요가 없습니다.
+ */
+public class DashboardUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long userId;
+
+    /**
+     * DashboardUser 생성자입니다.
+     * @param userId 데이터베이스의 사용자 ID
+     * @param username 사용자 이름
+     * @param password 비밀번호 해시
+     * @param enabled 계정 활성화 여부
+     * @param authorities 부여된 권한 목록
+     */
+    public DashboardUser(long userId, String username, String password, boolean enabled,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+    }
+
+    /**
+     * 데이터베이스의 사용자 ID를 반환합니다.
+     * @return 사용자 ID
+     */
+    public long getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,122 @@
+package stockDashboard.model;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * KRX 거래일과 장 운영 시간(KST)을 판단하는 불변 달력입니다.
+ * 주말과 설정된 휴장일을 제외한 날을 거래일로 보며, 장 마감 후에도 마지막 수집분이 적재될 때까지
+ * 일정 시간(postClose)을 갱신 구간으로 포함합니다.
+ */
+public final class KrxTradingCalendar {
+
+    /** 장 운영 단계입니다. */
+    public enum Phase {
+        /** 거래일의 장 시작 전 */
+        PRE_OPEN,
+        /** 정규장 */
+        OPEN,
+        /** 장 마감 후 마지막 수집분을 기다리는 구간 */
+        POST_CLOSE,
+        /** 그 밖의 시간 (마감 후, 주말, 휴장일) */
+        CLOSED
+    }
+
+    /** 다음 거래일을 찾을 때 확인하는 최대 일수입니다. (연휴가 길어도 이보다 길지는 않음) */
+    private static final int MAX_LOOKAHEAD_DAYS = 30;
+
+    private final LocalTime open;
+    private final LocalTime close;
+    private final Duration postClose;
+    private final Set<LocalDate> holidays;
+
+    /**
+     * KrxTradingCalendar 생성자입니다.
+     * @param open 장 시작 시각
+     * @param close 장 마감 시각
+     * @param postClose 장 마감 후에도 갱신 구간으로 보는 시간
+     * @param holidays 주말 외 휴장일
+     */
+    public KrxTradingCalendar(LocalTime open, LocalTime close, Duration postClose, Collection<LocalDate> holidays) {
+        if (!open.isBefore(close)) {
+            throw new IllegalArgumentException("장 시작 시각은 마감 시각보다 빨라야 합니다: " + open + " ~ " + close);
+        }
+        this.open = open;
+        this.close = close;
+        this.postClose = postClose;
+        this.holidays = Set.copyOf(holidays);
+    }
+
+    /**
+     * 거래일인지 확인합니다.
+     * @param date 날짜
+     * @return 주말과 휴장일이 아니면 true
+     */
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    /**
+     * 주어진 시각의 장 운영 단계를 구합니다.
+     * @param now KST 기준 시각
+     * @return 장 운영 단계
+     */
+    public Phase phaseAt(LocalDateTime now) {
+        if (!isTradingDay(now.toLocalDate())) {
+            return Phase.CLOSED;
+        }
+        LocalTime time = now.toLocalTime();
+        if (time.isBefore(open)) {
+            return Phase.PRE_OPEN;
+        }
+        if (time.isBefore(close)) {
+            return Phase.OPEN;
+        }
+        return now.isBefore(windowEnd(now.toLocalDate())) ? Phase.POST_CLOSE : Phase.CLOSED;
+    }
+
+    /**
+     * 새 시세가 적재될 수 있는 갱신 구간(정규장 + 마감 후 대기 구간)인지 확인합니다.
+     * @param now KST 기준 시각
+     * @return 갱신 구간이면 true
+     */
+    public boolean isRefreshWindow(LocalDateTime now) {
+        Phase phase = phaseAt(now);
+        return phase == Phase.OPEN || phase == Phase.POST_CLOSE;
+    }
+
+    /**
+     * 주어진 날짜의 갱신 구간이 끝나는 시각입니다.
+     * @param date 날짜
+     * @return 장 마감 시각 + 마감 후 대기 시간
+     */
+    public LocalDateTime windowEnd(LocalDate date) {
+        return date.atTime(close).plus(postClose);
+    }
+
+    /**
+     * 주어진 시각 이후(포함) 처음으로 장이 열리는 시각을 구합니다.
+     * 이미 장이 열려 있으면 오늘의 장 시작 시각을 반환합니다.
+     * @param now KST 기준 시각
+     * @return 다음 장 시작 시각, 가까운 기간에 거래일이 없으면 null
+     */
+    public LocalDateTime nextOpen(LocalDateTime now) {
+        LocalDate date = now.toLocalDate();
+        if (isTradingDay(date) && now.isBefore(windowEnd(date))) {
+            return date.atTime(open);
+        }
+        for (int i = 1; i <= MAX_LOOKAHEAD_DAYS; i++) {
+            LocalDate next = date.plusDays(i);
+            if (isTradingDay(next)) {
+                return next.atTime(open);
+            }
+        }
+        return null;
+    }
+}
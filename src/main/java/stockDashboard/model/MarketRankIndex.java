@@ -0,0 +1,279 @@
+package stockDashboard.model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link MarketSnapshot} 위에 지표별로 정렬된 행 번호 순열(permutation)을 미리 만들어 두는 순위 인덱스입니다.
+ * 스냅샷이 바뀔 때 한 번만 정렬하고, 요청 시에는 순열의 앞이나 뒤에서 limit개만 읽으므로
+ * 어떤 시장 × 지표 × 정렬 순서 × 개수 조합이든 O(limit)으로 응답할 수 있습니다.
+ *
+ * 값이 없는 종목은 정렬 방향과 관계없이 항상 마지막에 위치합니다.
+ */
+public final class MarketRankIndex {
+
+    /** 순위 기준으로 사용할 수 있는 지표입니다. */
+    public enum Metric {
+        /** 시가총액 */
+        MARKET_CAP,
+        /** 등락률 */
+        CHANGE_RATE,
+        /** 거래량 */
+        VOLUME,
+        /** 거래대금 */
+        TRADE_VALUE,
+        /** 장중 변동폭 비율, (고가 - 저가) / 종가 */
+        INTRADAY_RANGE;
+
+        /**
+         * 요청 파라미터 문자열을 지표로 변환합니다.
+         * @param name 지표 이름 (대소문자 무관)
+         * @return 변환된 지표, 알 수 없는 이름이면 빈 Optional
+         */
+        public static Optional<Metric> parse(String name) {
+            if (name == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    /** 인덱스를 만드는 시장 구분입니다. ETF는 시장 구분이나 섹터 정보가 없는 종목입니다. */
+    public static final String[] MARKETS = { "ALL", "KOSPI", "KOSDAQ", "ETF" };
+
+    private static final MarketRankIndex EMPTY = new MarketRankIndex(MarketSnapshot.empty());
+
+    /**
+     * 하나의 시장/지표 조합에 대한 정렬 결과입니다.
+     * @param rows 값이 큰 순서로 정렬된 행 번호, 값이 같으면 앞선 행이 먼저이고 값이 없는 행은 뒤쪽에 위치
+     * @param validCount 값이 있는 행의 수
+     * @param keys 행 번호로 인덱싱되는 정렬 키 (지표별로 모든 시장이 공유)
+     */
+    private record Permutation(int[] rows, int validCount, double[] keys) {}
+
+    private final MarketSnapshot snapshot;
+    private final Map<String, Map<Metric, Permutation>> permutations = new HashMap<>();
+
+    private MarketRankIndex(MarketSnapshot snapshot) {
+        this.snapshot = snapshot;
+        for (String market : MARKETS) {
+            permutations.put(market, new EnumMap<>(Metric.class));
+        }
+        for (Metric metric : Metric.values()) {
+            Permutation all = sortDescending(keysOf(snapshot, metric));
+            permutations.get("ALL").put(metric, all);
+            for (int m = 1; m < MARKETS.length; m++) {
+                permutations.get(MARKETS[m]).put(metric, filter(snapshot, all, MARKETS[m]));
+            }
+        }
+    }
+
+    /**
+     * 비어 있는 인덱스를 반환합니다.
+     * @return 행이 없는 인덱스
+     */
+    public static MarketRankIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 스냅샷에 대한 순위 인덱스를 생성합니다.
+     * @param snapshot 인덱스를 만들 시장 스냅샷
+     * @return 생성된 인덱스
+     */
+    public static MarketRankIndex build(MarketSnapshot snapshot) {
+        return snapshot.isEmpty() ? EMPTY : new MarketRankIndex(snapshot);
+    }
+
+    /**
+     * 이 인덱스가 가리키는 스냅샷을 반환합니다. {@link #select}가 반환한 행 번호는 이 스냅샷 기준입니다.
+     * @return 인덱스를 만든 시장 스냅샷
+     */
+    public MarketSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 조건에 맞는 상위 행 번호를 순위 순서대로 반환합니다.
+     * @param market 시장 구분 (ALL, KOSPI, KOSDAQ, ETF)
+     * @param metric 순위 기준 지표
+     * @param ascending true이면 값이 작은 순서
+     * @param limit 반환할 최대 개수
+     * @return 순위 순서의 행 번호 배열, 알 수 없는 시장이면 빈 배열
+     */
+    public int[] select(String market, Metric metric, boolean ascending, int limit) {
+        Map<Metric, Permutation> byMetric = permutations.get(market.toUpperCase(Locale.ROOT));
+        if (byMetric == null || limit <= 0) {
+            return new int[0];
+        }
+        Permutation p = byMetric.get(metric);
+        int n = Math.min(limit, p.rows().length);
+        if (!ascending) {
+            return Arrays.copyOf(p.rows(), n);
+        }
+
+        // 값이 있는 구간을 뒤에서부터 읽되, 값이 같은 행들은 앞선 행이 먼저 오도록 원래 순서대로 옮깁니다.
+        int[] rows = p.rows();
+        double[] keys = p.keys();
+        int[] result = new int[n];
+        int i = 0;
+        int end = p.validCount() - 1;
+        while (end >= 0 && i < n) {
+            int start = end;
+            while (start > 0 && keys[rows[start - 1]] == keys[rows[end]]) {
+                start--;
+            }
+            for (int k = start; k <= end && i < n; k++) {
+                result[i++] = rows[k];
+            }
+            end = start - 1;
+        }
+        for (int k = p.validCount(); i < n; k++) {
+            result[i++] = p.rows()[k];
+        }
+        return result;
+    }
+
+    /**
+     * 순위 인덱스와 같은 순서가 되도록 {@link TopKSelector}에 전달할 정렬 키를 계산합니다.
+     * 값이 없는 행은 정렬 방향과 관계없이 마지막에 오도록 내림차순이면 음의 무한대, 오름차순이면 양의 무한대를 사용합니다.
+     * @param s 시장 스냅샷
+     * @param metric 순위 기준 지표
+     * @param ascending true이면 값이 작은 순서
+     * @return 행 번호로 인덱싱되는 정렬 키
+     */
+    public static double[] sortKeys(MarketSnapshot s, Metric metric, boolean ascending) {
+        double[] keys = keysOf(s, metric);
+        double missing = ascending ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        for (int row = 0; row < keys.length; row++) {
+            if (Double.isNaN(keys[row])) {
+                keys[row] = missing;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 지표별 정렬 키를 계산합니다. 값이 없으면 NaN입니다.
+     * -0.0은 0.0으로 바꾸어 Double.compare를 쓰는 {@link TopKSelector}에서도 같은 값으로 취급되게 합니다.
+     */
+    private static double[] keysOf(MarketSnapshot s, Metric metric) {
+        double[] keys = new double[s.size()];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = switch (metric) {
+                case MARKET_CAP -> toKey(s.mktcap(row));
+                case CHANGE_RATE -> s.flucRate(row) + 0.0;
+                case VOLUME -> toKey(s.volume(row));
+                case TRADE_VALUE -> toKey(s.value(row));
+                case INTRADAY_RANGE -> intradayRange(s, row);
+            };
+        }
+        return keys;
+    }
+
+    private static double toKey(long v) {
+        return v == MarketSnapshot.MISSING ? Double.NaN : v;
+    }
+
+    private static double intradayRange(MarketSnapshot s, int row) {
+        long high = s.high(row);
+        long low = s.low(row);
+        long close = s.close(row);
+        if (high == MarketSnapshot.MISSING || low == MarketSnapshot.MISSING || close == MarketSnapshot.MISSING || close <= 0) {
+            return Double.NaN;
+        }
+        return (double) (high - low) / close;
+    }
+
+    /**
+     * 키 값이 큰 순서로 행 번호를 안정 정렬합니다. 값이 없는(NaN) 행은 원래 순서대로 뒤에 붙습니다.
+     */
+    private static Permutation sortDescending(double[] keys) {
+        int[] valid = new int[keys.length];
+        int[] missing = new int[keys.length];
+        int validCount = 0;
+        int missingCount = 0;
+        for (int row = 0; row < keys.length; row++) {
+            if (Double.isNaN(keys[row])) {
+                missing[missingCount++] = row;
+            } else {
+                valid[validCount++] = row;
+            }
+        }
+
+        int[] sorted = Arrays.copyOf(valid, validCount);
+        mergeSortDescending(sorted, new int[validCount], 0, validCount, keys);
+
+        int[] rows = Arrays.copyOf(sorted, keys.length);
+        System.arraycopy(missing, 0, rows, validCount, missingCount);
+        return new Permutation(rows, validCount, keys);
+    }
+
+    private static void mergeSortDescending(int[] a, int[] tmp, int from, int to, double[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSortDescending(a, tmp, from, mid, keys);
+        mergeSortDescending(a, tmp, mid, to, keys);
+        if (keys[a[mid - 1]] >= keys[a[mid]]) {
+            return;
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && keys[tmp[i]] >= keys[tmp[j]])) {
+                a[k] = tmp[i++];
+            } else {
+                a[k] = tmp[j++];
+            }
+        }
+    }
+
+    /**
+     * 전체 순열에서 특정 시장의 행만 순서를 유지한 채 골라냅니다.
+     */
+    private static Permutation filter(MarketSnapshot s, Permutation all, String market) {
+        int[] rows = new int[all.rows().length];
+        int count = 0;
+        int validCount = 0;
+        for (int k = 0; k < all.rows().length; k++) {
+            int row = all.rows()[k];
+            if (belongsTo(s, row, market)) {
+                rows[count++] = row;
+                if (k < all.validCount()) {
+                    validCount++;
+                }
+            }
+        }
+        return new Permutation(Arrays.copyOf(rows, count), validCount, all.keys());
+    }
+
+    /**
+     * 행이 시장 구분에 속하는지 확인합니다.
+     * KOSPI/KOSDAQ에는 주식({@link MarketSnapshot#isStock})만 속하고 ETF에는 나머지가 모두 속하므로 서로 겹치지 않습니다.
+     * 미리 계산하는 순위 캐시도 같은 기준으로 후보를 고릅니다.
+     * @param s 시장 스냅샷
+     * @param row 행 번호
+     * @param market 시장 구분 (ALL, KOSPI, KOSDAQ, ETF, 대소문자 무관)
+     * @return 속하면 true
+     */
+    public static boolean belongsTo(MarketSnapshot s, int row, String market) {
+        if ("ALL".equalsIgnoreCase(market)) {
+            return true;
+        }
+        if (!s.isStock(row)) {
+            return "ETF".equalsIgnoreCase(market);
+        }
+        return market.equalsIgnoreCase(s.market(row));
+    }
+}
@@ -0,0 +1,433 @@
+package stockDashboard.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import stockDashboard.dto.MarketDataDto;
+
+/**
+ * 특정 시점의 전체 시장 데이터를 열(column) 단위의 기본형 배열로 보관하는 불변 스냅샷입니다.
+ * 종목별 DTO 객체 대신 시가총액, 가격, 거래량 등을 long[]/double[] 배열에 나누어 저장하고,
+ * 종목명/섹터/시장 구분 문자열은 사전(dictionary)에 한 번만 저장한 뒤 정수 ID로 참조합니다.
+ * 순위와 트리맵 생성은 행 번호(row)로 이 배열들을 직접 읽습니다.
+ *
+ * 값이 없는(null) 정수 열은 {@link #MISSING}, 등락률은 {@link Double#NaN}으로 표현합니다.
+ */
+public final class MarketSnapshot {
+
+    /** long 열에서 값이 없음을 나타내는 값입니다. */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private static final MarketSnapshot EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final String[] symbols;
+    private final Map<String, Integer> rowBySymbol;
+
+    private final String[] nameDict;
+    private final String[] sectorDict;
+    private final String[] marketDict;
+    private final int[] nameIds;
+    private final int[] sectorIds;
+    private final int[] marketIds;
+
+    private final long[] mktcap;
+    private final double[] flucRate;
+    private final long[] close;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] volume;
+    private final long[] value;
+    private final long[] metricEpochDay;
+    private final long[] collectedAtMillis;
+
+    private final LocalDateTime maxCollectedAt;
+
+    private MarketSnapshot(Builder b) {
+        this.size = b.size;
+        this.symbols = Arrays.copyOf(b.symbols, b.size);
+        this.rowBySymbol = Map.copyOf(b.rowBySymbol);
+        this.nameDict = b.names.toArray();
+        this.sectorDict = b.sectors.toArray();
+        this.marketDict = b.markets.toArray();
+        this.nameIds = Arrays.copyOf(b.nameIds, b.size);
+        this.sectorIds = Arrays.copyOf(b.sectorIds, b.size);
+        this.marketIds = Arrays.copyOf(b.marketIds, b.size);
+        this.mktcap = Arrays.copyOf(b.mktcap, b.size);
+        this.flucRate = Arrays.copyOf(b.flucRate, b.size);
+        this.close = Arrays.copyOf(b.close, b.size);
+        this.open = Arrays.copyOf(b.open, b.size);
+        this.high = Arrays.copyOf(b.high, b.size);
+        this.low = Arrays.copyOf(b.low, b.size);
+        this.volume = Arrays.copyOf(b.volume, b.size);
+        this.value = Arrays.copyOf(b.value, b.size);
+        this.metricEpochDay = Arrays.copyOf(b.metricEpochDay, b.size);
+        this.collectedAtMillis = Arrays.copyOf(b.collectedAtMillis, b.size);
+
+        long max = MISSING;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, collectedAtMillis[i]);
+        }
+        this.maxCollectedAt = max == MISSING ? null : toDateTime(max);
+    }
+
+    /**
+     * 비어 있는 스냅샷을 반환합니다.
+     * @return 행이 없는 스냅샷
+     */
+    public static MarketSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * DTO 리스트로부터 스냅샷을 생성합니다. 행 순서는 리스트의 순서를 따릅니다.
+     * @param rows 시장 데이터 DTO 리스트
+     * @return 생성된 스냅샷
+     */
+    public static MarketSnapshot of(List<MarketDataDto> rows) {
+        Builder builder = new Builder(rows.size());
+        rows.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * 이 스냅샷의 내용을 복사한 빌더를 반환합니다.
+     * 이미 있는 종목은 같은 행 번호를 유지한 채 덮어쓰고, 새 종목은 뒤에 추가됩니다.
+     * @return 현재 내용이 복사된 빌더
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 종목코드에 해당하는 행 번호를 반환합니다.
+     * @param symbol 종목코드
+     * @return 행 번호, 없으면 -1
+     */
+    public int indexOf(String symbol) {
+        Integer row = rowBySymbol.get(symbol);
+        return row != null ? row : -1;
+    }
+
+    public String symbol(int row) { return symbols[row]; }
+    public String name(int row) { return nameDict[nameIds[row]]; }
+    public String sector(int row) { return sectorDict[sectorIds[row]]; }
+    public String market(int row) { return marketDict[marketIds[row]]; }
+
+    /**
+     * 섹터 정보와 시장 구분이 모두 있는 종목을 주식으로, 나머지를 ETF로 분류합니다.
+     * 순위와 트리맵의 시장 구분은 모두 이 기준을 따릅니다.
+     * @param row 행 번호
+     * @return 주식이면 true
+     */
+    public boolean isStock(int row) {
+        return marketIds[row] != 0 && sectorIds[row] != 0;
+    }
+
+    public long mktcap(int row) { return mktcap[row]; }
+    public double flucRate(int row) { return flucRate[row]; }
+    public long close(int row) { return close[row]; }
+    public long open(int row) { return open[row]; }
+    public long high(int row) { return high[row]; }
+    public long low(int row) { return low[row]; }
+    public long volume(int row) { return volume[row]; }
+    public long value(int row) { return value[row]; }
+
+    /**
+     * 값이 없으면 기본값을 반환하는 long 열 조회 헬퍼입니다.
+     * @param v 열에서 읽은 값
+     * @param defaultValue 값이 없을 때 사용할 기본값
+     * @return 값 또는 기본값
+     */
+    public static long orElse(long v, long defaultValue) {
+        return v == MISSING ? defaultValue : v;
+    }
+
+    /**
+     * 값이 없으면 기본값을 반환하는 double 열 조회 헬퍼입니다.
+     * @param v 열에서 읽은 값
+     * @param defaultValue 값이 없을 때 사용할 기본값
+     * @return 값 또는 기본값
+     */
+    public static double orElse(double v, double defaultValue) {
+        return Double.isNaN(v) ? defaultValue : v;
+    }
+
+    public LocalDate metricDate(int row) {
+        return metricEpochDay[row] == MISSING ? null : LocalDate.ofEpochDay(metricEpochDay[row]);
+    }
+
+    public LocalDateTime collectedAt(int row) {
+        return collectedAtMillis[row] == MISSING ? null : toDateTime(collectedAtMillis[row]);
+    }
+
+    /**
+     * 스냅샷에 포함된 가장 최근 수집 시각을 반환합니다.
+     * @return 최대 collected_at, 행이 없으면 null
+     */
+    public LocalDateTime maxCollectedAt() {
+        return maxCollectedAt;
+    }
+
+    /**
+     * 주어진 시각보다 늦게 수집된 행의 수를 셉니다.
+     * @param time 기준 시각
+     * @return collected_at이 time보다 늦은 행의 수
+     */
+    public int countCollectedAfter(LocalDateTime time) {
+        long threshold = toMillis(time);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (collectedAtMillis[i] != MISSING && collectedAtMillis[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 특정 행을 MarketDataDto로 변환합니다. API 응답처럼 객체가 꼭 필요한 경우에만 사용합니다.
+     * @param row 행 번호
+     * @return 변환된 MarketDataDto
+     */
+    public MarketDataDto toDto(int row) {
+        return new MarketDataDto(
+                symbols[row],
+                name(row),
+                boxed(mktcap[row]),
+                Double.isNaN(flucRate[row]) ? null : flucRate[row],
+                boxed(close[row]),
+                boxed(open[row]),
+                boxed(high[row]),
+                boxed(low[row]),
+                boxed(volume[row]),
+                boxed(value[row]),
+                sector(row),
+                market(row),
+                metricDate(row),
+                collectedAt(row)
+        );
+    }
+
+    private static Long boxed(long v) {
+        return v == MISSING ? null : v;
+    }
+
+    private static long unboxed(Long v) {
+        return v == null ? MISSING : v;
+    }
+
+    /**
+     * 시각을 UTC로 간주한 epoch millis로 변환합니다. {@link MarketSnapshotCodec}도 같은 변환을 사용합니다.
+     * @return epoch millis, null이면 {@link #MISSING}
+     */
+    static long toMillis(LocalDateTime t) {
+        return t == null ? MISSING : t.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * {@link #toMillis}의 역변환입니다.
+     * @return 시각, {@link #MISSING}이면 null
+     */
+    static LocalDateTime toDateTime(long millis) {
+        if (millis == MISSING) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * 문자열 값을 정수 ID로 치환하는 사전입니다. ID 0은 항상 null을 나타냅니다.
+     */
+    private static final class Dictionary {
+        private final List<String> values;
+        private final Map<String, Integer> ids;
+
+        Dictionary() {
+            this.values = new ArrayList<>();
+            this.ids = new HashMap<>();
+            values.add(null);
+        }
+
+        Dictionary(String[] existing) {
+            this.values = new ArrayList<>(Arrays.asList(existing));
+            this.ids = new HashMap<>();
+            for (int i = 1; i < existing.length; i++) {
+                ids.put(existing[i], i);
+            }
+        }
+
+        int idOf(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return ids.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        String[] toArray() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * MarketSnapshot을 한 행씩 채워 만드는 빌더입니다.
+     * 같은 종목코드가 다시 들어오면 새 행을 만들지 않고 기존 행을 덮어씁니다.
+     */
+    public static final class Builder {
+        private int size;
+        private String[] symbols;
+        private final Map<String, Integer> rowBySymbol;
+        private final Dictionary names;
+        private final Dictionary sectors;
+        private final Dictionary markets;
+        private int[] nameIds;
+        private int[] sectorIds;
+        private int[] marketIds;
+        private long[] mktcap;
+        private double[] flucRate;
+        private long[] close;
+        private long[] open;
+        private long[] high;
+        private long[] low;
+        private long[] volume;
+        private long[] value;
+        private long[] metricEpochDay;
+        private long[] collectedAtMillis;
+
+        public Builder(int capacity) {
+            int cap = Math.max(capacity, 16);
+            this.symbols = new String[cap];
+            this.rowBySymbol = new HashMap<>(cap * 2);
+            this.names = new Dictionary();
+            this.sectors = new Dictionary();
+            this.markets = new Dictionary();
+            this.nameIds = new int[cap];
+            this.sectorIds = new int[cap];
+            this.marketIds = new int[cap];
+            this.mktcap = new long[cap];
+            this.flucRate = new double[cap];
+            this.close = new long[cap];
+            this.open = new long[cap];
+            this.high = new long[cap];
+            this.low = new long[cap];
+            this.volume = new long[cap];
+            this.value = new long[cap];
+            this.metricEpochDay = new long[cap];
+            this.collectedAtMillis = new long[cap];
+        }
+
+        private Builder(MarketSnapshot base) {
+            int cap = Math.max(base.size + base.size / 8, 16);
+            this.size = base.size;
+            this.symbols = Arrays.copyOf(base.symbols, cap);
+            this.rowBySymbol = new HashMap<>(base.rowBySymbol);
+            this.names = new Dictionary(base.nameDict);
+            this.sectors = new Dictionary(base.sectorDict);
+            this.markets = new Dictionary(base.marketDict);
+            this.nameIds = Arrays.copyOf(base.nameIds, cap);
+            this.sectorIds = Arrays.copyOf(base.sectorIds, cap);
+            this.marketIds = Arrays.copyOf(base.marketIds, cap);
+            this.mktcap = Arrays.copyOf(base.mktcap, cap);
+            this.flucRate = Arrays.copyOf(base.flucRate, cap);
+            this.close = Arrays.copyOf(base.close, cap);
+            this.open = Arrays.copyOf(base.open, cap);
+            this.high = Arrays.copyOf(base.high, cap);
+            this.low = Arrays.copyOf(base.low, cap);
+            this.volume = Arrays.copyOf(base.volume, cap);
+            this.value = Arrays.copyOf(base.value, cap);
+            this.metricEpochDay = Arrays.copyOf(base.metricEpochDay, cap);
+            this.collectedAtMillis = Arrays.copyOf(base.collectedAtMillis, cap);
+        }
+
+        /**
+         * DTO 한 건을 스냅샷에 추가하거나, 같은 종목이 있으면 덮어씁니다.
+         * @param d 시장 데이터 DTO
+         * @return 값이 기록된 행 번호
+         */
+        public int add(MarketDataDto d) {
+            return set(d.isuSrtCd(), d.nodeName(), d.sectorName(), d.marketType(),
+                    unboxed(d.mktcap()), d.fluc_rate() != null ? d.fluc_rate() : Double.NaN,
+                    unboxed(d.currentPrice()), unboxed(d.openPrice()), unboxed(d.highPrice()), unboxed(d.lowPrice()),
+                    unboxed(d.tradeVolume()), unboxed(d.tradeValue()),
+                    d.metricDate(), d.collectedAt());
+        }
+
+        /**
+         * 기본형 값으로 한 행을 기록합니다. 값이 없는 열은 {@link #MISSING} 또는 NaN을 전달합니다.
+         * @return 값이 기록된 행 번호
+         */
+        public int set(String symbol, String name, String sector, String market,
+                       long mktcapValue, double flucRateValue,
+                       long closeValue, long openValue, long highValue, long lowValue,
+                       long volumeValue, long tradeValue,
+                       LocalDate metricDate, LocalDateTime collectedAt) {
+            Integer existing = rowBySymbol.get(symbol);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                ensureCapacity(size + 1);
+                row = size++;
+                symbols[row] = symbol;
+                rowBySymbol.put(symbol, row);
+            }
+            nameIds[row] = names.idOf(name);
+            sectorIds[row] = sectors.idOf(sector);
+            marketIds[row] = markets.idOf(market);
+            mktcap[row] = mktcapValue;
+            flucRate[row] = flucRateValue;
+            close[row] = closeValue;
+            open[row] = openValue;
+            high[row] = highValue;
+            low[row] = lowValue;
+            volume[row] = volumeValue;
+            value[row] = tradeValue;
+            metricEpochDay[row] = metricDate == null ? MISSING : metricDate.toEpochDay();
+            collectedAtMillis[row] = toMillis(collectedAt);
+            return row;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= symbols.length) {
+                return;
+            }
+            int cap = Math.max(required, symbols.length * 2);
+            symbols = Arrays.copyOf(symbols, cap);
+            nameIds = Arrays.copyOf(nameIds, cap);
+            sectorIds = Arrays.copyOf(sectorIds, cap);
+            marketIds = Arrays.copyOf(marketIds, cap);
+            mktcap = Arrays.copyOf(mktcap, cap);
+            flucRate = Arrays.copyOf(flucRate, cap);
+            close = Arrays.copyOf(close, cap);
+            open = Arrays.copyOf(open, cap);
+            high = Arrays.copyOf(high, cap);
+            low = Arrays.copyOf(low, cap);
+            volume = Arrays.copyOf(volume, cap);
+            value = Arrays.copyOf(value, cap);
+            metricEpochDay = Arrays.copyOf(metricEpochDay, cap);
+            collectedAtMillis = Arrays.copyOf(collectedAtMillis, cap);
+        }
+
+        public MarketSnapshot build() {
+            return new MarketSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package stockDashboard.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import stockDashboard.dto.IndexQuoteDto;
+
+/**
+ * 시장 스냅샷과 지수 시세를 로컬 파일에 저장하기 위한 바이너리 형식의 코덱입니다.
+ * 재시작 직후 DB 조회 없이 마지막 상태를 바로 복원하는 데 사용하며, 본문은 CRC32로 검증합니다.
+ *
+ * <pre>
+ * magic    "KRXS" (4바이트)
+ * version  int ({@link #VERSION})
+ * length   int  (본문 바이트 수)
+ * crc32    int  (본문의 CRC32)
+ * 본문:
+ *   savedAt   long (epoch millis, KST 시각을 UTC로 간주)
+ *   quotes    int 개수 + (키, 지수, 전일 대비, 등락률 문자열, fetchedAt long) × 개수
+ *   rows      int 개수 + (종목코드, 종목명, 섹터, 시장 문자열,
+ *                         시가총액, 등락률(double), 종가, 시가, 고가, 저가, 거래량, 거래대금,
+ *                         기준일(epoch day), 수집 시각(epoch millis)) × 개수
+ * </pre>
+ * 문자열은 int(UTF-8 바이트 수, -1이면 null) + UTF-8 바이트이며, 값이 없는 정수 열은
+ * {@link MarketSnapshot#MISSING}, 등락률은 NaN으로 저장합니다.
+ */
+public final class MarketSnapshotCodec {
+
+    /** 형식 버전입니다. 형식이 바뀌면 증가시키며, 다른 버전의 파일은 읽지 않습니다. */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 'K', 'R', 'X', 'S' };
+    private static final int HEADER_SIZE = MAGIC.length + 3 * Integer.BYTES;
+
+    /**
+     * 파일에서 읽은 내용입니다.
+     * @param savedAt 저장한 시각 (KST)
+     * @param snapshot 전체 시장 데이터 스냅샷
+     * @param indexQuotes 캐시 키별 지수 시세
+     */
+    public record Contents(LocalDateTime savedAt, MarketSnapshot snapshot, Map<String, IndexQuoteDto> indexQuotes) {}
+
+    private MarketSnapshotCodec() {
+    }
+
+    /**
+     * 스냅샷과 지수 시세를 바이너리 형식으로 인코딩합니다.
+     * @param contents 저장할 내용
+     * @return 헤더를 포함한 바이트 배열
+     */
+    public static byte[] encode(Contents contents) {
+        MarketSnapshot s = contents.snapshot();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(HEADER_SIZE + 64 + s.size() * 160);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(0); // 본문 길이, 아래에서 채움
+            out.writeInt(0); // CRC32, 아래에서 채움
+
+            out.writeLong(MarketSnapshot.toMillis(contents.savedAt()));
+            out.writeInt(contents.indexQuotes().size());
+            for (Map.Entry<String, IndexQuoteDto> entry : contents.indexQuotes().entrySet()) {
+                IndexQuoteDto quote = entry.getValue();
+                writeString(out, entry.getKey());
+                writeString(out, quote.closePrice());
+                writeString(out, quote.change());
+                writeString(out, quote.changeRate());
+                out.writeLong(MarketSnapshot.toMillis(quote.fetchedAt()));
+            }
+
+            out.writeInt(s.size());
+            for (int row = 0; row < s.size(); row++) {
+                writeString(out, s.symbol(row));
+                writeString(out, s.name(row));
+                writeString(out, s.sector(row));
+                writeString(out, s.market(row));
+                out.writeLong(s.mktcap(row));
+                out.writeDouble(s.flucRate(row));
+                out.writeLong(s.close(row));
+                out.writeLong(s.open(row));
+                out.writeLong(s.high(row));
+                out.writeLong(s.low(row));
+                out.writeLong(s.volume(row));
+                out.writeLong(s.value(row));
+                LocalDate metricDate = s.metricDate(row);
+                out.writeLong(metricDate == null ? MarketSnapshot.MISSING : metricDate.toEpochDay());
+                out.writeLong(MarketSnapshot.toMillis(s.collectedAt(row)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 버퍼에 쓰므로 발생하지 않음
+        }
+
+        byte[] bytes = buffer.toByteArray();
+        int length = bytes.length - HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_SIZE, length);
+        ByteBuffer.wrap(bytes, MAGIC.length + Integer.BYTES, 2 * Integer.BYTES)
+                .putInt(length)
+                .putInt((int) crc.getValue());
+        return bytes;
+    }
+
+    /**
+     * 바이너리 형식을 디코딩합니다. 지수 시세는 저장 당시의 값이므로 오래된 값(stale)으로 표시합니다.
+     * @param in 헤더부터 시작하는 버퍼 (e.g., 메모리 매핑한 파일)
+     * @return 디코딩한 내용
+     * @throws IllegalArgumentException 형식이나 버전이 다르거나 내용이 손상된 경우
+     */
+    public static Contents decode(ByteBuffer in) {
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalArgumentException("스냅샷 파일 형식이 아닙니다.");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 스냅샷 파일 버전입니다: " + version);
+            }
+            int length = in.getInt();
+            int expectedCrc = in.getInt();
+            if (length < 0 || length != in.remaining()) {
+                throw new IllegalArgumentException("스냅샷 파일 길이가 맞지 않습니다.");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(in.slice());
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IllegalArgumentException("스냅샷 파일이 손상되었습니다. (CRC 불일치)");
+            }
+
+            LocalDateTime savedAt = MarketSnapshot.toDateTime(in.getLong());
+            int quoteCount = in.getInt();
+            Map<String, IndexQuoteDto> quotes = new LinkedHashMap<>();
+            for (int i = 0; i < quoteCount; i++) {
+                String key = readString(in);
+                quotes.put(key, new IndexQuoteDto(readString(in), readString(in), readString(in),
+                        MarketSnapshot.toDateTime(in.getLong()), true));
+            }
+
+            int rowCount = in.getInt();
+            MarketSnapshot.Builder builder = new MarketSnapshot.Builder(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                String symbol = readString(in);
+                String name = readString(in);
+                String sector = readString(in);
+                String market = readString(in);
+                long mktcap = in.getLong();
+                double flucRate = in.getDouble();
+                long close = in.getLong();
+                long open = in.getLong();
+                long high = in.getLong();
+                long low = in.getLong();
+                long volume = in.getLong();
+                long value = in.getLong();
+                long epochDay = in.getLong();
+                LocalDateTime collectedAt = MarketSnapshot.toDateTime(in.getLong());
+                builder.set(symbol, name, sector, market, mktcap, flucRate, close, open, high, low, volume, value,
+                        epochDay == MarketSnapshot.MISSING ? null : LocalDate.ofEpochDay(epochDay), collectedAt);
+            }
+            return new Contents(savedAt, builder.build(), quotes);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("스냅샷 파일이 중간에 끝났습니다.", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,314 @@
+package stockDashboard.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 종목명/종목코드 검색을 위한 불변 인메모리 색인입니다.
+ * DB에 LIKE '%검색어%' 조회를 보내는 대신, 다음 세 가지 색인으로 후보를 찾습니다.
+ * <ul>
+ *   <li>종목명 2-gram 역색인: 검색어의 모든 2-gram을 포함하는 종목만 후보로 삼은 뒤 부분 문자열 포함 여부를 확인합니다.</li>
+ *   <li>초성 2-gram 역색인: "ㅅㅅㅈㅈ"처럼 한글 초성으로 입력한 검색어를 종목명의 초성 문자열에서 찾습니다.</li>
+ *   <li>정렬된 종목코드 배열: 종목코드 접두어 검색을 이진 탐색으로 처리합니다.</li>
+ * </ul>
+ * 결과는 일치 정도(완전 일치 → 접두어 일치 → 부분 일치) 순으로, 같은 정도 안에서는 시가총액이 큰 순서로 정렬합니다.
+ */
+public final class StockSearchIndex {
+
+    /** 한글 음절(가~힣)의 초성 순서대로 나열한 호환 자모입니다. */
+    private static final char[] CHOSUNG = {
+        'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private static final StockSearchIndex EMPTY = build(MarketSnapshot.empty());
+
+    private final String[] symbols;
+    private final String[] names;
+    /** 검색용으로 정규화(공백 제거, 소문자)한 종목명입니다. */
+    private final String[] normalizedNames;
+    /** 정규화한 종목명의 한글 음절을 초성으로 바꾼 문자열입니다. */
+    private final String[] chosungNames;
+
+    private final Map<Integer, int[]> namePostings;
+    private final Map<Integer, int[]> chosungPostings;
+
+    /** 종목코드 오름차순으로 정렬된 행 번호입니다. */
+    private final int[] rowsBySymbol;
+
+    private final long fingerprint;
+
+    private StockSearchIndex(String[] symbols, String[] names, long fingerprint) {
+        int n = symbols.length;
+        this.symbols = symbols;
+        this.names = names;
+        this.normalizedNames = new String[n];
+        this.chosungNames = new String[n];
+        for (int row = 0; row < n; row++) {
+            normalizedNames[row] = normalize(names[row]);
+            chosungNames[row] = toChosung(normalizedNames[row]);
+        }
+        this.namePostings = buildPostings(normalizedNames);
+        this.chosungPostings = buildPostings(chosungNames);
+
+        Integer[] order = new Integer[n];
+        for (int row = 0; row < n; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, Comparator.comparing(row -> symbols[row]));
+        this.rowsBySymbol = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * 비어 있는 색인을 반환합니다.
+     * @return 종목이 없는 색인
+     */
+    public static StockSearchIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 시장 스냅샷의 종목코드와 종목명으로 색인을 생성합니다. 종목명이 없는 종목은 코드로만 검색됩니다.
+     * @param snapshot 시장 스냅샷
+     * @return 생성된 색인
+     */
+    public static StockSearchIndex build(MarketSnapshot snapshot) {
+        int n = snapshot.size();
+        String[] symbols = new String[n];
+        String[] names = new String[n];
+        for (int row = 0; row < n; row++) {
+            symbols[row] = snapshot.symbol(row);
+            names[row] = snapshot.name(row) != null ? snapshot.name(row) : "";
+        }
+        return new StockSearchIndex(symbols, names, fingerprintOf(snapshot));
+    }
+
+    /**
+     * 스냅샷의 (종목코드, 종목명) 목록에 대한 지문(fingerprint)을 계산합니다.
+     * 값이 같으면 색인을 다시 만들 필요가 없습니다.
+     * @param snapshot 시장 스냅샷
+     * @return 지문 값
+     */
+    public static long fingerprintOf(MarketSnapshot snapshot) {
+        long h = 1125899906842597L;
+        for (int row = 0; row < snapshot.size(); row++) {
+            h = 31 * h + snapshot.symbol(row).hashCode();
+            h = 31 * h + (snapshot.name(row) != null ? snapshot.name(row).hashCode() : 0);
+        }
+        return h;
+    }
+
+    /**
+     * 이 색인을 만든 종목 목록의 지문입니다.
+     * @return 지문 값
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 색인된 종목 수를 반환합니다.
+     * @return 종목 수
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+    public String symbol(int row) { return symbols[row]; }
+    public String name(int row) { return names[row]; }
+
+    /**
+     * 검색어에 일치하는 종목의 행 번호를 순위 순서대로 반환합니다.
+     * @param query 검색어 (종목명 일부, 종목코드 접두어, 또는 한글 초성)
+     * @param limit 반환할 최대 개수
+     * @param marketCaps 행 번호별 시가총액 (값이 없으면 {@link MarketSnapshot#MISSING})
+     * @return 순위 순서의 행 번호 배열
+     */
+    public int[] search(String query, int limit, long[] marketCaps) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        // 행 번호별 일치 정도 (0: 완전 일치, 1: 접두어 일치, 2: 부분 일치, 3: 일치하지 않음)
+        byte[] tier = new byte[symbols.length];
+        Arrays.fill(tier, (byte) 3);
+        List<Integer> matches = new ArrayList<>();
+
+        matchSymbolPrefix(q, tier, matches);
+        matchText(q, normalizedNames, namePostings, tier, matches);
+        if (containsJamo(q)) {
+            matchText(toChosung(q), chosungNames, chosungPostings, tier, matches);
+        }
+
+        return matches.stream()
+                .sorted(Comparator.<Integer>comparingInt(row -> tier[row])
+                        .thenComparing(row -> marketCaps[row], Comparator.reverseOrder())
+                        .thenComparing(row -> symbols[row]))
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * 종목코드가 검색어로 시작하는 종목을 찾습니다.
+     */
+    private void matchSymbolPrefix(String q, byte[] tier, List<Integer> matches) {
+        String prefix = q.toUpperCase(Locale.ROOT);
+        int lo = 0;
+        int hi = rowsBySymbol.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (symbols[rowsBySymbol[mid]].compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        for (int k = lo; k < rowsBySymbol.length && symbols[rowsBySymbol[k]].startsWith(prefix); k++) {
+            int row = rowsBySymbol[k];
+            record(row, symbols[row].equals(prefix) ? 0 : 1, tier, matches);
+        }
+    }
+
+    /**
+     * 2-gram 역색인으로 후보를 좁힌 뒤 부분 문자열 포함 여부를 확인합니다.
+     */
+    private static void matchText(String q, String[] texts, Map<Integer, int[]> postings, byte[] tier, List<Integer> matches) {
+        int[] candidates = candidatesOf(q, texts.length, postings);
+        for (int row : candidates) {
+            String text = texts[row];
+            int pos = text.indexOf(q);
+            if (pos < 0) {
+                continue;
+            }
+            record(row, text.length() == q.length() ? 0 : pos == 0 ? 1 : 2, tier, matches);
+        }
+    }
+
+    private static void record(int row, int t, byte[] tier, List<Integer> matches) {
+        if (tier[row] == 3) {
+            matches.add(row);
+        }
+        if (t < tier[row]) {
+            tier[row] = (byte) t;
+        }
+    }
+
+    /**
+     * 검색어의 모든 2-gram을 포함하는 행 번호를 반환합니다. 한 글자 검색어는 전체 행을 후보로 삼습니다.
+     */
+    private static int[] candidatesOf(String q, int size, Map<Integer, int[]> postings) {
+        if (q.length() < 2) {
+            int[] all = new int[size];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        int[] result = null;
+        for (int i = 0; i + 1 < q.length(); i++) {
+            int[] list = postings.get(bigram(q.charAt(i), q.charAt(i + 1)));
+            if (list == null) {
+                return new int[0];
+            }
+            result = result == null ? list : intersect(result, list);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    /**
+     * 문자열마다 포함된 2-gram의 역색인(2-gram → 오름차순 행 번호)을 만듭니다.
+     */
+    private static Map<Integer, int[]> buildPostings(String[] texts) {
+        Map<Integer, List<Integer>> lists = new HashMap<>();
+        for (int row = 0; row < texts.length; row++) {
+            String text = texts[row];
+            for (int i = 0; i + 1 < text.length(); i++) {
+                List<Integer> list = lists.computeIfAbsent(bigram(text.charAt(i), text.charAt(i + 1)), k -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != row) {
+                    list.add(row);
+                }
+            }
+        }
+        Map<Integer, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> postings.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+        return postings;
+    }
+
+    private static int bigram(char a, char b) {
+        return (a << 16) | b;
+    }
+
+    /**
+     * 검색 비교를 위해 공백을 제거하고 소문자로 바꿉니다.
+     */
+    static String normalize(String s) {
+        if (s == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 한글 음절을 초성 자모로 바꿉니다. 한글 음절이 아닌 문자는 그대로 둡니다.
+     */
+    static String toChosung(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '가' && c <= '힣') {
+                sb.append(CHOSUNG[(c - '가') / (21 * 28)]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 문자열에 한글 호환 자모 자음(ㄱ~ㅎ)이 있는지 확인합니다.
+     */
+    private static boolean containsJamo(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 'ㄱ' && c <= 'ㅎ') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
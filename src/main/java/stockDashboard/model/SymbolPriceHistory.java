@@ -0,0 +1,78 @@
+package stockDashboard.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import stockDashboard.dto.PriceHistoryDto;
+
+/**
+ * 한 종목의 마감된 거래일 시세 이력을 보관하는 불변 객체입니다.
+ * 마감된 날짜의 일봉은 더 이상 바뀌지 않으므로, [from, until) 구간을 한 번 읽은 뒤에는
+ * 날짜가 바뀌었을 때 새로 마감된 구간만 뒤에 붙이고, 더 긴 기간이 요청되면 앞쪽 구간만 앞에 붙여 확장합니다.
+ *
+ * @param stockName 종목명
+ * @param bars 날짜 오름차순의 일봉 목록
+ * @param from 조회된 구간의 시작 날짜 (포함)
+ * @param until 조회된 구간의 끝 날짜 (제외), 이 날짜 이전은 모두 마감된 거래일입니다.
+ */
+public record SymbolPriceHistory(
+    String stockName,
+    List<PriceHistoryDto> bars,
+    LocalDate from,
+    LocalDate until
+) {
+
+    /**
+     * @throws IllegalArgumentException from이 until보다 늦은 경우 (오늘 이후 구간이 마감 이력에 섞이지 않도록)
+     */
+    public SymbolPriceHistory {
+        if (from.isAfter(until)) {
+            throw new IllegalArgumentException("시세 이력 구간의 시작 날짜가 끝 날짜보다 늦습니다: " + from + " ~ " + until);
+        }
+        bars = List.copyOf(bars);
+    }
+
+    /**
+     * 앞쪽 구간을 추가로 조회한 결과를 붙인 새 이력을 반환합니다.
+     * @param older [newFrom, from) 구간의 일봉
+     * @param newFrom 새 시작 날짜
+     * @return 확장된 이력
+     */
+    public SymbolPriceHistory prepend(List<PriceHistoryDto> older, LocalDate newFrom) {
+        List<PriceHistoryDto> merged = new ArrayList<>(older.size() + bars.size());
+        merged.addAll(older);
+        merged.addAll(bars);
+        return new SymbolPriceHistory(stockName, merged, newFrom, until);
+    }
+
+    /**
+     * 새로 마감된 구간을 조회한 결과를 뒤에 붙인 새 이력을 반환합니다.
+     * @param newer [until, newUntil) 구간의 일봉
+     * @param newUntil 새 끝 날짜
+     * @param latestName 최신 종목명 (null이면 기존 이름 유지)
+     * @return 확장된 이력
+     */
+    public SymbolPriceHistory append(List<PriceHistoryDto> newer, LocalDate newUntil, String latestName) {
+        List<PriceHistoryDto> merged = new ArrayList<>(bars.size() + newer.size());
+        merged.addAll(bars);
+        merged.addAll(newer);
+        return new SymbolPriceHistory(latestName != null ? latestName : stockName, merged, from, newUntil);
+    }
+
+    /**
+     * 마지막 일봉의 날짜를 반환합니다.
+     * @return 마지막 일봉 날짜 문자열 (yyyy-MM-dd), 일봉이 없으면 null
+     */
+    public String lastBarTime() {
+        return bars.isEmpty() ? null : bars.get(bars.size() - 1).time();
+    }
+
+    /**
+     * 캐시 용량 계산에 사용하는 가중치(일봉 수)입니다.
+     * @return 일봉 수 + 1
+     */
+    public int weight() {
+        return bars.size() + 1;
+    }
+}
@@ -0,0 +1,113 @@
+package stockDashboard.model;
+
+/**
+ * 전체를 정렬하지 않고 기본형 키 기준 상위 K개의 행만 골라내는 선택기입니다.
+ * 크기 K의 고정 힙을 사용하므로 후보 N개에 대해 O(N log K) 시간과 O(K) 메모리만 사용하며,
+ * 박싱이나 Comparator 객체 생성이 없습니다.
+ *
+ * 키가 같은 경우 후보 배열에서 먼저 나온 행이 앞 순위가 되어 안정 정렬과 같은 결과를 냅니다.
+ * 값이 없는 행은 호출하는 쪽에서 원하는 위치에 오도록 키를 정해 전달해야 합니다
+ * (e.g., 내림차순에서 마지막에 두려면 {@link Double#NEGATIVE_INFINITY}).
+ */
+public final class TopKSelector {
+
+    private TopKSelector() {
+    }
+
+    /**
+     * 후보 행 중 키 기준 상위 k개를 순위 순서대로 반환합니다.
+     * @param candidates 후보 행 번호 배열
+     * @param count candidates 중 앞에서부터 사용할 개수
+     * @param keys 행 번호로 인덱싱되는 정렬 키
+     * @param k 선택할 최대 개수
+     * @param ascending true이면 키가 작은 순서, false이면 큰 순서
+     * @return 순위 순서의 행 번호 배열 (길이는 min(k, count))
+     */
+    public static int[] select(int[] candidates, int count, double[] keys, int k, boolean ascending) {
+        int capacity = Math.min(k, count);
+        if (capacity <= 0) {
+            return new int[0];
+        }
+
+        // 루트에 "가장 순위가 낮은" 항목이 오는 힙. pos는 동률 처리를 위한 후보 내 위치입니다.
+        int[] heapPos = new int[capacity];
+        double[] heapKey = new double[capacity];
+        int size = 0;
+
+        for (int pos = 0; pos < count; pos++) {
+            double key = keys[candidates[pos]];
+            if (size < capacity) {
+                heapPos[size] = pos;
+                heapKey[size] = key;
+                siftUp(heapPos, heapKey, size++, ascending);
+            } else if (ranksBefore(key, pos, heapKey[0], heapPos[0], ascending)) {
+                heapPos[0] = pos;
+                heapKey[0] = key;
+                siftDown(heapPos, heapKey, size, ascending);
+            }
+        }
+
+        // 가장 순위가 낮은 항목부터 꺼내 결과 배열의 뒤에서부터 채웁니다.
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = candidates[heapPos[0]];
+            int last = i;
+            heapPos[0] = heapPos[last];
+            heapKey[0] = heapKey[last];
+            siftDown(heapPos, heapKey, last, ascending);
+        }
+        return result;
+    }
+
+    /**
+     * (keyA, posA)가 (keyB, posB)보다 앞 순위인지 판단합니다.
+     */
+    private static boolean ranksBefore(double keyA, int posA, double keyB, int posB, boolean ascending) {
+        int cmp = Double.compare(keyA, keyB);
+        if (cmp != 0) {
+            return ascending ? cmp < 0 : cmp > 0;
+        }
+        return posA < posB;
+    }
+
+    private static void siftUp(int[] pos, double[] key, int i, boolean ascending) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            // 부모보다 순위가 낮으면(더 "나쁘면") 위로 올립니다.
+            if (!ranksBefore(key[parent], pos[parent], key[i], pos[i], ascending)) {
+                return;
+            }
+            swap(pos, key, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] pos, double[] key, int size, boolean ascending) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && ranksBefore(key[left], pos[left], key[right], pos[right], ascending)) {
+                worst = right;
+            }
+            if (!ranksBefore(key[i], pos[i], key[worst], pos[worst], ascending)) {
+                return;
+            }
+            swap(pos, key, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] pos, double[] key, int a, int b) {
+        int p = pos[a];
+        pos[a] = pos[b];
+        pos[b] = p;
+        double k = key[a];
+        key[a] = key[b];
+        key[b] = k;
+    }
+}
@@ -0,0 +1,122 @@
+package stockDashboard.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import stockDashboard.repository.WidgetRepository.WidgetDto;
+
+/**
+ * 한 사용자의 위젯 목록과, 위젯 설정(JSON)을 미리 파싱한 결과를 함께 보관하는 불변 객체입니다.
+ * 위젯 캐시에 저장되며, 대시보드가 필요로 하는 동적 데이터 키를 JSON을 다시 파싱하지 않고 구할 수 있습니다.
+ *
+ * @param widgets 위젯 목록
+ * @param settings 위젯 목록과 같은 순서의 파싱된 설정 (설정이 없거나 잘못된 경우 MissingNode)
+ * @param dataKeys 위젯들이 필요로 하는 동적 데이터 키 (중복 없음, 위젯 순서)
+ * @param quoteSymbols 관심종목 위젯들이 시세를 표시하는 종목코드 (중복 없음)
+ * @param chartSymbols KRX 차트 위젯들이 시세 이력을 표시하는 종목코드 (중복 없음)
+ */
+public record UserWidgets(
+    List<WidgetDto> widgets,
+    List<JsonNode> settings,
+    List<String> dataKeys,
+    List<String> quoteSymbols,
+    List<String> chartSymbols
+) {
+
+    /** KRX 차트 위젯이 종목을 지정하지 않았을 때 표시하는 종목코드입니다. (프론트엔드 KrxChartWidget과 동일) */
+    public static final String DEFAULT_CHART_SYMBOL = "005930";
+
+    public UserWidgets {
+        widgets = List.copyOf(widgets);
+        settings = List.copyOf(settings);
+        dataKeys = List.copyOf(dataKeys);
+        quoteSymbols = List.copyOf(quoteSymbols);
+        chartSymbols = List.copyOf(chartSymbols);
+    }
+
+    /**
+     * 위젯 목록의 설정을 파싱하고 필요한 데이터 키를 계산합니다.
+     * @param widgets 위젯 목록
+     * @param objectMapper 설정 JSON 파싱에 사용할 ObjectMapper
+     * @return 생성된 UserWidgets
+     */
+    public static UserWidgets of(List<WidgetDto> widgets, ObjectMapper objectMapper) {
+        List<JsonNode> settings = new ArrayList<>(widgets.size());
+        Set<String> dataKeys = new LinkedHashSet<>();
+        Set<String> quoteSymbols = new LinkedHashSet<>();
+        Set<String> chartSymbols = new LinkedHashSet<>();
+        for (WidgetDto widget : widgets) {
+            JsonNode parsed = parseSettings(widget.widgetSettings, objectMapper);
+            settings.add(parsed);
+            String dataKey = dataKeyOf(widget.widgetType, parsed);
+            if (dataKey != null) {
+                dataKeys.add(dataKey);
+            }
+            if ("WatchlistWidget".equals(widget.widgetType)) {
+                for (JsonNode symbol : parsed.path("symbols")) {
+                    if (symbol.isTextual() && !symbol.asText().isBlank()) {
+                        quoteSymbols.add(symbol.asText());
+                    }
+                }
+            } else if ("KrxChartWidget".equals(widget.widgetType)) {
+                chartSymbols.add(text(parsed, "symbol", DEFAULT_CHART_SYMBOL));
+            }
+        }
+        return new UserWidgets(widgets, settings, new ArrayList<>(dataKeys),
+                new ArrayList<>(quoteSymbols), new ArrayList<>(chartSymbols));
+    }
+
+    /**
+     * 위젯 종류와 설정으로 위젯이 필요로 하는 동적 데이터 키를 구합니다.
+     * 프론트엔드 Dashboard.jsx의 requiredDataKeys와 같은 규칙을 따릅니다.
+     * @param widgetType 위젯 종류
+     * @param settings 파싱된 위젯 설정
+     * @return 데이터 키, 동적 데이터를 쓰지 않는 위젯이면 null
+     */
+    public static String dataKeyOf(String widgetType, JsonNode settings) {
+        if (widgetType == null) {
+            return null;
+        }
+        return switch (widgetType) {
+            case "TextWidget" -> text(settings, "dataKey", "index_KOSPI");
+            case "TreemapChart" -> "treemap_" + upper(text(settings, "marketType", "ALL"));
+            case "RankTable" -> {
+                String market = upper(text(settings, "market", "ALL"));
+                if ("top-and-bottom".equals(text(settings, "mode", "default"))) {
+                    yield "rank_" + market + "_CHANGE_RATE_TOP_AND_BOTTOM";
+                }
+                yield "rank_" + market + "_" + upper(text(settings, "by", "CHANGE_RATE"))
+                        + "_" + upper(text(settings, "order", "DESC"));
+            }
+            default -> null;
+        };
+    }
+
+    private static JsonNode parseSettings(String json, ObjectMapper objectMapper) {
+        if (json == null || json.isBlank()) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String text(JsonNode settings, String field, String defaultValue) {
+        JsonNode value = settings.path(field);
+        return value.isTextual() && !value.asText().isEmpty() ? value.asText() : defaultValue;
+    }
+
+    private static String upper(String s) {
+        return s.toUpperCase(Locale.ROOT);
+    }
+}
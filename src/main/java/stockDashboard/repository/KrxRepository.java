@@ -1,52 +1,139 @@
 package stockDashboard.repository;
 
+import stockDashboard.dto.IngestStatusDto;
 import stockDashboard.dto.MarketDataDto;
 import stockDashboard.dto.PriceHistoryDto;
 import stockDashboard.dto.StockSearchDto;
 
+import stockDashboard.model.MarketSnapshot;
+
 import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 /**
  * 주식 시장(KRX) 데이터베이스와 상호작용하는 리포지토리입니다.
- * 'app' 데이터 소스에 연결된 JdbcTemplate을 사용하여 주식 시세, 종목 정보 등을 조회합니다.
+ * 'app' 데이터 소스(복제본이 설정된 경우 복제본)에 연결된 JdbcTemplate을 사용하여 주식 시세, 종목 정보 등을 조회합니다.
+ * 조회만 수행하므로 복제본으로 보내도 안전합니다.
+ * 최신 시세 테이블(latest_metrics)을 사용하도록 설정된 경우, 최신 시세 조회는 종목당 한 행인 latest_metrics에서 읽고
+ * daily_metrics의 윈도우 함수 조회는 과거 시세 재구성(시세 이력, 특정 날짜의 장 마감 데이터)에만 사용합니다.
+ * 조회 결과는 행마다 Map을 만들지 않고 열 위치로 직접 읽어 DTO 또는 열 단위 스냅샷으로 변환합니다.
  */
 @Repository
 public class KrxRepository {
+
+	// 시장 데이터 조회 쿼리들이 공통으로 사용하는 SELECT 열 순서입니다.
+	private static final int COL_SYMBOL = 1;
+	private static final int COL_NAME = 2;
+	private static final int COL_SECTOR = 3;
+	private static final int COL_MARKET = 4;
+	private static final int COL_METRIC_DATE = 5;
+	private static final int COL_COLLECTED_AT = 6;
+	private static final int COL_MKTCAP = 7;
+	private static final int COL_FLUC_RT = 8;
+	private static final int COL_CLOSE = 9;
+	private static final int COL_OPEN = 10;
+	private static final int COL_HIGH = 11;
+	private static final int COL_LOW = 12;
+	private static final int COL_VOLUME = 13;
+	private static final int COL_VALUE = 14;
+
+	/** 종목코드 IN 목록을 맞추는 최대 크기입니다. (같은 목록을 두 번 바인딩하므로 파라미터 2,048개) */
+	private static final int MAX_IN_BUCKET = 1024;
+
+	/** 전체 시장 스냅샷의 초기 용량입니다. (KRX 주식 + ETF 종목 수 기준) */
+	private static final int SNAPSHOT_CAPACITY = 3_500;
+
+	/** 시장 데이터 조회 결과 한 행을 MarketDataDto로 변환합니다. */
+	static final RowMapper<MarketDataDto> MARKET_DATA_MAPPER = (rs, rowNum) -> new MarketDataDto(
+			rs.getString(COL_SYMBOL),
+			rs.getString(COL_NAME),
+			nullableLong(rs, COL_MKTCAP),
+			nullableDouble(rs, COL_FLUC_RT),
+			nullableLong(rs, COL_CLOSE),
+			nullableLong(rs, COL_OPEN),
+			nullableLong(rs, COL_HIGH),
+			nullableLong(rs, COL_LOW),
+			nullableLong(rs, COL_VOLUME),
+			nullableLong(rs, COL_VALUE),
+			rs.getString(COL_SECTOR),
+			rs.getString(COL_MARKET),
+			localDate(rs, COL_METRIC_DATE),
+			localDateTime(rs, COL_COLLECTED_AT));
+
+	/**
+	 * 시세 이력 조회 결과 한 행을 PriceHistoryDto로 변환합니다. (metric_date, 시가, 고가, 저가, 종가, 거래량 순)
+	 * 값이 없는 가격/거래량은 0으로 변환합니다.
+	 */
+	private static final RowMapper<PriceHistoryDto> PRICE_HISTORY_MAPPER = (rs, rowNum) -> new PriceHistoryDto(
+			localDate(rs, 1).toString(),
+			rs.getLong(2),
+			rs.getLong(3),
+			rs.getLong(4),
+			rs.getLong(5),
+			rs.getLong(6));
+
+	/**
+	 * 최신 시세 테이블에서 현재 종목명/업종/시장과 함께 조회하는 쿼리의 공통 부분입니다.
+	 * 조건(WHERE)과 정렬은 호출하는 쪽에서 덧붙입니다.
+	 */
+	private static final String LATEST_SNAPSHOT_SELECT = """
+			SELECT
+			    lm.ISU_SRT_CD, n_hist.value AS node_name, s_hist.value AS sector_name, m_hist.value AS market_type,
+			    lm.metric_date, lm.collected_at, lm.MKTCAP, lm.FLUC_RT,
+			    lm.TDD_CLSPRC, lm.TDD_OPNPRC, lm.TDD_HGPRC, lm.TDD_LWPRC, lm.ACC_TRDVOL, lm.ACC_TRDVAL
+			FROM
+			    latest_metrics lm
+			LEFT JOIN
+			    stock_history n_hist ON lm.ISU_SRT_CD = n_hist.stock_id AND n_hist.history_type = 'NAME' AND n_hist.end_date IS NULL
+			LEFT JOIN
+			    stock_history s_hist ON lm.ISU_SRT_CD = s_hist.stock_id AND s_hist.history_type = 'SECTOR' AND s_hist.end_date IS NULL
+			LEFT JOIN
+			    stock_history m_hist ON lm.ISU_SRT_CD = m_hist.stock_id AND m_hist.history_type = 'MARKET' AND m_hist.end_date IS NULL
+			""";
+
 	private final JdbcTemplate jdbcTemplate;
+	private final boolean latestSnapshot;
 
 	/**
      * KrxRepository 생성자입니다.
-     * @param jdbcTemplate 'appDataSource'에 연결된 기본 JdbcTemplate
+     * @param jdbcTemplate 시장 데이터 조회용 JdbcTemplate (복제본 라우팅 또는 'appDataSource')
+     * @param latestSnapshot 최신 시세 조회에 latest_metrics 테이블을 사용할지 여부
      */
-    public KrxRepository(@Qualifier("appJdbcTemplate") JdbcTemplate jdbcTemplate) {
+    public KrxRepository(@Qualifier("krxJdbcTemplate") JdbcTemplate jdbcTemplate,
+                         @Value("${krx.latest-snapshot.enabled:false}") boolean latestSnapshot) {
         this.jdbcTemplate = jdbcTemplate;
+        this.latestSnapshot = latestSnapshot;
     }
 
 	/**
-	 * 특정 종목의 지정된 날짜 이후 시세 이력을 조회합니다.
+	 * 특정 종목의 지정된 기간 시세 이력을 조회합니다.
 	 * 각 날짜의 가장 마지막 데이터를 기준으로 집계합니다.
 	 * @param symbol 종목코드
-	 * @param startDate 조회 시작 날짜
-	 * @return 시세 이력 DTO 리스트
+	 * @param startDate 조회 시작 날짜 (포함)
+	 * @param endDate 조회 종료 날짜 (제외)
+	 * @return 날짜 오름차순의 시세 이력 DTO 리스트
 	 */
-	public List<PriceHistoryDto> getPriceHistoryBySymbol(String symbol, LocalDate startDate) {
+	public List<PriceHistoryDto> getPriceHistoryBySymbol(String symbol, LocalDate startDate, LocalDate endDate) {
 		String sql = """
 				WITH RankedMetrics AS (
 				    SELECT
 				        *,
 				        ROW_NUMBER() OVER(PARTITION BY metric_date ORDER BY collected_at DESC) as rn
 				    FROM daily_metrics
-				    WHERE ISU_SRT_CD = ? AND metric_date >= ? AND TDD_CLSPRC IS NOT NULL
+				    WHERE ISU_SRT_CD = ? AND metric_date >= ? AND metric_date < ? AND TDD_CLSPRC IS NOT NULL
 				)
 				SELECT 
 				    metric_date, TDD_OPNPRC, TDD_HGPRC, TDD_LWPRC, TDD_CLSPRC, ACC_TRDVOL
@@ -55,18 +142,50 @@ public class KrxRepository {
 				ORDER BY metric_date ASC
 				""";
 		
-		Object[] params = { symbol, startDate };
-		List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, params);
-
-		return mapResultsToPriceHistoryDto(results);
+		return jdbcTemplate.query(sql, PRICE_HISTORY_MAPPER, symbol, startDate, endDate);
 	}
 	
 	/**
-	 * 가장 최근 날짜의 실시간 장중 시장 데이터를 시가총액 순으로 조회합니다.
-	 * @return 실시간 시장 데이터 DTO 리스트
+	 * 가장 최근 날짜의 실시간 장중 시장 데이터를 시가총액 순으로 조회하여 열 단위 스냅샷으로 만듭니다.
+	 * 조회 결과를 DTO로 만들지 않고 한 행씩 스냅샷 빌더에 기본형 값으로 기록합니다.
+	 * @return 실시간 시장 데이터 스냅샷 (행 순서는 시가총액 내림차순)
 	 */
-	public List<MarketDataDto> getLiveMarketData() {
-		String sql = """
+	public MarketSnapshot getLiveMarketSnapshot() {
+		MarketSnapshot.Builder builder = new MarketSnapshot.Builder(SNAPSHOT_CAPACITY);
+		RowCallbackHandler handler = rs -> builder.set(
+				rs.getString(COL_SYMBOL),
+				rs.getString(COL_NAME),
+				rs.getString(COL_SECTOR),
+				rs.getString(COL_MARKET),
+				longOrMissing(rs, COL_MKTCAP),
+				doubleOrNaN(rs, COL_FLUC_RT),
+				longOrMissing(rs, COL_CLOSE),
+				longOrMissing(rs, COL_OPEN),
+				longOrMissing(rs, COL_HIGH),
+				longOrMissing(rs, COL_LOW),
+				longOrMissing(rs, COL_VOLUME),
+				longOrMissing(rs, COL_VALUE),
+				localDate(rs, COL_METRIC_DATE),
+				localDateTime(rs, COL_COLLECTED_AT));
+		jdbcTemplate.query(liveMarketDataSql(), handler);
+		return builder.build();
+	}
+
+	/**
+	 * 가장 최근 날짜의 실시간 장중 시장 데이터를 시가총액 순으로 조회하는 쿼리입니다.
+	 * @return 시장 데이터 공통 열 순서의 SELECT 쿼리
+	 */
+	String liveMarketDataSql() {
+		if (latestSnapshot) {
+			return LATEST_SNAPSHOT_SELECT + """
+					WHERE
+					    lm.metric_date = (SELECT MAX(metric_date) FROM latest_metrics)
+					ORDER BY
+					    lm.MKTCAP DESC
+					""";
+		}
+
+		return """
 				WITH RankedMetrics AS (
 				    SELECT 
 				        m.*,
@@ -93,13 +212,93 @@ public class KrxRepository {
 				ORDER BY 
 				    rm.MKTCAP DESC
 				""";
+	}
+
+	/**
+	 * 시세 데이터가 존재하는 가장 최근 날짜를 조회합니다.
+	 * 증분 갱신 시 날짜가 바뀌었는지 판단하는 데 사용합니다.
+	 * @return 가장 최근 metric_date, 데이터가 없으면 null
+	 */
+	public LocalDate getLatestMetricDate() {
+		String sql = latestSnapshot
+				? "SELECT MAX(metric_date) FROM latest_metrics"
+				: "SELECT MAX(metric_date) FROM daily_metrics";
+		Date latest = jdbcTemplate.queryForObject(sql, Date.class);
+		return latest != null ? latest.toLocalDate() : null;
+	}
+
+	/** 종목 수를 세지 않을 때 사용하는, 어떤 수집 시각보다도 늦은 기준 시각입니다. */
+	private static final LocalDateTime NO_THRESHOLD = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+	/**
+	 * 가장 최근 날짜 데이터의 마지막 수집 시각과, 기준 시각 이후에 수집된 종목 수를 한 번에 조회합니다.
+	 * 새 수집분이 적재되었는지 확인하는 가벼운 조회로, 갱신 스케줄러가 장중에 주기적으로 호출합니다.
+	 * 수집 작업마다 커밋 시점이 달라 마지막 수집 시각보다 이른 행이 나중에 보일 수 있으므로,
+	 * 종목 수를 스냅샷과 비교하면 이런 행도 알아챌 수 있습니다.
+	 * @param since 종목 수를 셀 기준 시각, null이면 종목 수를 세지 않음
+	 * @return 마지막 collected_at(데이터가 없으면 null)과 since 이후 수집된 종목 수
+	 */
+	public IngestStatusDto getIngestStatus(LocalDateTime since) {
+		String source = latestSnapshot
+				? "latest_metrics"
+				: "daily_metrics WHERE metric_date = (SELECT MAX(metric_date) FROM daily_metrics)";
+		String sql = "SELECT MAX(collected_at), COUNT(DISTINCT CASE WHEN collected_at > ? THEN ISU_SRT_CD END) FROM " + source;
+		Timestamp threshold = Timestamp.valueOf(since != null ? since : NO_THRESHOLD);
+		return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> new IngestStatusDto(
+				localDateTime(rs, 1), rs.getInt(2)), threshold);
+	}
+
+	/**
+	 * 지정된 날짜에서 기준 시각 이후에 수집된 종목별 최신 시세만 조회합니다.
+	 * 하루 전체가 아닌 새로 적재된 스냅샷 행만 윈도우 함수 대상으로 삼으므로
+	 * 장중 스냅샷 수가 늘어나도 조회 비용은 변경분의 크기에만 비례합니다.
+	 * 최신 시세 테이블을 사용하는 경우 종목당 한 행이므로 윈도우 함수 없이 조회합니다.
+	 * @param metricDate 조회할 데이터 기준일
+	 * @param since 기준 시각, 보통 이전 조회의 마지막 collected_at에서 겹침 구간을 뺀 시각
+	 * @return since 이후 수집된 종목의 시장 데이터 DTO 리스트
+	 */
+	public List<MarketDataDto> getLiveMarketDataSince(LocalDate metricDate, LocalDateTime since) {
+		Object[] params = { metricDate, Timestamp.valueOf(since) };
+		if (latestSnapshot) {
+			String sql = LATEST_SNAPSHOT_SELECT + """
+					WHERE
+					    lm.metric_date = ? AND lm.collected_at > ?
+					""";
+			return jdbcTemplate.query(sql, MARKET_DATA_MAPPER, params);
+		}
+
+		String sql = """
+				WITH RankedMetrics AS (
+				    SELECT
+				        m.*,
+				        ROW_NUMBER() OVER(PARTITION BY m.ISU_SRT_CD ORDER BY m.collected_at DESC) as rn
+				    FROM
+				        daily_metrics m
+				    WHERE
+				        m.metric_date = ? AND m.collected_at > ?
+				)
+				SELECT
+				    rm.ISU_SRT_CD, n_hist.value AS node_name, s_hist.value AS sector_name, m_hist.value AS market_type,
+				    rm.metric_date, rm.collected_at, rm.MKTCAP, rm.FLUC_RT,
+				    rm.TDD_CLSPRC, rm.TDD_OPNPRC, rm.TDD_HGPRC, rm.TDD_LWPRC, rm.ACC_TRDVOL, rm.ACC_TRDVAL
+				FROM
+				    RankedMetrics rm
+				LEFT JOIN
+				    stock_history n_hist ON rm.ISU_SRT_CD = n_hist.stock_id AND n_hist.history_type = 'NAME' AND n_hist.end_date IS NULL
+				LEFT JOIN
+				    stock_history s_hist ON rm.ISU_SRT_CD = s_hist.stock_id AND s_hist.history_type = 'SECTOR' AND s_hist.end_date IS NULL
+				LEFT JOIN
+				    stock_history m_hist ON rm.ISU_SRT_CD = m_hist.stock_id AND m_hist.history_type = 'MARKET' AND m_hist.end_date IS NULL
+				WHERE
+				    rm.rn = 1
+				""";
 
-		List<Map<String, Object>> results = jdbcTemplate.queryForList(sql);
-		return mapResultsToMarketDataDto(results);
+		return jdbcTemplate.query(sql, MARKET_DATA_MAPPER, params);
 	}
 
 	/**
 	 * 특정 날짜의 장 마감 후 시장 데이터를 시가총액 순으로 조회합니다.
+	 * 과거 날짜의 종목명/업종/시장을 재구성해야 하므로 항상 daily_metrics에서 조회합니다.
 	 * @param date 조회할 특정 과거 날짜
 	 * @return 해당 날짜의 시장 데이터 DTO 리스트
 	 */
@@ -125,123 +324,75 @@ public class KrxRepository {
 				ORDER BY rm.MKTCAP DESC
 				""";
 		
-		Object[] params = { date };
-		List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, params);
-
-		return mapResultsToMarketDataDto(results);
+		return jdbcTemplate.query(sql, MARKET_DATA_MAPPER, date);
 	}
 
+    // --- ResultSet 열 읽기 헬퍼 (값이 없는 열은 wasNull()로 구분) ---
+
 	/**
-	 * DB 조회 결과를 PriceHistoryDto 리스트로 변환하는 헬퍼 메서드입니다.
-	 * @param results jdbcTemplate.queryForList()의 결과
-	 * @return 변환된 PriceHistoryDto 리스트
+	 * 정수 열을 읽습니다.
+	 * @param rs 현재 행을 가리키는 ResultSet
+	 * @param column 열 위치 (1부터 시작)
+	 * @return 열 값, NULL이면 null
 	 */
-	private List<PriceHistoryDto> mapResultsToPriceHistoryDto(List<Map<String, Object>> results) {
-		List<PriceHistoryDto> priceHistoryList = new ArrayList<>();
-		for (Map<String, Object> row : results) {
-			Long open = getLongValue(row, "TDD_OPNPRC");
-			Long high = getLongValue(row, "TDD_HGPRC");
-			Long low = getLongValue(row, "TDD_LWPRC");
-			Long close = getLongValue(row, "TDD_CLSPRC");
-			Long volume = getLongValue(row, "ACC_TRDVOL");
-
-			priceHistoryList.add(new PriceHistoryDto(
-				getLocalDateValue(row, "metric_date").toString(),
-				open != null ? open : 0L,
-				high != null ? high : 0L,
-				low != null ? low : 0L,
-				close != null ? close : 0L,
-				volume != null ? volume : 0L
-			));
-		}
-		return priceHistoryList;
-	}
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
 
 	/**
-	 * DB 조회 결과를 MarketDataDto 리스트로 변환하는 헬퍼 메서드입니다.
-	 * @param results jdbcTemplate.queryForList()의 결과
-	 * @return 변환된 MarketDataDto 리스트
+	 * 실수 열을 읽습니다.
+	 * @param rs 현재 행을 가리키는 ResultSet
+	 * @param column 열 위치 (1부터 시작)
+	 * @return 열 값, NULL이면 null
 	 */
-	private List<MarketDataDto> mapResultsToMarketDataDto(List<Map<String, Object>> results) {
-		List<MarketDataDto> marketDataList = new ArrayList<>();
-
-		for (Map<String, Object> row : results) {
-			            marketDataList.add(new MarketDataDto(
-			                    (String) row.get("ISU_SRT_CD"),
-			                    (String) row.get("node_name"),
-			                    getLongValue(row, "MKTCAP"),
-			                    getDoubleValue(row, "FLUC_RT"),
-			                    getLongValue(row, "TDD_CLSPRC"),
-			                    getLongValue(row, "TDD_OPNPRC"),
-			                    getLongValue(row, "TDD_HGPRC"),
-			                    getLongValue(row, "TDD_LWPRC"),
-			                    getLongValue(row, "ACC_TRDVOL"),
-			                    getLongValue(row, "ACC_TRDVAL"),
-			                    (String) row.get("sector_name"),
-			                    (String) row.get("market_type"),
-			                    getLocalDateValue(row, "metric_date"),
-			                    getLocalDateTimeValue(row, "collected_at")
-			            ));		}
-
-		return marketDataList;
-	}
-
-    // --- Helper methods for safe type casting ---
+    private static Double nullableDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
 
 	/**
-	 * Map에서 키에 해당하는 값을 Long으로 안전하게 변환합니다.
-	 * @param row 데이터 행 Map
-	 * @param key 조회할 키
-	 * @return 변환된 Long 값, 실패 시 null
+	 * 정수 열을 박싱 없이 읽습니다.
+	 * @param rs 현재 행을 가리키는 ResultSet
+	 * @param column 열 위치 (1부터 시작)
+	 * @return 열 값, NULL이면 {@link MarketSnapshot#MISSING}
 	 */
-    private Long getLongValue(Map<String, Object> row, String key) {
-        Object value = row.get(key);
-        if (value instanceof Number) {
-            return ((Number) value).longValue();
-        }
-        return null;
+    private static long longOrMissing(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? MarketSnapshot.MISSING : value;
     }
 
 	/**
-	 * Map에서 키에 해당하는 값을 Double로 안전하게 변환합니다.
-	 * @param row 데이터 행 Map
-	 * @param key 조회할 키
-	 * @return 변환된 Double 값, 실패 시 null
+	 * 실수 열을 박싱 없이 읽습니다.
+	 * @param rs 현재 행을 가리키는 ResultSet
+	 * @param column 열 위치 (1부터 시작)
+	 * @return 열 값, NULL이면 NaN
 	 */
-    private Double getDoubleValue(Map<String, Object> row, String key) {
-        Object value = row.get(key);
-        if (value instanceof Number) {
-            return ((Number) value).doubleValue();
-        }
-        return null;
+    private static double doubleOrNaN(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
     }
 
 	/**
-	 * Map에서 키에 해당하는 값을 LocalDate로 안전하게 변환합니다.
-	 * @param row 데이터 행 Map
-	 * @param key 조회할 키
-	 * @return 변환된 LocalDate 값, 실패 시 null
+	 * 날짜 열을 읽습니다.
+	 * @param rs 현재 행을 가리키는 ResultSet
+	 * @param column 열 위치 (1부터 시작)
+	 * @return 열 값, NULL이면 null
 	 */
-    private LocalDate getLocalDateValue(Map<String, Object> row, String key) {
-        Object value = row.get(key);
-        if (value instanceof Date) {
-            return ((Date) value).toLocalDate();
-        }
-        return null;
+    private static LocalDate localDate(ResultSet rs, int column) throws SQLException {
+        Date value = rs.getDate(column);
+        return value != null ? value.toLocalDate() : null;
     }
 
 	/**
-	 * Map에서 키에 해당하는 값을 LocalDateTime으로 안전하게 변환합니다.
-	 * @param row 데이터 행 Map
-	 * @param key 조회할 키
-	 * @return 변환된 LocalDateTime 값, 실패 시 null
+	 * 날짜/시각 열을 읽습니다.
+	 * @param rs 현재 행을 가리키는 ResultSet
+	 * @param column 열 위치 (1부터 시작)
+	 * @return 열 값, NULL이면 null
 	 */
-    private LocalDateTime getLocalDateTimeValue(Map<String, Object> row, String key) {
-        Object value = row.get(key);
-        if (value instanceof Timestamp) {
-            return ((Timestamp) value).toLocalDateTime();
-        }
-        return null;
+    private static LocalDateTime localDateTime(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
     }
 
 	/**
@@ -264,27 +415,31 @@ public class KrxRepository {
 	 * @return 검색된 종목 정보 DTO 리스트
 	 */
     public List<StockSearchDto> searchStocksByName(String query) {
-        String sql = """
+        String metricsTable = latestSnapshot ? "latest_metrics" : "daily_metrics";
+        String sql = String.format("""
                 SELECT DISTINCT TOP 10
                     h.stock_id AS symbol,
                     h.value AS name
                 FROM stock_history h
-                INNER JOIN daily_metrics lm ON h.stock_id = lm.ISU_SRT_CD
+                INNER JOIN %1$s lm ON h.stock_id = lm.ISU_SRT_CD
                 WHERE h.history_type = 'NAME' 
                 	AND h.end_date IS NULL 
-                	AND lm.metric_date = ( SELECT MAX(metric_date) FROM daily_metrics ) 
+                	AND lm.metric_date = ( SELECT MAX(metric_date) FROM %1$s ) 
                 	AND h.value LIKE ?
-                """;
+                """, metricsTable);
         
-        Object[] params = { "%" + query + "%" };
-		return jdbcTemplate.query(sql, (rs, rowNum) -> new StockSearchDto(
+        // 앱 커넥션은 문자열 파라미터를 VARCHAR로 보내므로(sendStringParametersAsUnicode=false),
+        // 한글 종목명(NVARCHAR)과 비교하는 검색어는 NVARCHAR로 명시해 보냅니다.
+		return jdbcTemplate.query(sql, ps -> ps.setNString(1, "%" + query + "%"), (rs, rowNum) -> new StockSearchDto(
 			rs.getString("symbol"),
 			rs.getString("name")
-		), params);
+		));
 	}
 
 	/**
 	 * 제공된 종목 코드 리스트에 대한 최신 시장 데이터를 조회합니다.
+	 * 종목 수마다 다른 쿼리가 만들어져 실행 계획 캐시가 늘어나지 않도록,
+	 * IN 목록은 2의 거듭제곱 크기로 맞추고 남는 자리는 마지막 종목코드로 채웁니다.
 	 * @param symbols 조회할 종목 코드 리스트
 	 * @return 각 종목의 최신 시장 데이터 DTO 리스트
 	 */
@@ -293,7 +448,19 @@ public class KrxRepository {
             return new ArrayList<>();
         }
 
-        String inSql = String.join(",", java.util.Collections.nCopies(symbols.size(), "?"));
+        List<String> padded = padToBucket(symbols);
+        String inSql = String.join(",", java.util.Collections.nCopies(padded.size(), "?"));
+        List<Object> params = new ArrayList<>(padded);
+        params.addAll(padded);
+
+        if (latestSnapshot) {
+            String sql = LATEST_SNAPSHOT_SELECT + String.format("""
+                WHERE
+                    lm.ISU_SRT_CD IN (%s)
+                    AND lm.metric_date = (SELECT MAX(metric_date) FROM latest_metrics WHERE ISU_SRT_CD IN (%s))
+                """, inSql, inSql);
+            return jdbcTemplate.query(sql, MARKET_DATA_MAPPER, params.toArray());
+        }
 
         String sql = String.format("""
             WITH RankedMetrics AS (
@@ -322,10 +489,27 @@ public class KrxRepository {
                 rm.rn = 1
             """, inSql, inSql);
 
-        List<Object> params = new ArrayList<>(symbols);
-        params.addAll(symbols);
+        return jdbcTemplate.query(sql, MARKET_DATA_MAPPER, params.toArray());
+    }
 
-        List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, params.toArray());
-        return mapResultsToMarketDataDto(results);
+    /**
+     * IN 목록 크기를 2의 거듭제곱으로 올리고 남는 자리를 마지막 값으로 채웁니다.
+     * 파라미터 수 제한(2,100개)을 넘지 않도록 {@link #MAX_IN_BUCKET}보다 큰 목록은 그대로 둡니다.
+     * @param symbols 종목 코드 리스트 (비어 있지 않음)
+     * @return 크기를 맞춘 종목 코드 리스트
+     */
+    private static List<String> padToBucket(List<String> symbols) {
+        int size = symbols.size();
+        int bucket = Integer.highestOneBit(size - 1) << 1;
+        if (bucket <= size || bucket > MAX_IN_BUCKET) {
+            return symbols;
+        }
+        List<String> padded = new ArrayList<>(bucket);
+        padded.addAll(symbols);
+        String last = symbols.get(size - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+        return padded;
     }
-}
\ No newline at end of file
+}
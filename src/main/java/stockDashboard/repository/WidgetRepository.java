@@ -8,7 +8,9 @@ import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 사용자 위젯(user_widgets) 테이블에 대한 데이터베이스 작업을 처리하는 리포지토리입니다.
@@ -17,6 +19,16 @@ import java.util.List;
 @Repository
 public class WidgetRepository {
 
+    /**
+     * 한 번에 저장할 수 있는 최대 레이아웃 수입니다.
+     * SQL Server의 요청당 파라미터 수 제한(2100개) 안에서 하나의 문장으로 처리하기 위한 값입니다.
+     */
+    public static final int MAX_BULK_LAYOUTS = 1000;
+
+    private static final String UPDATE_WIDGET_SQL = "UPDATE user_widgets SET widget_name = COALESCE(?, widget_name), "
+            + "layout_info = COALESCE(?, layout_info), widget_settings = COALESCE(?, widget_settings) "
+            + "WHERE user_id = ? AND widget_id = ?";
+
     private final JdbcTemplate jdbcTemplate;
 
     /**
@@ -40,6 +52,33 @@ public class WidgetRepository {
         return jdbcTemplate.update(sql, layoutInfo, userId, widgetId);
     }
 
+    /**
+     * 한 사용자의 여러 위젯 레이아웃을 하나의 UPDATE 문으로 저장합니다.
+     * 하나의 문장이므로 모두 반영되거나 모두 반영되지 않습니다.
+     * @param userId 사용자 ID
+     * @param layouts 위젯 ID별 새로운 레이아웃 정보 (JSON 문자열)
+     * @return 업데이트된 행의 수
+     * @throws IllegalArgumentException 레이아웃 수가 {@link #MAX_BULK_LAYOUTS}를 넘을 경우 발생
+     */
+    public int updateLayoutInfos(long userId, Map<Long, String> layouts) {
+        if (layouts.isEmpty()) {
+            return 0;
+        }
+        if (layouts.size() > MAX_BULK_LAYOUTS) {
+            throw new IllegalArgumentException("한 번에 저장할 수 있는 레이아웃은 최대 " + MAX_BULK_LAYOUTS + "개입니다.");
+        }
+        StringBuilder sql = new StringBuilder("UPDATE w SET layout_info = v.layout_info FROM user_widgets w JOIN (VALUES ");
+        List<Object> params = new ArrayList<>(layouts.size() * 2 + 1);
+        layouts.forEach((widgetId, layoutInfo) -> {
+            sql.append(params.isEmpty() ? "(?, ?)" : ", (?, ?)");
+            params.add(widgetId);
+            params.add(layoutInfo);
+        });
+        sql.append(") AS v (widget_id, layout_info) ON w.widget_id = v.widget_id WHERE w.user_id = ?");
+        params.add(userId);
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
     /**
      * 특정 사용자의 위젯 설정을 업데이트합니다.
      * @param userId 사용자 ID
@@ -64,6 +103,40 @@ public class WidgetRepository {
         return jdbcTemplate.update(sql, widgetName, userId, widgetId);
     }
 
+    /**
+     * 여러 위젯의 이름/레이아웃/설정 변경을 하나의 배치 UPDATE로 반영합니다.
+     * 값이 null인 열은 기존 값을 유지합니다.
+     * @param updates 반영할 변경 목록
+     * @return 업데이트된 행의 수
+     */
+    public int batchUpdateWidgets(List<WidgetUpdate> updates) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_WIDGET_SQL, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, update.widgetName());
+            ps.setString(2, update.layoutInfo());
+            ps.setString(3, update.widgetSettings());
+            ps.setLong(4, update.userId());
+            ps.setLong(5, update.widgetId());
+        });
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 한 위젯의 이름/레이아웃/설정 변경을 반영합니다. 값이 null인 열은 기존 값을 유지합니다.
+     * 배치 저장이 실패했을 때 어느 변경이 문제인지 가려내기 위해 사용합니다.
+     * @param update 반영할 변경
+     * @return 업데이트된 행의 수
+     */
+    public int updateWidget(WidgetUpdate update) {
+        return jdbcTemplate.update(UPDATE_WIDGET_SQL, update.widgetName(), update.layoutInfo(), update.widgetSettings(),
+                update.userId(), update.widgetId());
+    }
+
     /**
      * 특정 위젯을 삭제합니다.
      * @param userId 사용자 ID
@@ -121,6 +194,53 @@ public class WidgetRepository {
         }
     }
 
+    /**
+     * 한 위젯에 대한 이름/레이아웃/설정 변경 내용입니다. null인 항목은 변경하지 않습니다.
+     * @param userId 사용자 ID
+     * @param widgetId 위젯 ID
+     * @param widgetName 새로운 위젯 이름
+     * @param layoutInfo 새로운 레이아웃 정보 (JSON 문자열)
+     * @param widgetSettings 새로운 설정 정보 (JSON 문자열)
+     */
+    public record WidgetUpdate(long userId, long widgetId, String widgetName, String layoutInfo, String widgetSettings) {
+
+        /**
+         * 이 변경 이후에 들어온 변경을 합칩니다. 나중 변경에서 지정한 항목이 우선합니다.
+         * @param newer 나중에 들어온 변경
+         * @return 합쳐진 변경
+         */
+        public WidgetUpdate merge(WidgetUpdate newer) {
+            return new WidgetUpdate(userId, widgetId,
+                    newer.widgetName() != null ? newer.widgetName() : widgetName,
+                    newer.layoutInfo() != null ? newer.layoutInfo() : layoutInfo,
+                    newer.widgetSettings() != null ? newer.widgetSettings() : widgetSettings);
+        }
+
+        /**
+         * 레이아웃 변경을 뺀 나머지 변경을 반환합니다.
+         * @return 레이아웃을 제외한 변경, 남은 변경이 없으면 null
+         */
+        public WidgetUpdate withoutLayout() {
+            if (widgetName == null && widgetSettings == null) {
+                return null;
+            }
+            return new WidgetUpdate(userId, widgetId, widgetName, null, widgetSettings);
+        }
+
+        /**
+         * 조회한 위젯 정보에 이 변경을 덮어쓴 결과를 반환합니다.
+         * @param widget 데이터베이스에서 조회한 위젯
+         * @return 변경이 반영된 위젯
+         */
+        public WidgetDto applyTo(WidgetDto widget) {
+            return new WidgetDto(widget.widgetId, widget.userId,
+                    widgetName != null ? widgetName : widget.widgetName,
+                    widget.widgetType,
+                    layoutInfo != null ? layoutInfo : widget.layoutInfo,
+                    widgetSettings != null ? widgetSettings : widget.widgetSettings);
+        }
+    }
+
     /**
      * ResultSet의 행을 WidgetDto 객체로 매핑하는 RowMapper 구현체입니다.
      */
@@ -1,32 +1,179 @@
 package stockDashboard.service;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import stockDashboard.dto.ChartDataDto;
 import stockDashboard.dto.PriceHistoryDto;
+import stockDashboard.model.CandleAggregator;
+import stockDashboard.model.CandleAggregator.Downsampling;
+import stockDashboard.model.CandleAggregator.Timeframe;
+import stockDashboard.model.MarketSnapshot;
+import stockDashboard.model.SymbolPriceHistory;
 import stockDashboard.repository.KrxRepository;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
+/**
+ * 종목별 시세 이력(일봉)을 제공하는 서비스입니다.
+ * 마감된 거래일의 일봉은 바뀌지 않으므로 종목별로 캐시에 보관하고, 날짜가 바뀌면 새로 마감된 구간만 추가로 조회합니다.
+ * 오늘의 일봉은 DB를 조회하지 않고 {@link DashboardService}가 보관 중인 실시간 스냅샷에서 만듭니다.
+ * 주봉/월봉은 캐시된 일봉 이력에서 종목·기간 단위별로 한 번만 계산해 보관합니다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ChartDataService {
 
+    /** KRX 거래일 기준 시간대입니다. metric_date는 한국 시간 기준 날짜입니다. */
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 조회할 수 있는 최대 기간(일)입니다. 약 40년으로, KRX 일봉 이력 전체를 포함합니다. */
+    public static final int MAX_DAYS = 40 * 366;
+
     private final KrxRepository krxRepository;
+    private final DashboardService dashboardService;
+
+    /**
+     * 종목코드별 마감 거래일 시세 이력 캐시입니다.
+     * 일봉 수를 가중치로 사용하여 전체 보관량을 제한하고, 한도를 넘으면 오래 사용되지 않은 종목부터 제거합니다.
+     */
+    private final Cache<String, SymbolPriceHistory> historyCache;
+
+    /**
+     * 마감 거래일 이력에서 계산한 주봉/월봉입니다.
+     * @param source 계산에 사용한 일봉 이력, 이력이 확장되어 객체가 바뀌면 다시 계산합니다.
+     * @param bars 기간 단위 봉 목록
+     */
+    private record AggregatedHistory(SymbolPriceHistory source, List<PriceHistoryDto> bars) {}
+
+    /** (종목코드, 기간 단위)별 주봉/월봉 캐시입니다. */
+    private final Cache<AggregateKey, AggregatedHistory> aggregateCache;
+
+    private record AggregateKey(String symbol, Timeframe timeframe) {}
+
+    public ChartDataService(KrxRepository krxRepository, DashboardService dashboardService,
+                            @Value("${chart.history.cache.max-bars:500000}") long maxBars) {
+        this.krxRepository = krxRepository;
+        this.dashboardService = dashboardService;
+        this.historyCache = Caffeine.newBuilder()
+                .maximumWeight(maxBars)
+                .weigher((String symbol, SymbolPriceHistory history) -> history.weight())
+                .build();
+        this.aggregateCache = Caffeine.newBuilder()
+                .maximumWeight(maxBars / 4)
+                .weigher((AggregateKey key, AggregatedHistory history) -> history.bars().size() + 1)
+                .build();
+    }
 
     /**
      * 특정 종목의 시세 이력과 종목명을 조회합니다.
      * @param symbol 종목코드
-     * @param days 조회할 기간 (일)
+     * @param days 조회할 기간 (일), 1 ~ {@link #MAX_DAYS}
      * @return 차트 데이터 DTO (종목명 + 시세 이력)
      */
     public ChartDataDto getPriceHistory(String symbol, int days) {
-        LocalDate startDate = LocalDate.now().minusDays(days);
-        
-        String stockName = krxRepository.getStockNameBySymbol(symbol);
-        List<PriceHistoryDto> history = krxRepository.getPriceHistoryBySymbol(symbol, startDate);
+        return getPriceHistory(symbol, days, Timeframe.DAY, 0, Downsampling.MINMAX);
+    }
+
+    /**
+     * 특정 종목의 시세 이력을 기간 단위로 합치고, 필요하면 지정한 개수 이하로 줄여 조회합니다.
+     * @param symbol 종목코드
+     * @param days 조회할 기간 (일)
+     * @param timeframe 봉의 기간 단위 (일/주/월)
+     * @param maxPoints 최대 봉 개수, 0 이하이면 줄이지 않습니다.
+     * @param downsampling 봉 개수를 줄이는 방식
+     * @return 차트 데이터 DTO (종목명 + 시세 이력)
+     * @throws IllegalArgumentException days가 1 ~ {@link #MAX_DAYS} 범위를 벗어난 경우
+     */
+    public ChartDataDto getPriceHistory(String symbol, int days, Timeframe timeframe, int maxPoints, Downsampling downsampling) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 1 ~ " + MAX_DAYS + "일이어야 합니다: " + days);
+        }
+        LocalDate today = LocalDate.now(KST);
+        LocalDate startDate = today.minusDays(days);
+
+        SymbolPriceHistory closed = getClosedHistory(symbol, startDate, today);
+        List<PriceHistoryDto> bars = CandleAggregator.since(aggregatedBars(symbol, closed, timeframe), timeframe.bucketStart(startDate));
+
+        PriceHistoryDto liveBar = liveBarOf(symbol, closed.lastBarTime());
+        if (liveBar != null) {
+            bars = CandleAggregator.appendDaily(bars, liveBar, timeframe);
+        }
+        return new ChartDataDto(closed.stockName(), CandleAggregator.downsample(bars, maxPoints, downsampling));
+    }
+
+    /**
+     * 마감 거래일 이력을 기간 단위 봉으로 변환합니다. 주봉/월봉은 이력 객체가 바뀔 때만 다시 계산합니다.
+     */
+    private List<PriceHistoryDto> aggregatedBars(String symbol, SymbolPriceHistory closed, Timeframe timeframe) {
+        if (timeframe == Timeframe.DAY) {
+            return closed.bars();
+        }
+        AggregateKey key = new AggregateKey(symbol, timeframe);
+        AggregatedHistory cached = aggregateCache.getIfPresent(key);
+        if (cached != null && cached.source() == closed) {
+            return cached.bars();
+        }
+        List<PriceHistoryDto> bars = List.copyOf(CandleAggregator.aggregate(closed.bars(), timeframe));
+        aggregateCache.put(key, new AggregatedHistory(closed, bars));
+        return bars;
+    }
+
+    /**
+     * [startDate, today) 구간을 포함하는 마감 거래일 이력을 캐시에서 조회합니다.
+     * 캐시에 없으면 전체 구간을 조회하고, 캐시된 구간이 부족하면 모자란 앞/뒤 구간만 조회해 붙입니다.
+     */
+    private SymbolPriceHistory getClosedHistory(String symbol, LocalDate startDate, LocalDate today) {
+        SymbolPriceHistory history = historyCache.get(symbol, key -> new SymbolPriceHistory(
+                krxRepository.getStockNameBySymbol(key),
+                krxRepository.getPriceHistoryBySymbol(key, startDate, today),
+                startDate,
+                today));
 
-        return new ChartDataDto(stockName, history);
+        SymbolPriceHistory extended = history;
+        if (startDate.isBefore(extended.from())) {
+            extended = extended.prepend(krxRepository.getPriceHistoryBySymbol(symbol, startDate, extended.from()), startDate);
+        }
+        if (today.isAfter(extended.until())) {
+            // 날짜가 바뀌어 새로 마감된 거래일만 추가로 조회합니다.
+            extended = extended.append(krxRepository.getPriceHistoryBySymbol(symbol, extended.until(), today), today,
+                    krxRepository.getStockNameBySymbol(symbol));
+        }
+        if (extended != history) {
+            historyCache.put(symbol, extended);
+            log.debug("{} 시세 이력 캐시를 확장했습니다. ({} ~ {}, {}건)", symbol, extended.from(), extended.until(), extended.bars().size());
+        }
+        return extended;
+    }
+
+    /**
+     * 실시간 스냅샷에서 오늘(스냅샷 기준일)의 일봉을 만듭니다.
+     * 마감 이력의 마지막 날짜 이후의 데이터일 때만 반환하여, 주말 등 스냅샷 기준일이 이미 마감된 경우 중복되지 않게 합니다.
+     * @param lastClosedTime 마감 이력의 마지막 일봉 날짜 (없으면 null)
+     * @return 오늘의 일봉, 해당 데이터가 없으면 null
+     */
+    private PriceHistoryDto liveBarOf(String symbol, String lastClosedTime) {
+        MarketSnapshot snapshot = dashboardService.getSnapshot();
+        int row = snapshot.indexOf(symbol);
+        if (row < 0 || snapshot.close(row) == MarketSnapshot.MISSING) {
+            return null;
+        }
+        String time = snapshot.metricDate(row).toString();
+        if (lastClosedTime != null && time.compareTo(lastClosedTime) <= 0) {
+            return null;
+        }
+        return new PriceHistoryDto(
+                time,
+                MarketSnapshot.orElse(snapshot.open(row), 0L),
+                MarketSnapshot.orElse(snapshot.high(row), 0L),
+                MarketSnapshot.orElse(snapshot.low(row), 0L),
+                snapshot.close(row),
+                MarketSnapshot.orElse(snapshot.volume(row), 0L));
     }
 }
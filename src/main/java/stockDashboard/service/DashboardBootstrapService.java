@@ -0,0 +1,162 @@
+package stockDashboard.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import stockDashboard.dto.ChartDataDto;
+import stockDashboard.dto.DashboardBootstrapDto;
+import stockDashboard.dto.MarketDataDto;
+import stockDashboard.dto.PreRenderedJson;
+import stockDashboard.model.CandleAggregator.Downsampling;
+import stockDashboard.model.CandleAggregator.Timeframe;
+import stockDashboard.model.UserWidgets;
+import stockDashboard.repository.WidgetRepository.WidgetDto;
+
+/**
+ * 대시보드 첫 화면에 필요한 위젯 목록과 위젯별 데이터를 한 번에 모아 주는 서비스입니다.
+ * 위젯 목록과 동적 데이터는 {@link WidgetService}, {@link DashboardService}의 캐시에서 읽고,
+ * 관심종목 시세와 차트 시세 이력은 가상 스레드에서 동시에 조회하되, 제한 시간 안에 끝나지 않은 항목은 빼고 응답합니다.
+ * 빠진 항목은 위젯이 각자 다시 요청합니다.
+ */
+@Slf4j
+@Service
+public class DashboardBootstrapService {
+
+    /** 차트 위젯이 요청하는 조회 기간(일)입니다. (프론트엔드 KrxChartWidget과 동일, 약 16년) */
+    private static final int CHART_DAYS = 5844;
+
+    /**
+     * 로그인하지 않은 사용자에게 보여 주는 데모 대시보드의 위젯입니다. (프론트엔드 sampleWidgets와 동일)
+     */
+    private static final List<WidgetDto> DEMO_WIDGETS = List.of(
+        new WidgetDto(1, 0, "코스피", "TextWidget",
+            "{\"lg\":{\"x\":0,\"y\":0,\"w\":1,\"h\":1},\"md\":{\"x\":0,\"y\":0,\"w\":1,\"h\":1},\"sm\":{\"x\":0,\"y\":0,\"w\":1,\"h\":1}}",
+            "{\"dataKey\":\"index_KOSPI\",\"title\":\"코스피\"}"),
+        new WidgetDto(2, 0, "코스닥", "TextWidget",
+            "{\"lg\":{\"x\":1,\"y\":0,\"w\":1,\"h\":1},\"md\":{\"x\":1,\"y\":0,\"w\":1,\"h\":1},\"sm\":{\"x\":1,\"y\":0,\"w\":1,\"h\":1}}",
+            "{\"dataKey\":\"index_KOSDAQ\",\"title\":\"코스닥\"}"),
+        new WidgetDto(3, 0, "삼성전자", "KrxChartWidget",
+            "{\"lg\":{\"x\":0,\"y\":1,\"w\":2,\"h\":2},\"md\":{\"x\":0,\"y\":1,\"w\":2,\"h\":2},\"sm\":{\"x\":0,\"y\":1,\"w\":2,\"h\":2}}",
+            "{\"symbol\":\"005930\"}"),
+        new WidgetDto(4, 0, "통합 시장 트리맵", "TreemapChart",
+            "{\"lg\":{\"x\":2,\"y\":0,\"w\":2,\"h\":4},\"md\":{\"x\":0,\"y\":3,\"w\":2,\"h\":2},\"sm\":{\"x\":0,\"y\":3,\"w\":2,\"h\":2}}",
+            "{\"marketType\":\"ALL\"}"),
+        new WidgetDto(5, 0, "상승률 순위", "RankTable",
+            "{\"lg\":{\"x\":0,\"y\":3,\"w\":2,\"h\":2},\"md\":{\"x\":0,\"y\":5,\"w\":2,\"h\":2},\"sm\":{\"x\":0,\"y\":5,\"w\":2,\"h\":2}}",
+            "{\"by\":\"CHANGE_RATE\",\"order\":\"DESC\",\"visibleColumns\":[\"currentPrice\",\"changeRate\"],"
+                + "\"columnWidths\":{\"name\":80,\"currentPrice\":80,\"changeRate\":80,\"volume\":80,\"tradeValue\":80}}")
+    );
+
+    private final WidgetService widgetService;
+    private final DashboardService dashboardService;
+    private final StockService stockService;
+    private final ChartDataService chartDataService;
+
+    /** 데모 대시보드의 위젯 구성입니다. 위젯이 고정되어 있으므로 한 번만 파싱합니다. */
+    private final UserWidgets demoWidgets;
+
+    private final Duration timeout;
+    private final int chartMaxPoints;
+
+    /**
+     * DashboardBootstrapService 생성자입니다.
+     * @param widgetService 사용자 위젯 목록을 제공하는 서비스
+     * @param dashboardService 동적 데이터 캐시를 제공하는 서비스
+     * @param stockService 관심종목 시세를 제공하는 서비스
+     * @param chartDataService 차트 시세 이력을 제공하는 서비스
+     * @param objectMapper 데모 위젯 설정 파싱에 사용할 ObjectMapper
+     * @param timeout 관심종목 시세와 차트 조회를 모두 기다리는 최대 시간
+     * @param chartMaxPoints 초기 데이터에 담는 차트 하나의 최대 봉 개수
+     */
+    public DashboardBootstrapService(WidgetService widgetService, DashboardService dashboardService,
+                                     StockService stockService, ChartDataService chartDataService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${dashboard.bootstrap.timeout:1s}") Duration timeout,
+                                     @Value("${dashboard.bootstrap.chart-max-points:500}") int chartMaxPoints) {
+        this.widgetService = widgetService;
+        this.dashboardService = dashboardService;
+        this.stockService = stockService;
+        this.chartDataService = chartDataService;
+        this.demoWidgets = UserWidgets.of(DEMO_WIDGETS, objectMapper);
+        this.timeout = timeout;
+        this.chartMaxPoints = chartMaxPoints;
+    }
+
+    /**
+     * 사용자의 대시보드(또는 데모 대시보드)를 그리는 데 필요한 위젯과 데이터를 모읍니다.
+     * 시세/차트 조회 중 일부가 실패하거나 제한 시간 안에 끝나지 않으면 해당 항목만 빼고 반환하며, 위젯은 각자 다시 요청합니다.
+     * 차트는 첫 화면을 그릴 만큼만 최대 chartMaxPoints개의 봉으로 줄여 담습니다.
+     * @param userId 사용자 ID, 로그인하지 않은 경우 null
+     * @return 위젯 목록과 위젯별 데이터
+     */
+    public DashboardBootstrapDto bootstrap(Long userId) {
+        UserWidgets config = userId != null ? widgetService.getUserWidgetConfig(userId) : demoWidgets;
+
+        Future<List<MarketDataDto>> quotes = null;
+        Map<String, Future<ChartDataDto>> charts = new LinkedHashMap<>();
+        Map<String, PreRenderedJson> data;
+        Map<String, ChartDataDto> chartData = new LinkedHashMap<>();
+        List<MarketDataDto> quoteData = null;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            if (!config.quoteSymbols().isEmpty()) {
+                quotes = executor.submit(() -> stockService.getLatestMarketDataForSymbols(config.quoteSymbols()));
+            }
+            for (String symbol : config.chartSymbols()) {
+                charts.put(symbol, executor.submit(() ->
+                        chartDataService.getPriceHistory(symbol, CHART_DAYS, Timeframe.DAY, chartMaxPoints, Downsampling.MINMAX)));
+            }
+            // 동적 데이터는 메모리 캐시 조회이므로 DB 조회를 기다리는 동안 현재 스레드에서 처리합니다.
+            data = dashboardService.getDynamicJson(config.dataKeys());
+
+            if (quotes != null) {
+                quoteData = resultOrNull(quotes, deadline, "관심종목 시세");
+            }
+            for (Map.Entry<String, Future<ChartDataDto>> entry : charts.entrySet()) {
+                ChartDataDto chart = resultOrNull(entry.getValue(), deadline, "차트 " + entry.getKey());
+                if (chart != null && chart.history() != null && !chart.history().isEmpty()) {
+                    chartData.put(entry.getKey(), chart);
+                }
+            }
+        } finally {
+            // close()는 모든 작업을 기다리므로, 늦은 작업은 취소만 하고 기다리지 않습니다.
+            executor.shutdownNow();
+        }
+
+        return new DashboardBootstrapDto(config.widgets(), data, quoteData != null ? quoteData : List.of(), chartData);
+    }
+
+    /**
+     * 작업 결과를 deadline까지 기다립니다. 실패하거나 제한 시간을 넘긴 작업은 취소하고 null을 반환합니다.
+     * @param deadline System.nanoTime() 기준 마감 시각
+     */
+    private static <T> T resultOrNull(Future<T> future, long deadline, String what) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.info("대시보드 초기 데이터 중 {} 조회가 제한 시간 안에 끝나지 않아 제외합니다.", what);
+        } catch (ExecutionException e) {
+            log.warn("대시보드 초기 데이터 중 {} 조회에 실패했습니다.", what, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return null;
+    }
+}
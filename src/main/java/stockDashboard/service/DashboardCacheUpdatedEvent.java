@@ -0,0 +1,18 @@
+package stockDashboard.service;
+
+import java.util.Set;
+
+import stockDashboard.model.DashboardGeneration;
+
+/**
+ * 대시보드 캐시 갱신으로 실제 내용이 바뀐 데이터 키를 알리는 애플리케이션 이벤트입니다.
+ * {@link DashboardService#updateMarketDataCache()}가 새 세대를 발행한 뒤 변경이 있을 때만 발행합니다.
+ * @param generation 새로 발행된 세대, 구독자에게 보낼 데이터는 이 세대에서 읽습니다.
+ * @param changedKeys 내용(ETag)이 바뀐 캐시 키 목록
+ * @param rankIndexChanged 순위 인덱스가 교체되었는지 여부, 캐시에 없는 순위 키의 구독자에게 알리는 데 사용합니다.
+ */
+public record DashboardCacheUpdatedEvent(
+    DashboardGeneration generation,
+    Set<String> changedKeys,
+    boolean rankIndexChanged
+) {}
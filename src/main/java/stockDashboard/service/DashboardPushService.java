@@ -0,0 +1,297 @@
+package stockDashboard.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import stockDashboard.dto.PreRenderedJson;
+import stockDashboard.model.DashboardGeneration;
+
+/**
+ * 대시보드 데이터를 Server-Sent Events로 구독자에게 보내는 서비스입니다.
+ * 클라이언트는 필요한 데이터 키 목록으로 구독하고, 연결 직후 전체 데이터를 한 번 받은 뒤에는
+ * 캐시 갱신으로 해당 키의 내용이 실제로 바뀐 경우에만 바뀐 키의 데이터를 받습니다.
+ *
+ * 같은 키 조합을 구독하는 클라이언트에게는 한 번 만든 메시지를 그대로 보내며,
+ * 전송은 가상 스레드에서 수행하므로 느린 연결이 갱신 스레드나 다른 구독자를 막지 않습니다.
+ * 각 메시지는 하나의 세대에서만 데이터를 읽으며, 이벤트 ID로 그 세대 번호를 보냅니다.
+ * 구독자별로 한 번에 하나씩 보내므로 한 구독자에게는 항상 세대 순서대로 도착하며,
+ * 전송이 밀린 구독자에게는 보내지 못한 변경을 하나로 합쳐 최신 세대에서 다시 만들므로 대기 메시지가 쌓이지 않습니다.
+ */
+@Slf4j
+@Service
+public class DashboardPushService {
+    /** 구독 연결의 최대 유지 시간(ms)입니다. 만료되면 브라우저의 EventSource가 자동으로 다시 연결합니다. */
+    private static final long EMITTER_TIMEOUT = 30 * 60 * 1000L;
+
+    /** 한 연결에서 구독할 수 있는 최대 데이터 키 수입니다. */
+    public static final int MAX_KEYS = 64;
+
+    private final DashboardService dashboardService;
+
+    /** 현재 연결된 구독자별 구독 상태입니다. */
+    private final Map<SseEmitter, Subscription> subscribers = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * DashboardService는 초기화(@PostConstruct) 중에 첫 갱신 이벤트를 발행하므로,
+     * 순환 생성을 피하기 위해 지연 프록시로 주입받습니다.
+     */
+    public DashboardPushService(@Lazy DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * 데이터 키 목록을 구독하는 SSE 연결을 생성하고 현재 데이터를 즉시 보냅니다.
+     * 구독자로 먼저 등록한 뒤 세대를 읽으므로, 그 사이에 발행된 세대도 첫 메시지나 이후 변경분으로 반드시 전달됩니다.
+     * @param dataKeys 구독할 데이터 키 목록, 최대 {@link #MAX_KEYS}개
+     * @return 생성된 SseEmitter
+     * @throws IllegalArgumentException 키가 {@link #MAX_KEYS}개를 넘는 경우
+     */
+    public SseEmitter subscribe(List<String> dataKeys) {
+        if (dataKeys.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("한 번에 구독할 수 있는 데이터 키는 최대 " + MAX_KEYS + "개입니다.");
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT);
+        Subscription subscription = new Subscription(emitter, new LinkedHashSet<>(dataKeys));
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.put(emitter, subscription);
+
+        subscription.lock.lock();
+        try {
+            DashboardGeneration generation = dashboardService.getGeneration();
+            String message = render(generation, subscription.keys);
+            subscription.pending(generation, subscription.keys, message);
+            subscription.lastGeneration = generation.number();
+        } catch (IOException e) {
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        } finally {
+            subscription.lock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * 캐시 갱신 이벤트를 받아 내용이 바뀐 키를 구독 중인 클라이언트에게만 변경분을 보냅니다.
+     * 캐시에 없는 순위 키는 순위 인덱스가 교체되면 바뀐 것으로 간주합니다.
+     * 보낼 데이터는 현재 세대가 아니라 이벤트의 세대에서 읽으므로, 알린 변경 키와 보낸 내용이 항상 일치합니다.
+     * @param event 캐시 갱신 이벤트
+     */
+    @EventListener
+    public void onCacheUpdated(DashboardCacheUpdatedEvent event) {
+        DashboardGeneration generation = event.generation();
+        Map<Set<String>, String> messages = new HashMap<>();
+        int notified = 0;
+        for (Subscription subscription : subscribers.values()) {
+            Set<String> changed = new LinkedHashSet<>();
+            for (String key : subscription.keys) {
+                boolean onDemandRank = event.rankIndexChanged() && key.startsWith("rank_") && !generation.entries().containsKey(key);
+                if (event.changedKeys().contains(key) || onDemandRank) {
+                    changed.add(key);
+                }
+            }
+            if (changed.isEmpty()) {
+                continue;
+            }
+            if (subscription.offer(generation, changed, () -> messages.computeIfAbsent(changed, keys -> renderQuietly(generation, keys)))) {
+                notified++;
+            }
+        }
+        log.info("캐시 변경 {}건을 구독자 {}명에게 전송했습니다. (전체 구독자: {})",
+                event.changedKeys().size(), notified, subscribers.size());
+    }
+
+    /**
+     * 프록시나 로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트를 보냅니다.
+     * 보낼 메시지가 이미 기다리고 있는 구독자에게는 보내지 않습니다.
+     */
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        subscribers.values().forEach(Subscription::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+        sender.shutdown();
+    }
+
+    private static SseEmitter.SseEventBuilder dataEvent(DashboardGeneration generation, String message) {
+        return SseEmitter.event().id(Long.toString(generation.number())).name("data").data(message, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * 세대에서 키 목록의 데이터를 읽어 dynamic-data 응답과 같은 {"키": 데이터, ...} 형식의 JSON 문자열로 만듭니다.
+     */
+    private String render(DashboardGeneration generation, Set<String> keys) throws IOException {
+        Map<String, PreRenderedJson> fragments = dashboardService.getDynamicJson(generation, List.copyOf(keys));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dashboardService.writeDynamicData(fragments, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String renderQuietly(DashboardGeneration generation, Set<String> keys) {
+        try {
+            return render(generation, keys);
+        } catch (IOException e) {
+            log.error("구독 데이터 생성 중 오류 발생: {}", keys, e);
+            return null;
+        }
+    }
+
+    /**
+     * 한 구독자의 구독 키와 보낼 메시지입니다.
+     * 보낼 데이터 메시지는 최대 하나만 보관합니다. 이전 메시지를 아직 보내지 못했는데 새 세대가 오면
+     * 두 변경의 키를 합치고 새 세대에서 다시 만들어 보내므로, 느린 연결에도 메시지가 쌓이지 않습니다.
+     * 가상 스레드 하나가 차례로 보내며, 보낼 것이 없으면 스레드를 반납합니다.
+     * lastGeneration은 이 구독자에게 보내기로 한 마지막 세대 번호이며, 첫 메시지(전체 데이터)를 넣기 전에는 -1입니다.
+     * 모든 필드는 lock을 잡고 읽고 씁니다. 전송 중에는 lock을 잡지 않으므로 느린 연결이 갱신 스레드를 막지 않습니다.
+     */
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final Set<String> keys;
+        private final ReentrantLock lock = new ReentrantLock();
+        private DashboardGeneration pendingGeneration;
+        private Set<String> pendingKeys;
+        private String pendingMessage;
+        private boolean pendingHeartbeat;
+        private boolean draining;
+        private long lastGeneration = -1;
+
+        private Subscription(SseEmitter emitter, Set<String> keys) {
+            this.emitter = emitter;
+            this.keys = keys;
+        }
+
+        /**
+         * 세대의 변경분을 보낼 메시지로 넣습니다.
+         * 첫 메시지를 아직 넣지 않았으면 구독 시 읽는 세대가 이미 이 세대 이후이므로 넣지 않고,
+         * 이미 보내기로 한 세대보다 오래된 세대도 넣지 않습니다.
+         * @param message 이 변경만 담은 메시지, 기다리는 메시지가 없을 때만 사용합니다.
+         * @return 넣었으면 true
+         */
+        boolean offer(DashboardGeneration generation, Set<String> changed, Supplier<String> message) {
+            lock.lock();
+            try {
+                if (lastGeneration < 0 || generation.number() <= lastGeneration) {
+                    return false;
+                }
+                if (pendingGeneration == null) {
+                    String rendered = message.get();
+                    if (rendered == null) {
+                        return false;
+                    }
+                    pending(generation, changed, rendered);
+                } else {
+                    Set<String> merged = new LinkedHashSet<>(pendingKeys);
+                    merged.addAll(changed);
+                    pending(generation, merged, null);
+                }
+                lastGeneration = generation.number();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 보낼 데이터 메시지를 지정합니다. lock을 잡은 상태에서 호출해야 합니다.
+         * @param message 미리 만든 메시지, null이면 보낼 때 세대에서 만듭니다.
+         */
+        void pending(DashboardGeneration generation, Set<String> keys, String message) {
+            pendingGeneration = generation;
+            pendingKeys = keys;
+            pendingMessage = message;
+            startDrain();
+        }
+
+        void heartbeat() {
+            lock.lock();
+            try {
+                if (pendingGeneration == null && !pendingHeartbeat) {
+                    pendingHeartbeat = true;
+                    startDrain();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void startDrain() {
+            if (!draining) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                DashboardGeneration generation;
+                Set<String> dataKeys;
+                String message;
+                boolean heartbeat;
+                lock.lock();
+                try {
+                    generation = pendingGeneration;
+                    dataKeys = pendingKeys;
+                    message = pendingMessage;
+                    heartbeat = pendingHeartbeat;
+                    pendingGeneration = null;
+                    pendingKeys = null;
+                    pendingMessage = null;
+                    pendingHeartbeat = false;
+                    if (generation == null && !heartbeat) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    if (generation != null) {
+                        String data = message != null ? message : renderQuietly(generation, dataKeys);
+                        if (data != null) {
+                            emitter.send(dataEvent(generation, data));
+                        }
+                    } else {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(emitter);
+                    emitter.completeWithError(e);
+                    lock.lock();
+                    try {
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
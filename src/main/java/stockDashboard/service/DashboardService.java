@@ -1,20 +1,32 @@
 package stockDashboard.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -22,13 +34,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import stockDashboard.dto.IndexQuoteDto;
 import stockDashboard.dto.MarketDataDto;
+import stockDashboard.dto.PreRenderedJson;
 import stockDashboard.dto.RankItemDto;
 import stockDashboard.dto.TreemapDto;
 import stockDashboard.dto.TreemapNodeDto;
 import stockDashboard.dto.TreemapSectorDto;
+import stockDashboard.model.DashboardGeneration;
+import stockDashboard.model.MarketRankIndex;
+import stockDashboard.model.MarketSnapshot;
+import stockDashboard.model.MarketSnapshotCodec;
 import stockDashboard.repository.KrxRepository;
-import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * 대시보드에 필요한 각종 데이터를 조회, 가공 및 캐싱하는 서비스입니다.
@@ -39,112 +56,366 @@ import com.fasterxml.jackson.databind.JsonNode;
 @Service
 public class DashboardService {
 	private final KrxRepository krxRepository;
+	private final IndexQuoteClient indexQuoteClient;
 	private final ObjectMapper objectMapper; // JSON 파싱을 위해 추가
-
-    public DashboardService(KrxRepository krxRepository, ObjectMapper objectMapper) {
+	private final ApplicationEventPublisher eventPublisher;
+	private final MarketSnapshotStore snapshotStore;
+	private final boolean incrementalRefresh;
+	private final Duration deltaOverlap;
+
+    public DashboardService(KrxRepository krxRepository, IndexQuoteClient indexQuoteClient, ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher, MarketSnapshotStore snapshotStore,
+                            @Value("${dashboard.refresh.incremental:true}") boolean incrementalRefresh,
+                            @Value("${dashboard.refresh.delta-overlap-minutes:10}") long deltaOverlapMinutes) {
         this.krxRepository = krxRepository;
+        this.indexQuoteClient = indexQuoteClient;
         this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.snapshotStore = snapshotStore;
+        this.incrementalRefresh = incrementalRefresh;
+        this.deltaOverlap = Duration.ofMinutes(deltaOverlapMinutes);
+    }
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 트리맵 캐시를 구성하는 시장 이름 목록입니다. */
+    private static final List<String> TREEMAP_NAMES = List.of("KOSPI", "KOSDAQ", "ALL", "ETF");
+
+    /** 섹터 정보가 없는 종목이 묶이는 기본 섹터명입니다. */
+    private static final String DEFAULT_SECTOR = "기타 섹터";
+
+    /** 순위 캐시에 저장하는 최대 항목 수입니다. */
+    private static final int RANK_LIMIT = 100;
+
+    /** 등락률 상위/하위 결합 순위 키의 접미사입니다. */
+    private static final String TOP_AND_BOTTOM_SUFFIX = "_CHANGE_RATE_TOP_AND_BOTTOM";
+
+    /** 이 크기(바이트) 이상인 JSON만 gzip 압축본을 함께 저장합니다. */
+    private static final int GZIP_THRESHOLD = 8 * 1024;
+
+    /**
+     * 미리 계산해 캐시에 저장하는 순위 데이터의 조건입니다.
+     * 순위 인덱스에서 잘라 내므로, 같은 조건을 인덱스로 직접 조회한 결과와 같습니다.
+     * @param market 시장 구분 (KOSPI/KOSDAQ에는 주식만 속함)
+     * @param metric 정렬 기준 지표
+     * @param ascending true이면 값이 작은 순서
+     */
+    private record RankSpec(String market, MarketRankIndex.Metric metric, boolean ascending) {
+        String cacheKey() {
+            return String.format("rank_%s_%s_%s", market, metric.name(), ascending ? "ASC" : "DESC");
+        }
     }
+
+    private static final List<RankSpec> RANK_SPECS = List.of(
+            new RankSpec("KOSPI", MarketRankIndex.Metric.MARKET_CAP, false),
+            new RankSpec("KOSDAQ", MarketRankIndex.Metric.MARKET_CAP, false),
+            new RankSpec("ALL", MarketRankIndex.Metric.CHANGE_RATE, false),
+            new RankSpec("ALL", MarketRankIndex.Metric.CHANGE_RATE, true),
+            new RankSpec("ALL", MarketRankIndex.Metric.VOLUME, false),
+            new RankSpec("ALL", MarketRankIndex.Metric.TRADE_VALUE, false)
+    );
 	
 	/**
-     * 대시보드 데이터를 저장하는 인메모리 캐시입니다.
-     * 스레드에 안전한 ConcurrentHashMap을 사용하여 동시성 문제를 방지합니다.
-     * 키(String)는 데이터의 종류를 나타내고, 값(Object)은 실제 데이터입니다.
+     * 현재 발행된 대시보드 데이터 세대입니다.
+     * 갱신이 끝나면 새 세대로 참조를 한 번에 교체하므로, 읽는 쪽은 잠금 없이 세대를 한 번만 읽어 사용하면
+     * 항상 같은 갱신에서 만들어진 트리맵, 순위, 지수 데이터를 함께 보게 됩니다.
+     */
+    private volatile DashboardGeneration generation = DashboardGeneration.empty();
+
+    // 아래 필드는 다음 세대를 만드는 작업 상태로, updateMarketDataCache의 잠금 안에서만 접근합니다.
+
+    /**
+     * 다음 세대에 담을 캐시 항목입니다.
+     * 키(String)는 데이터의 종류를 나타내고, 값은 실제 데이터와 갱신 시점에 미리 직렬화한 JSON 바이트입니다.
+     * 마지막으로 발행한 세대와 같은 내용을 유지하다가 갱신에서 바뀐 키만 덮어씁니다.
+     */
+    private final Map<String, PreRenderedJson> stagedEntries = new HashMap<>();
+
+    /**
+     * 다음 세대의 전체 시장 데이터 열 단위 스냅샷입니다.
+     * 모든 순위와 트리맵 생성은 이 스냅샷의 기본형 배열을 직접 읽습니다.
+     * 증분 갱신 시에는 기존 스냅샷을 복사해 변경된 종목의 행만 덮어쓴 새 스냅샷으로 교체합니다.
+     */
+    private MarketSnapshot stagedSnapshot = MarketSnapshot.empty();
+
+    /** 다음 세대의 스냅샷에 대한 지표별 정렬 순열입니다. 스냅샷이 교체될 때마다 다시 만듭니다. */
+    private MarketRankIndex stagedRankIndex = MarketRankIndex.empty();
+
+    /**
+     * 트리맵 이름별, 섹터별 종목 노드 인덱스입니다.
+     * 증분 갱신 시 변경된 종목이 속한 섹터만 다시 만들기 위해 유지합니다.
      */
-    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<String, TreemapNodeDto>>> treemapNodes = new HashMap<>();
+
+    /** 트리맵 이름별로 마지막으로 만들어진 섹터 DTO입니다. */
+    private final Map<String, Map<String, TreemapSectorDto>> treemapSectors = new HashMap<>();
+
+    /** 현재 상태의 데이터 기준일입니다. */
+    private LocalDate liveMetricDate;
+
+    /** 현재 상태에 반영된 마지막 수집 시각(collected_at)입니다. */
+    private LocalDateTime watermark;
+
+    /** 진행 중인 캐시 갱신에서 내용이 바뀐 키 목록입니다. 갱신이 끝나면 이벤트로 발행하고 비웁니다. */
+    private final Set<String> changedKeys = new HashSet<>();
 
     /**
      * 애플리케이션 시작 시 캐시를 초기화합니다.
+     * 로컬에 저장된 스냅샷이 있으면 그것으로 첫 세대를 바로 발행하고, 최신 데이터 조회는 백그라운드에서 진행합니다.
+     * 저장된 스냅샷의 기준일이 최신 기준일과 같으면 백그라운드 갱신은 그 이후의 변경분만 조회합니다.
+     * 저장된 스냅샷이 없으면 DB 조회를 마칠 때까지 기다립니다.
      */
     @PostConstruct
     public void initCache() {
+        if (restoreFromStore()) {
+            Thread.ofVirtual().name("dashboard-warm-refresh").start(this::updateMarketDataCache);
+            return;
+        }
         updateMarketDataCache();
     }
 
     /**
-     * 5분마다 실행되어 시장 데이터 캐시를 주기적으로 업데이트합니다.
+     * 로컬에 저장된 스냅샷과 지수 시세로 캐시를 구성하고 첫 세대를 발행합니다.
+     * 지수 시세는 저장 당시의 값이므로 오래된 값으로 표시됩니다.
+     * @return 복원했으면 true
+     */
+    private synchronized boolean restoreFromStore() {
+        Optional<MarketSnapshotCodec.Contents> stored = snapshotStore.load();
+        if (stored.isEmpty() || stored.get().snapshot().isEmpty()) {
+            return false;
+        }
+        rebuildFromFullSnapshot(stored.get().snapshot());
+        stored.get().indexQuotes().forEach(this::putCache);
+        publish(false);
+        return true;
+    }
+
+    /**
+     * 시장 데이터 캐시를 업데이트합니다. 주기적인 실행은 {@link MarketRefreshScheduler}가 장 운영 시간과
+     * 새 수집분 적재 여부에 맞추어 호출합니다.
      * 주식/ETF 데이터, 순위 데이터, 코스피/코스닥 지수 정보를 조회하여 캐시에 저장합니다.
+     * 같은 날짜의 데이터가 이미 적재되어 있으면 마지막 수집 시각 이후의 변경분만 반영합니다.
+     * 지수 정보는 시세 갱신과 동시에 요청하며, 요청마다 제한 시간이 있으므로 지수 조회가 늦어져도
+     * 시세/트리맵 갱신을 막지 않습니다. 지수 조회에 실패하면 마지막으로 성공한 값을 오래된 값으로 표시해 저장합니다.
+     * 갱신 결과는 하나의 {@link DashboardGeneration}으로 묶어 한 번에 교체하며,
+     * 내용이 바뀐 키가 있으면 {@link DashboardCacheUpdatedEvent}를 발행합니다.
      */
-    @Scheduled(fixedRate = 300000) // 5분
-    public void updateMarketDataCache() {
+    public synchronized void updateMarketDataCache() {
         log.info("시장 데이터 캐시 업데이트를 시작합니다...");
+        // 코스피/코스닥 지수 정보는 시세 갱신과 동시에 조회 (실패로 끝나지 않음)
+        CompletableFuture<Map<String, IndexQuoteDto>> indexQuotes = indexQuoteClient.fetchAll();
         try {
-            // 1. 주식 및 ETF 데이터 조회 및 캐싱
-            List<MarketDataDto> liveMarketData = krxRepository.getLiveMarketData();
-
-            List<MarketDataDto> stockData = liveMarketData.stream()
-            	    .filter(d -> d.marketType() != null && d.sectorName() != null).toList();
-        	List<MarketDataDto> etfData = liveMarketData.stream()
-            	    .filter(d -> d.marketType() == null || d.sectorName() == null).toList();
-
-            cache.put("treemap_KOSPI", transformToTreemapDto(stockData, "KOSPI"));
-            cache.put("treemap_KOSDAQ", transformToTreemapDto(stockData, "KOSDAQ"));
-            cache.put("treemap_ALL", transformToTreemapDto(stockData, "ALL"));
-            cache.put("treemap_ETF", transformToTreemapDto(etfData, "ETF"));
-
-            cache.put("rank_KOSPI_MARKET_CAP_DESC", createRankData(stockData, "KOSPI", "MARKET_CAP", "DESC", 100));
-            cache.put("rank_KOSDAQ_MARKET_CAP_DESC", createRankData(stockData, "KOSDAQ", "MARKET_CAP", "DESC", 100));
-            cache.put("rank_ALL_CHANGE_RATE_DESC", createRankData(liveMarketData, "ALL", "CHANGE_RATE", "DESC", 100));
-            cache.put("rank_ALL_CHANGE_RATE_ASC", createRankData(liveMarketData, "ALL", "CHANGE_RATE", "ASC", 100));
-            cache.put("rank_ALL_VOLUME_DESC", createRankData(liveMarketData, "ALL", "VOLUME", "DESC", 100));
-            cache.put("rank_ALL_TRADE_VALUE_DESC", createRankData(liveMarketData, "ALL", "TRADE_VALUE", "DESC", 100));
-            cache.put("rank_ALL_CHANGE_RATE_TOP_AND_BOTTOM", createTopAndBottomRankData(liveMarketData, "ALL", 100));
-
-            // 2. 코스피/코스닥 지수 정보 조회 및 캐싱
-            fetchIndexData("02").ifPresent(data -> cache.put("index_KOSPI", data));
-            fetchIndexData("03").ifPresent(data -> cache.put("index_KOSDAQ", data));
-
+            // 주식 및 ETF 데이터 조회 및 캐싱
+            refreshLiveMarketData();
             log.info("시장 데이터 캐시 업데이트 완료.");
         } catch (Exception e) {
             log.error("시장 데이터 캐시 업데이트 중 오류 발생", e);
+        } finally {
+            indexQuotes.join().forEach(this::putCache);
+            publish(true);
         }
     }
 
     /**
-     * 야후 파이낸스 API를 통해 코스피 또는 코스닥 지수 정보를 가져옵니다.
-     * @param symbol 지수 심볼 ("^KS11" for KOSPI, "^KQ11" for KOSDAQ)
-     * @return 조회된 지수 정보를 담은 Map 객체
+     * 이번 갱신에서 바뀐 내용이 있으면 작업 상태로 새 세대를 만들어 현재 세대를 교체하고,
+     * 구독자에게 알리는 이벤트를 발행합니다. 바뀐 내용이 없으면 현재 세대(번호와 ETag)를 그대로 유지합니다.
+     * @param persist true이면 발행한 스냅샷과 지수 시세를 다음 재시작을 위해 로컬 파일에 저장합니다.
      */
-    private java.util.Optional<Map<String, String>> fetchIndexData(String idxIndMidclssCd) {
-    	String symbol = "02".equals(idxIndMidclssCd) ? "^KS11" : "^KQ11";
-    	String encodedSymbol = symbol.replace("^", "%5E");
-        try {
-            // 야후 파이낸스 v8 API (가장 안정적입니다)
-            String url = "https://query1.finance.yahoo.com/v8/finance/chart/" + encodedSymbol;
-            log.info("Requesting URL: {}", url);
-            
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Accept", "application/json")
-                    .header("User-Agent", "Mozilla/5.0") // 차단 방지를 위한 기본 헤더
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                JsonNode root = objectMapper.readTree(response.body());
-                JsonNode meta = root.path("chart").path("result").get(0).path("meta");
-
-                double currentPrice = meta.path("regularMarketPrice").asDouble();
-                double previousClose = meta.path("previousClose").asDouble();
-                double change = currentPrice - previousClose;
-                double changeRate = (change / previousClose) * 100;
-
-                Map<String, String> resultMap = new java.util.HashMap<>();
-                // 기존 프론트엔드(TextWidget) 변수명에 맞춰 데이터 맵핑
-                resultMap.put("CLSPRC_IDX", String.format("%.2f", currentPrice));      // 현재가
-                resultMap.put("CMPPREVDD_IDX", String.format("%.2f", change));      // 전일대비
-                resultMap.put("FLUC_RT", String.format("%.2f", changeRate));        // 등락률
-
-                log.info("Successfully fetched index data for: {}", symbol);
-                return java.util.Optional.of(resultMap);
+    private void publish(boolean persist) {
+        DashboardGeneration current = generation;
+        boolean rankIndexChanged = stagedRankIndex != current.rankIndex();
+        if (changedKeys.isEmpty() && !rankIndexChanged) {
+            return;
+        }
+        DashboardGeneration next = current.next(LocalDateTime.now(KST), stagedSnapshot, stagedRankIndex, stagedEntries);
+        generation = next;
+        DashboardCacheUpdatedEvent event = new DashboardCacheUpdatedEvent(next, Set.copyOf(changedKeys), rankIndexChanged);
+        changedKeys.clear();
+        log.info("대시보드 데이터 {}세대를 발행했습니다. (변경 키 {}건, 기준 수집 시각: {})",
+                next.number(), event.changedKeys().size(), next.collectedAt());
+        eventPublisher.publishEvent(event);
+        if (persist && !next.snapshot().isEmpty()) {
+            snapshotStore.save(new MarketSnapshotCodec.Contents(next.builtAt(), next.snapshot(), indexQuotesOf(next)));
+        }
+    }
+
+    /**
+     * 세대의 캐시 항목 중 지수 시세만 골라냅니다.
+     */
+    private static Map<String, IndexQuoteDto> indexQuotesOf(DashboardGeneration g) {
+        Map<String, IndexQuoteDto> quotes = new LinkedHashMap<>();
+        g.entries().forEach((key, entry) -> {
+            if (entry.value() instanceof IndexQuoteDto quote) {
+                quotes.put(key, quote);
             }
-        } catch (Exception e) {
-            log.error("Error while fetching index data for symbol: {}", symbol, e);
+        });
+        return quotes;
+    }
+
+    /**
+     * 시세 데이터를 갱신합니다.
+     * 날짜가 바뀌었거나 아직 적재된 상태가 없으면 전체 데이터를 다시 조회하고,
+     * 그렇지 않으면 watermark보다 겹침 구간(deltaOverlap)만큼 앞선 시각 이후에 수집된 행을 조회하여 병합합니다.
+     * 주식과 ETF 수집 작업은 각자 수집 시각을 기록하고 따로 커밋하므로, 수집 시각이 더 이른 행이 나중에 보일 수 있습니다.
+     * 겹침 구간을 다시 읽어 이런 행을 놓치지 않으며, 이미 반영된 행(같은 수집 시각)은 병합 대상에서 제외합니다.
+     */
+    private void refreshLiveMarketData() {
+        LocalDate latestDate = krxRepository.getLatestMetricDate();
+        boolean canApplyDelta = incrementalRefresh && watermark != null
+                && latestDate != null && latestDate.equals(liveMetricDate);
+
+        if (!canApplyDelta) {
+            rebuildFromFullSnapshot(krxRepository.getLiveMarketSnapshot());
+            return;
+        }
+
+        List<MarketDataDto> delta = krxRepository.getLiveMarketDataSince(liveMetricDate, watermark.minus(deltaOverlap))
+                .stream()
+                .filter(this::isNotApplied)
+                .toList();
+        if (delta.isEmpty()) {
+            log.info("마지막 수집 시각({}) 이후 변경된 시세가 없어 재계산을 건너뜁니다.", watermark);
+            return;
+        }
+        applyDelta(delta);
+    }
+
+    /**
+     * 현재 스냅샷에 같은 수집 시각의 행이 아직 반영되지 않은 데이터인지 확인합니다.
+     * 스냅샷은 수집 시각을 밀리초 단위로 보관하므로 비교 전에 밀리초로 자릅니다.
+     */
+    private boolean isNotApplied(MarketDataDto d) {
+        int row = stagedSnapshot.indexOf(d.isuSrtCd());
+        if (row < 0 || d.collectedAt() == null) {
+            return true;
+        }
+        return !d.collectedAt().truncatedTo(ChronoUnit.MILLIS).equals(stagedSnapshot.collectedAt(row));
+    }
+
+    /**
+     * 전체 시장 데이터로 스냅샷과 트리맵/순위 캐시를 처음부터 다시 구성합니다.
+     * @param next 가장 최근 날짜의 전체 시장 데이터 스냅샷
+     */
+    private void rebuildFromFullSnapshot(MarketSnapshot next) {
+        treemapNodes.clear();
+        treemapSectors.clear();
+        for (int row = 0; row < next.size(); row++) {
+            addTreemapNode(next, row, null);
+        }
+
+        stagedSnapshot = next;
+        stagedRankIndex = MarketRankIndex.build(next);
+        liveMetricDate = next.isEmpty() ? null : next.metricDate(0);
+        watermark = next.maxCollectedAt();
+
+        for (String treemapName : TREEMAP_NAMES) {
+            Set<String> sectors = treemapNodes.getOrDefault(treemapName, Map.of()).keySet();
+            putCache("treemap_" + treemapName, rebuildTreemap(treemapName, sectors));
+        }
+        rebuildRankData(null);
+        log.info("전체 시장 데이터 {}건으로 캐시를 재구성했습니다. (기준 수집 시각: {})", next.size(), watermark);
+    }
+
+    /**
+     * 변경된 종목 데이터만 기존 스냅샷에 병합하고, 영향을 받은 섹터와 순위만 다시 계산합니다.
+     * @param delta watermark 이후 수집된 종목별 최신 데이터
+     */
+    private void applyDelta(List<MarketDataDto> delta) {
+        Map<String, Set<String>> dirtySectors = new HashMap<>();
+        Set<String> touchedMarkets = new HashSet<>();
+
+        MarketSnapshot previous = stagedSnapshot;
+        MarketSnapshot.Builder builder = previous.toBuilder();
+        for (MarketDataDto d : delta) {
+            int oldRow = previous.indexOf(d.isuSrtCd());
+            if (oldRow >= 0) {
+                removeTreemapNode(previous, oldRow, dirtySectors);
+                touchedMarkets.add(marketOf(previous, oldRow));
+            }
+            builder.add(d);
+        }
+
+        MarketSnapshot next = builder.build();
+        for (MarketDataDto d : delta) {
+            int row = next.indexOf(d.isuSrtCd());
+            addTreemapNode(next, row, dirtySectors);
+            touchedMarkets.add(marketOf(next, row));
+        }
+
+        stagedSnapshot = next;
+        stagedRankIndex = MarketRankIndex.build(next);
+        watermark = next.maxCollectedAt();
+
+        dirtySectors.forEach((treemapName, sectors) ->
+                putCache("treemap_" + treemapName, rebuildTreemap(treemapName, sectors)));
+        rebuildRankData(touchedMarkets);
+        log.info("변경된 종목 {}건을 반영했습니다. (재계산 섹터: {}, 기준 수집 시각: {})",
+                delta.size(), dirtySectors.values().stream().mapToInt(Set::size).sum(), watermark);
+    }
+
+    /**
+     * 순위 캐시를 새 순위 인덱스에서 다시 잘라 냅니다.
+     * @param touchedMarkets 변경이 발생한 시장 목록, null이면 모든 순위를 다시 계산합니다.
+     */
+    private void rebuildRankData(Set<String> touchedMarkets) {
+        MarketRankIndex index = stagedRankIndex;
+        for (RankSpec spec : RANK_SPECS) {
+            boolean affected = touchedMarkets == null || "ALL".equals(spec.market()) || touchedMarkets.contains(spec.market());
+            if (affected) {
+                putCache(spec.cacheKey(), rankFromIndex(index, spec.market(), spec.metric(), spec.ascending(), RANK_LIMIT));
+            }
+        }
+        putCache("rank_ALL_CHANGE_RATE_TOP_AND_BOTTOM", topAndBottomFromIndex(index, "ALL", RANK_LIMIT));
+    }
+
+    private String marketOf(MarketSnapshot s, int row) {
+        return s.isStock(row) ? s.market(row).toUpperCase() : "ETF";
+    }
+
+    /**
+     * 종목이 표시되는 트리맵 이름 목록을 반환합니다.
+     * 주식은 소속 시장과 통합(ALL) 트리맵에, 나머지는 ETF 트리맵에 표시됩니다.
+     */
+    private List<String> treemapNamesOf(MarketSnapshot s, int row) {
+        if (!s.isStock(row)) {
+            return List.of("ETF");
+        }
+        String market = s.market(row).toUpperCase();
+        return "KOSPI".equals(market) || "KOSDAQ".equals(market) ? List.of(market, "ALL") : List.of("ALL");
+    }
+
+    private String sectorOf(MarketSnapshot s, int row) {
+        return s.sector(row) != null ? s.sector(row) : DEFAULT_SECTOR;
+    }
+
+    private void addTreemapNode(MarketSnapshot s, int row, Map<String, Set<String>> dirtySectors) {
+        TreemapNodeDto node = new TreemapNodeDto(
+                s.symbol(row),
+                s.name(row) != null ? s.name(row) : "이름없음",
+                MarketSnapshot.orElse(s.mktcap(row), 0L),
+                MarketSnapshot.orElse(s.flucRate(row), 0.0),
+                MarketSnapshot.orElse(s.close(row), 0L)
+        );
+        String sector = sectorOf(s, row);
+        for (String treemapName : treemapNamesOf(s, row)) {
+            treemapNodes.computeIfAbsent(treemapName, k -> new HashMap<>())
+                    .computeIfAbsent(sector, k -> new LinkedHashMap<>())
+                    .put(s.symbol(row), node);
+            if (dirtySectors != null) {
+                dirtySectors.computeIfAbsent(treemapName, k -> new HashSet<>()).add(sector);
+            }
+        }
+    }
+
+    private void removeTreemapNode(MarketSnapshot s, int row, Map<String, Set<String>> dirtySectors) {
+        String sector = sectorOf(s, row);
+        for (String treemapName : treemapNamesOf(s, row)) {
+            Map<String, TreemapNodeDto> nodes = treemapNodes.getOrDefault(treemapName, Map.of()).get(sector);
+            if (nodes != null) {
+                nodes.remove(s.symbol(row));
+            }
+            dirtySectors.computeIfAbsent(treemapName, k -> new HashSet<>()).add(sector);
         }
-        return java.util.Optional.empty();
     }
 
     /**
@@ -155,48 +426,82 @@ public class DashboardService {
     public TreemapDto getTreemapData(String marketType) {
         String cacheKey = "treemap_" + marketType.toUpperCase();
         log.info("캐시에서 {} 키로 트리맵 데이터를 조회합니다.", cacheKey);
-        return (TreemapDto) cache.get(cacheKey);
+        PreRenderedJson entry = generation.get(cacheKey);
+        return entry != null ? (TreemapDto) entry.value() : null;
+    }
+
+    /**
+     * 현재 반영된 전체 시장 데이터 스냅샷을 반환합니다.
+     * @return 시장 스냅샷 (아직 적재 전이면 빈 스냅샷)
+     */
+    public MarketSnapshot getSnapshot() {
+        return generation.snapshot();
+    }
+
+    /**
+     * 현재 발행된 대시보드 데이터 세대를 반환합니다.
+     * 여러 데이터를 함께 응답할 때는 세대를 한 번만 읽어 사용해야 서로 다른 갱신의 데이터가 섞이지 않습니다.
+     * @return 현재 세대 (아직 적재 전이면 빈 세대)
+     */
+    public DashboardGeneration getGeneration() {
+        return generation;
+    }
+
+    /**
+     * 캐시에서 미리 직렬화된 트리맵 JSON을 조회합니다.
+     * @param marketType 조회할 시장 타입 (e.g., "KOSPI", "KOSDAQ")
+     * @return 미리 직렬화된 트리맵 데이터, 없으면 null
+     */
+    public PreRenderedJson getTreemapJson(String marketType) {
+        return generation.get("treemap_" + marketType.toUpperCase());
     }
 
     /**
-     * 캐시에서 순위 데이터를 조회합니다.
-     * @param by 정렬 기준 (e.g., "MARKET_CAP")
-     * @param market 시장 구분 (e.g., "KOSPI")
+     * 순위 인덱스에서 순위 데이터를 조회합니다.
+     * 미리 계산된 캐시 키에 없는 조합(e.g., KOSDAQ 거래량, KOSPI 하락률)도 데이터베이스 조회 없이
+     * 현재 스냅샷의 정렬 순열에서 바로 응답합니다.
+     * @param by 정렬 기준 (MARKET_CAP, CHANGE_RATE, VOLUME, TRADE_VALUE, INTRADAY_RANGE)
+     * @param market 시장 구분 (ALL, KOSPI, KOSDAQ, ETF)
      * @param order 정렬 순서 (e.g., "DESC")
      * @param limit 반환할 최대 개수
-     * @return 캐시된 RankItemDto 리스트
+     * @return 정렬된 RankItemDto 리스트, 알 수 없는 기준이면 빈 리스트
      */
-    @SuppressWarnings("unchecked")
     public List<RankItemDto> getRankData(String by, String market, String order, int limit) {
-        String cacheKey = String.format("rank_%s_%s_%s", market.toUpperCase(), by.toUpperCase(), order.toUpperCase());
-        log.info("캐시에서 {} 키로 랭킹 데이터를 조회합니다.", cacheKey);
-        List<RankItemDto> cachedData = (List<RankItemDto>) cache.get(cacheKey);
-        if (cachedData == null) {
-            return List.of();
-        }
-        return cachedData.stream().limit(limit).toList();
+        log.info("순위 인덱스에서 {}/{}/{} 순위 데이터를 조회합니다.", market, by, order);
+        return MarketRankIndex.Metric.parse(by)
+                .map(metric -> rankFromIndex(generation.rankIndex(), market, metric, "ASC".equalsIgnoreCase(order), limit))
+                .orElse(List.of());
+    }
+
+    /**
+     * 순위 데이터를 조회하여 JSON 바이트로 직렬화합니다.
+     * ETag는 직렬화한 내용의 해시이므로 재시작 후나 다른 인스턴스에서도 같은 순위면 같은 값이고,
+     * 지수 시세처럼 순위와 무관한 데이터만 바뀐 경우에도 유지됩니다.
+     * @param by 정렬 기준 (MARKET_CAP, CHANGE_RATE, VOLUME, TRADE_VALUE, INTRADAY_RANGE)
+     * @param market 시장 구분 (ALL, KOSPI, KOSDAQ, ETF)
+     * @param order 정렬 순서 (e.g., "DESC")
+     * @param limit 반환할 최대 개수
+     * @return 직렬화된 순위 데이터, 직렬화에 실패하면 null
+     */
+    public PreRenderedJson getRankJson(String by, String market, String order, int limit) {
+        return render("rank", getRankData(by, market, order, limit), false);
     }
     
     /**
-     * 캐시에서 등락률 상위/하위 순위 데이터를 조회합니다.
+     * 등락률 상위/하위 순위 데이터를 조회합니다.
      * @param market 시장 구분 (e.g., "ALL")
      * @param limit 반환할 최대 개수
      * @return 등락률 상위/하위 RankItemDto 리스트
      */
-    @SuppressWarnings("unchecked")
     public List<RankItemDto> getTopAndBottomRankData(String market, int limit) {
-        String cacheKey = String.format("rank_%s_CHANGE_RATE_TOP_AND_BOTTOM", market.toUpperCase());
-        log.info("캐시에서 {} 키로 Top & Bottom 랭킹 데이터를 조회합니다.", cacheKey);
-        List<RankItemDto> cachedData = (List<RankItemDto>) cache.get(cacheKey);
-        if (cachedData == null) {
-            return List.of();
-        }
+        log.info("순위 인덱스에서 {} 시장의 Top & Bottom 랭킹 데이터를 조회합니다.", market);
+        List<RankItemDto> rankData = topAndBottomFromIndex(generation.rankIndex(), market, RANK_LIMIT);
         
         int halfLimit = limit / 2;
-        List<RankItemDto> top = cachedData.stream()
+        List<RankItemDto> top = rankData.stream()
                                 .filter(d -> d.changeRate() >= 0)
                                 .limit(halfLimit).toList();
-        List<RankItemDto> bottom = cachedData.stream()
+        List<RankItemDto> bottom = rankData.stream()
                                  .filter(d -> d.changeRate() < 0)
                                  .sorted(java.util.Comparator.comparing(RankItemDto::changeRate))
                                  .limit(halfLimit)
@@ -207,109 +512,100 @@ public class DashboardService {
     }
 
     /**
-     * 실시간 시장 데이터 리스트를 기반으로 정렬된 순위 데이터를 생성합니다.
-     * @param flatData 필터링 및 정렬할 전체 시장 데이터
-     * @param market 시장 구분
-     * @param by 정렬 기준
-     * @param order 정렬 순서
-     * @param limit 생성할 최대 개수
-     * @return 정렬된 RankItemDto 리스트
+     * 순위 인덱스에서 상위 limit개 항목을 꺼내 RankItemDto로 변환합니다.
      */
-    private List<RankItemDto> createRankData(List<MarketDataDto> flatData, String market, String by, String order, int limit) {
-        List<MarketDataDto> filteredData = flatData.stream()
-                .filter(d -> "ALL".equalsIgnoreCase(market) || market.equalsIgnoreCase(d.marketType()))
-                .toList();
-
-        java.util.Comparator<MarketDataDto> comparator = switch (by.toUpperCase()) {
-            case "MARKET_CAP" -> java.util.Comparator.comparing(MarketDataDto::mktcap, java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder()));
-            case "VOLUME" -> java.util.Comparator.comparing(MarketDataDto::tradeVolume, java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder()));
-            case "TRADE_VALUE" -> java.util.Comparator.comparing(MarketDataDto::tradeValue, java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder()));
-            case "CHANGE_RATE" -> "asc".equalsIgnoreCase(order)
-                    ? java.util.Comparator.comparing(MarketDataDto::fluc_rate, java.util.Comparator.nullsFirst(java.util.Comparator.naturalOrder()))
-                    : java.util.Comparator.comparing(MarketDataDto::fluc_rate, java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder()));
-            default -> java.util.Comparator.comparing(MarketDataDto::mktcap, java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder()));
-        };
-
-        java.util.concurrent.atomic.AtomicInteger rank = new java.util.concurrent.atomic.AtomicInteger(1);
-        return filteredData.stream()
-                .sorted(comparator)
-                .limit(limit)
-                .map(d -> new RankItemDto(
-                        rank.getAndIncrement(),
-                        d.isuSrtCd(),
-                        d.nodeName(),
-                        d.currentPrice() != null ? d.currentPrice() : 0L,
-                        d.fluc_rate() != null ? d.fluc_rate() : 0.0,
-                        d.tradeVolume() != null ? d.tradeVolume() : 0L,
-                        d.tradeValue() != null ? d.tradeValue() : 0L,
-                        d.mktcap() != null ? d.mktcap() : 0L
-                ))
-                .toList();
+    private List<RankItemDto> rankFromIndex(MarketRankIndex index, String market, MarketRankIndex.Metric metric,
+                                            boolean ascending, int limit) {
+        return toRankItems(index.snapshot(), index.select(market, metric, ascending, limit));
     }
 
     /**
-     * 등락률 상위/하위 데이터를 생성하여 하나의 리스트로 결합합니다.
-     * @param flatData 전체 시장 데이터
-     * @param market 시장 구분
-     * @param limit 생성할 최대 개수
-     * @return 등락률 상위/하위 데이터가 결합된 리스트
+     * 순위 인덱스에서 등락률 상위와 하위 목록을 이어 붙인 리스트를 만듭니다.
      */
-    private List<RankItemDto> createTopAndBottomRankData(List<MarketDataDto> flatData, String market, int limit) {
-        List<RankItemDto> top = createRankData(flatData, market, "CHANGE_RATE", "DESC", limit);
-        List<RankItemDto> bottom = createRankData(flatData, market, "CHANGE_RATE", "ASC", limit);
+    private List<RankItemDto> topAndBottomFromIndex(MarketRankIndex index, String market, int limit) {
+        List<RankItemDto> top = rankFromIndex(index, market, MarketRankIndex.Metric.CHANGE_RATE, false, limit);
+        List<RankItemDto> bottom = rankFromIndex(index, market, MarketRankIndex.Metric.CHANGE_RATE, true, limit);
         return java.util.stream.Stream.concat(top.stream(), bottom.stream()).toList();
     }
-    
+
     /**
-     * 평탄화된 시장 데이터를 트리맵 구조로 변환합니다.
-     * 데이터를 섹터별로 그룹화하고, 각 섹터 아래에 개별 종목 노드를 추가합니다.
-     * @param flatData 변환할 전체 시장 데이터
-     * @param marketName 시장 이름 (e.g., "KOSPI")
-     * @return 트리맵 구조를 나타내는 TreemapDto 객체
+     * 미리 계산되지 않은 순위 캐시 키(e.g., "rank_KOSDAQ_VOLUME_DESC")를 순위 인덱스로 계산합니다.
+     * @param index 순위 인덱스
+     * @param key 순위 데이터 키
+     * @return 계산된 순위 리스트, 형식이 맞지 않거나 알 수 없는 기준이면 null
      */
-    private TreemapDto transformToTreemapDto(List<MarketDataDto> flatData, String marketName) {
-        List<MarketDataDto> marketSpecificData;
-        if ("ETF".equalsIgnoreCase(marketName) || "ALL".equalsIgnoreCase(marketName)) {
-            marketSpecificData = flatData;
-        } else {
-            marketSpecificData = flatData.stream()
-                .filter(d -> marketName.equalsIgnoreCase(d.marketType()))
-                .toList();
+    private List<RankItemDto> resolveRankKey(MarketRankIndex index, String key) {
+        String spec = key.substring("rank_".length()).toUpperCase();
+        if (spec.endsWith(TOP_AND_BOTTOM_SUFFIX)) {
+            return topAndBottomFromIndex(index, spec.substring(0, spec.length() - TOP_AND_BOTTOM_SUFFIX.length()), RANK_LIMIT);
+        }
+
+        int first = spec.indexOf('_');
+        int last = spec.lastIndexOf('_');
+        if (first <= 0 || last <= first) {
+            return null;
         }
+        String market = spec.substring(0, first);
+        String order = spec.substring(last + 1);
+        return MarketRankIndex.Metric.parse(spec.substring(first + 1, last))
+                .map(metric -> rankFromIndex(index, market, metric, "ASC".equals(order), RANK_LIMIT))
+                .orElse(null);
+    }
 
-        if (marketSpecificData.isEmpty()) {
-            return new TreemapDto(marketName, List.of());
+    private List<RankItemDto> toRankItems(MarketSnapshot snapshot, int[] rows) {
+        List<RankItemDto> result = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            result.add(toRankItem(snapshot, rows[i], i + 1));
         }
+        return result;
+    }
+
+    /**
+     * 스냅샷의 한 행을 순위 항목 DTO로 변환합니다.
+     */
+    private RankItemDto toRankItem(MarketSnapshot snapshot, int row, int rank) {
+        return new RankItemDto(
+                rank,
+                snapshot.symbol(row),
+                snapshot.name(row),
+                MarketSnapshot.orElse(snapshot.close(row), 0L),
+                MarketSnapshot.orElse(snapshot.flucRate(row), 0.0),
+                MarketSnapshot.orElse(snapshot.volume(row), 0L),
+                MarketSnapshot.orElse(snapshot.value(row), 0L),
+                MarketSnapshot.orElse(snapshot.mktcap(row), 0L)
+        );
+    }
 
-        Map<String, List<MarketDataDto>> groupedBySector = marketSpecificData.stream()
-                .collect(Collectors.groupingBy(d -> d.sectorName() != null ? d.sectorName() : "기타 섹터"));
-
-        List<TreemapSectorDto> sectorChildren = groupedBySector.entrySet().stream()
-                .map(entry -> {
-                    String sectorName = entry.getKey();
-                    List<MarketDataDto> items = entry.getValue();
-
-                    List<TreemapNodeDto> stockChildren = items.stream()
-                            .map(item -> new TreemapNodeDto(
-                                    item.isuSrtCd(),
-                                    item.nodeName() != null ? item.nodeName() : "이름없음",
-                                    item.mktcap() != null ? item.mktcap() : 0L,
-                                    item.fluc_rate() != null ? item.fluc_rate() : 0.0,
-                                    item.currentPrice() != null ? item.currentPrice() : 0L
-                            )).toList();
-
-                    return new TreemapSectorDto(sectorName, stockChildren);
-                }).toList();
-
-        String rootName = "ALL".equalsIgnoreCase(marketName) ? "통합 시장" : marketName;
-        if ("ETF".equalsIgnoreCase(marketName)) {
-            rootName = "ETF";
+    /**
+     * 지정된 섹터들의 노드 목록을 다시 만들고, 이를 포함한 트리맵 구조를 반환합니다.
+     * 변경되지 않은 섹터는 이전에 만들어진 TreemapSectorDto를 그대로 재사용합니다.
+     * @param treemapName 트리맵 이름 (e.g., "KOSPI", "ALL", "ETF")
+     * @param dirtySectors 다시 만들 섹터 이름 목록
+     * @return 트리맵 구조를 나타내는 TreemapDto 객체
+     */
+    private TreemapDto rebuildTreemap(String treemapName, Set<String> dirtySectors) {
+        Map<String, Map<String, TreemapNodeDto>> nodesBySector = treemapNodes.getOrDefault(treemapName, Map.of());
+        Map<String, TreemapSectorDto> sectors = treemapSectors.computeIfAbsent(treemapName, k -> new LinkedHashMap<>());
+
+        for (String sectorName : dirtySectors) {
+            Map<String, TreemapNodeDto> nodes = nodesBySector.get(sectorName);
+            if (nodes == null || nodes.isEmpty()) {
+                sectors.remove(sectorName);
+                continue;
+            }
+            List<TreemapNodeDto> stockChildren = nodes.values().stream()
+                    .sorted(Comparator.comparingLong(TreemapNodeDto::value).reversed())
+                    .toList();
+            sectors.put(sectorName, new TreemapSectorDto(sectorName, stockChildren));
         }
-        return new TreemapDto(rootName, sectorChildren);
+
+        String rootName = "ALL".equalsIgnoreCase(treemapName) ? "통합 시장" : treemapName;
+        return new TreemapDto(rootName, List.copyOf(sectors.values()));
     }
 
     /**
      * 프론트엔드에서 요청한 여러 데이터 키에 해당하는 데이터들을 캐시에서 조회하여 반환합니다.
+     * 캐시에 없는 순위 키는 순위 인덱스에서 즉시 계산합니다.
      * @param dataKeys 조회할 데이터의 키 리스트
      * @return 데이터 키와 실제 데이터 객체로 구성된 Map
      */
@@ -317,8 +613,145 @@ public class DashboardService {
         if (dataKeys == null || dataKeys.isEmpty()) {
             return Map.of();
         }
-        return dataKeys.stream()
-            .filter(cache::containsKey)
-            .collect(Collectors.toMap(key -> key, cache::get));
+        DashboardGeneration current = generation;
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String key : dataKeys) {
+            PreRenderedJson entry = current.get(key);
+            Object value = entry != null ? entry.value() : null;
+            if (value == null && key.startsWith("rank_")) {
+                value = resolveRankKey(current.rankIndex(), key);
+            }
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 현재 세대에서 요청된 키들에 해당하는 미리 직렬화된 JSON 조각을 조회합니다.
+     * @param dataKeys 조회할 데이터의 키 리스트
+     * @return 요청 순서를 유지한 데이터 키와 JSON 조각의 Map
+     * @see #getDynamicJson(DashboardGeneration, List)
+     */
+    public Map<String, PreRenderedJson> getDynamicJson(List<String> dataKeys) {
+        return getDynamicJson(generation, dataKeys);
+    }
+
+    /**
+     * 주어진 세대에서 요청된 키들에 해당하는 미리 직렬화된 JSON 조각을 조회합니다.
+     * 캐시에 없는 순위 키는 그 세대의 순위 인덱스에서 계산한 뒤 직렬화합니다. 데이터가 없는 키는 결과에서 제외됩니다.
+     * @param source 데이터를 읽을 세대
+     * @param dataKeys 조회할 데이터의 키 리스트
+     * @return 요청 순서를 유지한 데이터 키와 JSON 조각의 Map
+     */
+    public Map<String, PreRenderedJson> getDynamicJson(DashboardGeneration source, List<String> dataKeys) {
+        if (dataKeys == null || dataKeys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, PreRenderedJson> result = new LinkedHashMap<>();
+        for (String key : dataKeys) {
+            PreRenderedJson entry = source.get(key);
+            if (entry == null && key.startsWith("rank_")) {
+                List<RankItemDto> rankData = resolveRankKey(source.rankIndex(), key);
+                entry = rankData != null ? render(key, rankData, false) : null;
+            }
+            if (entry != null) {
+                result.put(key, entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 여러 JSON 조각으로 구성된 응답의 ETag를 계산합니다.
+     * 각 조각의 ETag는 내용 해시이므로, 요청한 키와 데이터 내용이 같으면 캐시가 갱신되어도 같은 값이 나옵니다.
+     * @param fragments {@link #getDynamicJson}이 반환한 JSON 조각
+     * @return 따옴표로 감싼 ETag 문자열
+     */
+    public String dynamicDataEtag(Map<String, PreRenderedJson> fragments) {
+        StringBuilder sb = new StringBuilder();
+        fragments.forEach((key, entry) -> sb.append(key).append('=').append(entry.etag()).append(';'));
+        return quote(hash(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * JSON 조각들을 하나의 JSON 객체({"키": 데이터, ...})로 출력 스트림에 기록합니다.
+     * 갱신 시점에 만들어 둔 JSON 바이트를 그대로 이어 붙이므로 요청 경로에서 데이터 직렬화가 일어나지 않습니다.
+     * @param fragments {@link #getDynamicJson}이 반환한 JSON 조각
+     * @param out 응답을 기록할 출력 스트림
+     * @throws IOException 스트림 기록 실패 시
+     */
+    public void writeDynamicData(Map<String, PreRenderedJson> fragments, OutputStream out) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<String, PreRenderedJson> fragment : fragments.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(objectMapper.writeValueAsBytes(fragment.getKey()));
+            out.write(':');
+            out.write(fragment.getValue().json());
+            first = false;
+        }
+        out.write('}');
+    }
+
+
+    /**
+     * 데이터를 JSON으로 미리 직렬화하여 다음 세대의 캐시 항목에 저장하고, 내용이 바뀌었으면 변경 키로 기록합니다.
+     * 직렬화에 실패하면 이전 캐시 값을 유지합니다.
+     * @param key 캐시 키
+     * @param value 저장할 데이터 객체
+     */
+    private void putCache(String key, Object value) {
+        PreRenderedJson entry = render(key, value, true);
+        if (entry == null) {
+            return;
+        }
+        PreRenderedJson previous = stagedEntries.put(key, entry);
+        if (previous == null || !previous.etag().equals(entry.etag())) {
+            changedKeys.add(key);
+        }
+    }
+
+    /**
+     * 데이터를 JSON 바이트로 직렬화하고 내용 해시로 ETag를 만듭니다.
+     * 충분히 큰 데이터는 gzip 압축본도 함께 만들어 둡니다.
+     * @return 직렬화 결과, 실패 시 null
+     */
+    private PreRenderedJson render(String key, Object value, boolean compress) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] gzip = compress && json.length >= GZIP_THRESHOLD ? gzip(json) : null;
+            return new PreRenderedJson(value, json, gzip, quote(hash(json)));
+        } catch (IOException e) {
+            log.error("캐시 데이터 직렬화 중 오류 발생: {}", key, e);
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(buffer)) {
+            gz.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 바이트 배열의 SHA-256 해시 앞 8바이트를 16진수 문자열로 반환합니다.
+     */
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String quote(String etag) {
+        return "\"" + etag + "\"";
     }
-}
\ No newline at end of file
+}
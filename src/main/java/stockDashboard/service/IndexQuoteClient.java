@@ -0,0 +1,219 @@
+package stockDashboard.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import stockDashboard.dto.IndexQuoteDto;
+
+/**
+ * 야후 파이낸스 차트 API에서 코스피/코스닥 지수 시세를 가져오는 클라이언트입니다.
+ * 하나의 HttpClient를 공유하여 모든 지수를 동시에 비동기로 요청하고, 요청마다 제한 시간을 둡니다.
+ * 지수별로 연속 실패 횟수가 기준에 이르면 일정 시간 동안 요청하지 않으며(서킷 브레이커),
+ * 실패하거나 요청하지 않은 경우에는 마지막으로 성공한 값을 오래된 값(stale)으로 표시해 돌려줍니다.
+ */
+@Slf4j
+@Service
+public class IndexQuoteClient {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 지수 데이터의 캐시 키와 야후 파이낸스 심볼입니다. */
+    static final Map<String, String> INDEX_SYMBOLS = Map.of(
+            "index_KOSPI", "^KS11",
+            "index_KOSDAQ", "^KQ11");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    /** 캐시 키별 서킷 상태와 마지막으로 성공한 값입니다. */
+    private final Map<String, IndexState> states = new ConcurrentHashMap<>();
+
+    /**
+     * IndexQuoteClient 생성자입니다.
+     * @param objectMapper 응답 JSON 파싱에 사용할 ObjectMapper
+     * @param baseUrl 차트 API 주소 (심볼을 뒤에 붙여 요청)
+     * @param connectTimeoutMs 연결 제한 시간 (밀리초)
+     * @param requestTimeoutMs 응답 본문까지 받는 요청별 제한 시간 (밀리초)
+     * @param failureThreshold 서킷을 여는 연속 실패 횟수
+     * @param openDurationMs 서킷이 열린 뒤 요청하지 않는 시간 (밀리초)
+     */
+    @Autowired
+    public IndexQuoteClient(ObjectMapper objectMapper,
+                            @Value("${index.quote.base-url:https://query1.finance.yahoo.com/v8/finance/chart/}") String baseUrl,
+                            @Value("${index.quote.connect-timeout-ms:2000}") long connectTimeoutMs,
+                            @Value("${index.quote.request-timeout-ms:3000}") long requestTimeoutMs,
+                            @Value("${index.quote.failure-threshold:2}") int failureThreshold,
+                            @Value("${index.quote.open-duration-ms:600000}") long openDurationMs) {
+        this(objectMapper, baseUrl, Duration.ofMillis(connectTimeoutMs), Duration.ofMillis(requestTimeoutMs),
+                failureThreshold, Duration.ofMillis(openDurationMs), Clock.system(KST));
+    }
+
+    IndexQuoteClient(ObjectMapper objectMapper, String baseUrl, Duration connectTimeout, Duration requestTimeout,
+                     int failureThreshold, Duration openDuration, Clock clock) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        INDEX_SYMBOLS.keySet().forEach(key -> states.put(key, new IndexState()));
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.shutdownNow();
+    }
+
+    /**
+     * 모든 지수 시세를 동시에 요청합니다.
+     * 반환된 Future는 실패로 끝나지 않으며, 늦어도 요청 제한 시간이 지나면 완료됩니다.
+     * @return 캐시 키별 지수 시세 (한 번도 성공하지 못한 지수는 제외)
+     */
+    public CompletableFuture<Map<String, IndexQuoteDto>> fetchAll() {
+        Map<String, CompletableFuture<IndexQuoteDto>> futures = new LinkedHashMap<>();
+        INDEX_SYMBOLS.forEach((key, symbol) -> futures.put(key, fetch(key, symbol)));
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, IndexQuoteDto> quotes = new LinkedHashMap<>();
+                    futures.forEach((key, future) -> {
+                        IndexQuoteDto quote = future.join();
+                        if (quote != null) {
+                            quotes.put(key, quote);
+                        }
+                    });
+                    return quotes;
+                });
+    }
+
+    /**
+     * 지수 하나를 요청합니다. 서킷이 열려 있으면 요청하지 않고 마지막 값을 돌려줍니다.
+     * @return 지수 시세, 실패 시 마지막으로 성공한 값(stale), 그것도 없으면 null
+     */
+    private CompletableFuture<IndexQuoteDto> fetch(String key, String symbol) {
+        IndexState state = states.get(key);
+        if (!state.allowRequest(clock.instant())) {
+            return CompletableFuture.completedFuture(state.lastKnown());
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + symbol.replace("^", "%5E")))
+                .header("Accept", "application/json")
+                .header("User-Agent", "Mozilla/5.0") // 차단 방지를 위한 기본 헤더
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        log.debug("지수 시세 요청: {}", request.uri());
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::parse)
+                // HttpRequest.timeout은 응답 헤더까지만 제한하므로 본문 수신까지 포함한 기한을 한 번 더 둡니다.
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((quote, error) -> {
+                    if (error == null) {
+                        state.recordSuccess(quote);
+                        return quote;
+                    }
+                    if (state.recordFailure(clock.instant(), failureThreshold, openDuration)) {
+                        log.warn("지수 {} 조회가 {}회 연속 실패하여 {}초 동안 요청하지 않습니다: {}",
+                                symbol, failureThreshold, openDuration.toSeconds(), error.toString());
+                    } else {
+                        log.warn("지수 {} 조회에 실패하여 마지막 값을 사용합니다: {}", symbol, error.toString());
+                    }
+                    return state.lastKnown();
+                });
+    }
+
+    /**
+     * 차트 API 응답에서 현재 지수와 전일 대비 값을 계산합니다.
+     */
+    private IndexQuoteDto parse(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        JsonNode meta;
+        try {
+            meta = objectMapper.readTree(response.body()).path("chart").path("result").path(0).path("meta");
+        } catch (IOException e) {
+            throw new IllegalStateException("응답을 해석할 수 없습니다.", e);
+        }
+        double currentPrice = meta.path("regularMarketPrice").asDouble(Double.NaN);
+        double previousClose = meta.path("previousClose").asDouble(Double.NaN);
+        if (Double.isNaN(currentPrice) || !(previousClose > 0)) {
+            throw new IllegalStateException("응답에 지수 값이 없습니다.");
+        }
+        double change = currentPrice - previousClose;
+        double changeRate = (change / previousClose) * 100;
+        return new IndexQuoteDto(
+                String.format("%.2f", currentPrice),
+                String.format("%.2f", change),
+                String.format("%.2f", changeRate),
+                LocalDateTime.now(clock),
+                false);
+    }
+
+    /**
+     * 지수 하나의 서킷 상태와 마지막으로 성공한 값입니다.
+     * 서킷이 열린 시간이 지나면 한 번 더 요청하며, 그 요청이 실패하면 바로 다시 엽니다.
+     */
+    private static final class IndexState {
+        private int consecutiveFailures;
+        private Instant openUntil;
+        private IndexQuoteDto lastGood;
+
+        synchronized boolean allowRequest(Instant now) {
+            return openUntil == null || !now.isBefore(openUntil);
+        }
+
+        synchronized void recordSuccess(IndexQuoteDto quote) {
+            consecutiveFailures = 0;
+            openUntil = null;
+            lastGood = quote;
+        }
+
+        /**
+         * 실패를 기록합니다.
+         * @return 이번 실패로 서킷이 열렸으면 true
+         */
+        synchronized boolean recordFailure(Instant now, int threshold, Duration openDuration) {
+            consecutiveFailures++;
+            if (consecutiveFailures < threshold) {
+                return false;
+            }
+            openUntil = now.plus(openDuration);
+            return true;
+        }
+
+        synchronized IndexQuoteDto lastKnown() {
+            return lastGood != null ? lastGood.asStale() : null;
+        }
+    }
+}
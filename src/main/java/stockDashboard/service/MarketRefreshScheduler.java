@@ -0,0 +1,166 @@
+package stockDashboard.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import stockDashboard.dto.IngestStatusDto;
+import stockDashboard.dto.MarketRefreshStatusDto;
+import stockDashboard.model.KrxTradingCalendar;
+import stockDashboard.model.MarketSnapshot;
+import stockDashboard.repository.KrxRepository;
+
+/**
+ * KRX 장 운영 시간에 맞추어 대시보드 시장 데이터 캐시를 갱신하는 스케줄러입니다.
+ * 갱신 구간(정규장과 마감 후 대기 구간)에는 짧은 주기로 마지막 수집 시각(MAX(collected_at))과 겹침 구간의 종목 수만 확인하다가
+ * 새 수집분이 적재되면 곧바로 {@link DashboardService#updateMarketDataCache()}를 실행하고,
+ * 지수 시세를 위해 새 수집분이 없어도 최대 갱신 간격마다 한 번은 갱신합니다.
+ * 장이 열리지 않는 시간(마감 후, 주말, 휴장일)에는 긴 주기로 확인만 하며, 늦게 적재된 수집분이 있을 때만 갱신합니다.
+ */
+@Slf4j
+@Service
+@Lazy(false) // 요청이 없어도 시작 시 생성되어 갱신을 시작해야 합니다.
+public class MarketRefreshScheduler {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final DashboardService dashboardService;
+    private final KrxRepository krxRepository;
+    private final KrxTradingCalendar calendar;
+    private final Duration probeInterval;
+    private final Duration maxInterval;
+    private final Duration offHoursCheckInterval;
+    private final Duration deltaOverlap;
+
+    private volatile LocalDateTime lastCollectedAt;
+    private volatile LocalDateTime lastCheckedAt;
+    private volatile LocalDateTime lastRefreshedAt;
+
+    /**
+     * MarketRefreshScheduler 생성자입니다.
+     * DashboardService는 생성 시(@PostConstruct) 캐시를 한 번 채우므로 그 시각을 첫 갱신 시각으로 봅니다.
+     * @param dashboardService 시장 데이터 캐시를 갱신하는 서비스
+     * @param krxRepository 마지막 수집 시각 확인에 사용할 리포지토리
+     * @param open 장 시작 시각 (HH:mm)
+     * @param close 장 마감 시각 (HH:mm)
+     * @param postCloseMinutes 장 마감 후에도 수집분 적재를 기다리는 시간 (분)
+     * @param holidays 주말 외 휴장일 (yyyy-MM-dd)
+     * @param probeIntervalMs 갱신 구간의 확인 주기 (밀리초, @Scheduled와 같은 값)
+     * @param maxIntervalMs 갱신 구간에서 새 수집분이 없어도 다시 갱신하는 간격 (밀리초)
+     * @param offHoursCheckIntervalMs 갱신 구간 밖의 확인 주기 (밀리초)
+     * @param deltaOverlapMinutes 반영된 마지막 수집 시각보다 이른 수집분도 확인하는 겹침 구간 (분, 증분 갱신과 같은 값)
+     */
+    public MarketRefreshScheduler(DashboardService dashboardService, KrxRepository krxRepository,
+                                  @Value("${market.session.open:09:00}") String open,
+                                  @Value("${market.session.close:15:30}") String close,
+                                  @Value("${market.session.post-close-minutes:60}") long postCloseMinutes,
+                                  @Value("${market.holidays:}") List<String> holidays,
+                                  @Value("${market.refresh.probe-interval-ms:15000}") long probeIntervalMs,
+                                  @Value("${market.refresh.max-interval-ms:300000}") long maxIntervalMs,
+                                  @Value("${market.refresh.off-hours-check-interval-ms:1800000}") long offHoursCheckIntervalMs,
+                                  @Value("${dashboard.refresh.delta-overlap-minutes:10}") long deltaOverlapMinutes) {
+        this.dashboardService = dashboardService;
+        this.krxRepository = krxRepository;
+        List<LocalDate> holidayDates = holidays.stream().filter(h -> !h.isBlank()).map(h -> LocalDate.parse(h.trim())).toList();
+        int year = now().getYear();
+        if (holidayDates.stream().noneMatch(h -> h.getYear() == year)) {
+            log.warn("market.holidays에 {}년 휴장일이 없습니다. 휴장일에도 장중으로 판단하므로 거래소 휴장일 공지에 맞추어 추가해야 합니다.", year);
+        }
+        this.calendar = new KrxTradingCalendar(LocalTime.parse(open), LocalTime.parse(close),
+                Duration.ofMinutes(postCloseMinutes), holidayDates);
+        this.probeInterval = Duration.ofMillis(probeIntervalMs);
+        this.maxInterval = Duration.ofMillis(maxIntervalMs);
+        this.offHoursCheckInterval = Duration.ofMillis(offHoursCheckIntervalMs);
+        this.deltaOverlap = Duration.ofMinutes(deltaOverlapMinutes);
+        this.lastRefreshedAt = now();
+    }
+
+    /**
+     * 새 수집분이 적재되었는지 확인하고, 필요하면 캐시를 갱신합니다.
+     * 갱신 구간 밖에서는 확인 주기가 지나지 않았으면 DB를 조회하지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${market.refresh.probe-interval-ms:15000}",
+               initialDelayString = "${market.refresh.probe-interval-ms:15000}")
+    public void tick() {
+        LocalDateTime now = now();
+        boolean inWindow = calendar.isRefreshWindow(now);
+        LocalDateTime checked = lastCheckedAt;
+        if (!inWindow && checked != null && now.isBefore(checked.plus(offHoursCheckInterval))) {
+            return;
+        }
+
+        MarketSnapshot snapshot = dashboardService.getSnapshot();
+        LocalDateTime loaded = snapshot.maxCollectedAt();
+        LocalDateTime since = loaded != null ? loaded.minus(deltaOverlap) : null;
+        IngestStatusDto ingest;
+        try {
+            ingest = krxRepository.getIngestStatus(since);
+        } catch (DataAccessException e) {
+            log.warn("마지막 수집 시각을 확인하지 못했습니다: {}", e.getMessage());
+            return;
+        }
+        LocalDateTime latest = ingest.latestCollectedAt();
+        lastCheckedAt = now;
+        lastCollectedAt = latest;
+
+        // 늦게 커밋된 수집분은 마지막 수집 시각을 바꾸지 않으므로, 겹침 구간의 종목 수도 비교합니다.
+        boolean newData = latest != null && (loaded == null || latest.isAfter(loaded)
+                || ingest.collectedSince() > snapshot.countCollectedAfter(since));
+        boolean overdue = inWindow && !now.isBefore(lastRefreshedAt.plus(maxInterval));
+        if (!newData && !overdue) {
+            return;
+        }
+        if (newData) {
+            log.info("새 수집분이 적재되어 캐시를 갱신합니다. (수집 시각 {}, 반영된 수집 시각 {})", latest, loaded);
+        }
+        dashboardService.updateMarketDataCache();
+        lastRefreshedAt = now;
+    }
+
+    /**
+     * 현재 장 운영 단계와 마지막/다음 갱신 시각을 반환합니다.
+     * 예정 시각이 지났지만 아직 확인/갱신이 실행되지 않은 경우 다음 시각은 현재 시각으로 표시합니다.
+     * @return 갱신 스케줄러 상태
+     */
+    public MarketRefreshStatusDto status() {
+        LocalDateTime now = now();
+        LocalDateTime checked = lastCheckedAt;
+        LocalDateTime refreshed = lastRefreshedAt;
+
+        LocalDateTime nextCheckAt;
+        LocalDateTime nextRefreshBy;
+        if (calendar.isRefreshWindow(now)) {
+            nextCheckAt = checked != null ? checked.plus(probeInterval) : now;
+            LocalDateTime due = refreshed.plus(maxInterval);
+            LocalDateTime windowEnd = calendar.windowEnd(now.toLocalDate());
+            nextRefreshBy = due.isBefore(windowEnd) ? due : calendar.nextOpen(windowEnd);
+        } else {
+            LocalDateTime nextOpen = calendar.nextOpen(now);
+            nextCheckAt = checked != null ? checked.plus(offHoursCheckInterval) : now;
+            if (nextOpen != null && nextOpen.isBefore(nextCheckAt)) {
+                nextCheckAt = nextOpen;
+            }
+            nextRefreshBy = nextOpen;
+        }
+        return new MarketRefreshStatusDto(calendar.phaseAt(now).name(), lastCollectedAt, checked, refreshed,
+                notBefore(nextCheckAt, now), notBefore(nextRefreshBy, now));
+    }
+
+    private static LocalDateTime notBefore(LocalDateTime time, LocalDateTime now) {
+        return time != null && time.isBefore(now) ? now : time;
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(KST);
+    }
+}
@@ -0,0 +1,95 @@
+package stockDashboard.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import stockDashboard.model.MarketSnapshotCodec;
+
+/**
+ * 마지막으로 발행한 시장 스냅샷을 로컬 파일에 저장하고, 재시작 시 읽어 오는 저장소입니다.
+ * 저장은 같은 디렉터리의 임시 파일에 모두 쓴 뒤 원자적으로 이름을 바꾸므로, 저장 도중 종료되어도
+ * 이전 파일이나 새 파일 중 하나만 남습니다. 읽을 때는 파일을 메모리 매핑하여 바로 디코딩합니다.
+ * 경로가 비어 있으면 저장과 복원을 모두 하지 않습니다.
+ */
+@Slf4j
+@Service
+public class MarketSnapshotStore {
+
+    private final Path path;
+
+    /**
+     * MarketSnapshotStore 생성자입니다.
+     * @param path 스냅샷 파일 경로, 비어 있으면 사용하지 않음
+     */
+    public MarketSnapshotStore(@Value("${dashboard.snapshot.path:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path.trim());
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * 저장된 스냅샷을 읽습니다.
+     * @return 저장된 내용, 파일이 없거나 형식/버전이 다르거나 손상되었으면 빈 Optional
+     */
+    public Optional<MarketSnapshotCodec.Contents> load() {
+        if (path == null) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            MarketSnapshotCodec.Contents contents = MarketSnapshotCodec.decode(mapped);
+            log.info("저장된 시장 스냅샷 {}건을 읽었습니다. (저장 시각: {}, 기준 수집 시각: {})",
+                    contents.snapshot().size(), contents.savedAt(), contents.snapshot().maxCollectedAt());
+            return Optional.of(contents);
+        } catch (NoSuchFileException e) {
+            log.info("저장된 시장 스냅샷이 없습니다: {}", path);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("저장된 시장 스냅샷을 읽지 못해 사용하지 않습니다: {} ({})", path, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 스냅샷을 파일에 저장합니다. 실패해도 예외를 던지지 않고 기록만 남깁니다.
+     * @param contents 저장할 내용
+     */
+    public void save(MarketSnapshotCodec.Contents contents) {
+        if (path == null) {
+            return;
+        }
+        byte[] bytes = MarketSnapshotCodec.encode(contents);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("시장 스냅샷 {}건을 저장했습니다. ({}바이트)", contents.snapshot().size(), bytes.length);
+        } catch (IOException e) {
+            log.warn("시장 스냅샷을 저장하지 못했습니다: {} ({})", path, e.toString());
+        }
+    }
+}
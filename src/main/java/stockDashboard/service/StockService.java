@@ -1,38 +1,156 @@
 package stockDashboard.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import stockDashboard.dto.StockSearchDto;
+import stockDashboard.model.MarketSnapshot;
+import stockDashboard.model.StockSearchIndex;
 import stockDashboard.repository.KrxRepository;
 import org.springframework.stereotype.Service;
 
 import stockDashboard.dto.MarketDataDto;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * 종목 정보 관련 비즈니스 로직을 처리하는 서비스입니다.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockService {
 
+    /** 검색 결과의 최대 개수입니다. */
+    private static final int SEARCH_LIMIT = 10;
+
     private final KrxRepository krxRepository;
+    private final DashboardService dashboardService;
+
+    /**
+     * 검색 색인과 색인 행 번호별 시가총액, 그리고 이를 만든 스냅샷입니다. 한 번에 교체됩니다.
+     */
+    private record SearchState(MarketSnapshot source, StockSearchIndex index, long[] marketCaps) {}
+
+    private volatile SearchState searchState = new SearchState(null, StockSearchIndex.empty(), new long[0]);
+
+    /**
+     * 스냅샷에 없는 종목(상장폐지, 신규 상장 등)의 DB 조회 결과입니다.
+     * 시세가 없는 종목도 빈 값으로 저장하여 관심종목 위젯이 갱신될 때마다 DB를 다시 조회하지 않도록 합니다.
+     * 대시보드 갱신 주기(5분)가 지나면 다시 조회합니다.
+     */
+    private final Cache<String, Optional<MarketDataDto>> fallbackQuotes = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
 
     /**
      * 종목명 또는 종목코드로 주식을 검색합니다.
-     * @param query 검색어
+     * 대시보드 스냅샷으로 만든 인메모리 색인에서 검색하며, 스냅샷이 아직 없으면 DB에서 검색합니다.
+     * @param query 검색어 (종목명 일부, 종목코드 접두어, 또는 한글 초성)
      * @return 검색된 주식 정보 DTO 리스트
      */
     public List<StockSearchDto> searchStocks(String query) {
-        return krxRepository.searchStocksByName(query);
+        SearchState state = currentSearchState();
+        if (state.index().size() == 0) {
+            return krxRepository.searchStocksByName(query);
+        }
+        int[] rows = state.index().search(query, SEARCH_LIMIT, state.marketCaps());
+        List<StockSearchDto> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(new StockSearchDto(state.index().symbol(row), state.index().name(row)));
+        }
+        return result;
+    }
+
+    /**
+     * 대시보드 스냅샷이 바뀌었으면 검색 상태를 갱신합니다.
+     * 종목코드/종목명 지문이 같으면 색인은 그대로 두고 순위에 쓰는 시가총액만 새로 읽습니다.
+     */
+    private SearchState currentSearchState() {
+        MarketSnapshot snapshot = dashboardService.getSnapshot();
+        SearchState state = searchState;
+        if (state.source() == snapshot) {
+            return state;
+        }
+        synchronized (this) {
+            state = searchState;
+            if (state.source() == snapshot) {
+                return state;
+            }
+            StockSearchIndex index = state.index();
+            if (index.fingerprint() != StockSearchIndex.fingerprintOf(snapshot)) {
+                index = StockSearchIndex.build(snapshot);
+                log.info("종목 검색 색인을 다시 만들었습니다. ({}종목)", index.size());
+            }
+            long[] marketCaps = new long[index.size()];
+            for (int row = 0; row < marketCaps.length; row++) {
+                int snapshotRow = snapshot.indexOf(index.symbol(row));
+                marketCaps[row] = snapshotRow >= 0 ? snapshot.mktcap(snapshotRow) : MarketSnapshot.MISSING;
+            }
+            state = new SearchState(snapshot, index, marketCaps);
+            searchState = state;
+            return state;
+        }
     }
 
     /**
      * 여러 종목 코드에 해당하는 최신 시장 데이터를 조회합니다.
+     * 대시보드의 현재 시장 스냅샷에서 읽고, 스냅샷에 없는 종목만 DB에서 조회합니다.
      * @param symbols 조회할 종목 코드 리스트
-     * @return 최신 시장 데이터 DTO 리스트
+     * @return 요청 순서대로의 최신 시장 데이터 DTO 리스트 (중복 제거, 시세가 없는 종목 제외)
      */
     public List<MarketDataDto> getLatestMarketDataForSymbols(List<String> symbols) {
-        return krxRepository.findLatestMarketDataBySymbols(symbols);
+        MarketSnapshot snapshot = dashboardService.getSnapshot();
+        Set<String> requested = new LinkedHashSet<>(symbols);
+        Map<String, MarketDataDto> quotes = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String symbol : requested) {
+            int row = snapshot.indexOf(symbol);
+            if (row >= 0) {
+                quotes.put(symbol, snapshot.toDto(row));
+            } else {
+                missing.add(symbol);
+            }
+        }
+        if (!missing.isEmpty()) {
+            fallbackQuotes.getAll(missing, this::loadFallbackQuotes)
+                    .forEach((symbol, quote) -> quote.ifPresent(q -> quotes.put(symbol, q)));
+        }
+
+        List<MarketDataDto> result = new ArrayList<>(quotes.size());
+        for (String symbol : requested) {
+            MarketDataDto quote = quotes.get(symbol);
+            if (quote != null) {
+                result.add(quote);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 스냅샷에 없는 종목들의 최신 시장 데이터를 DB에서 한 번에 조회합니다.
+     * @param symbols 조회할 종목 코드
+     * @return 종목 코드별 시장 데이터 (시세가 없는 종목은 빈 값)
+     */
+    private Map<String, Optional<MarketDataDto>> loadFallbackQuotes(Set<? extends String> symbols) {
+        Map<String, Optional<MarketDataDto>> loaded = new HashMap<>();
+        for (String symbol : symbols) {
+            loaded.put(symbol, Optional.empty());
+        }
+        for (MarketDataDto quote : krxRepository.findLatestMarketDataBySymbols(List.copyOf(symbols))) {
+            loaded.put(quote.isuSrtCd(), Optional.of(quote));
+        }
+        log.debug("스냅샷에 없는 종목 {}개의 시세를 DB에서 조회했습니다.", symbols.size());
+        return loaded;
     }
 }
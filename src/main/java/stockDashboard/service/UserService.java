@@ -1,13 +1,18 @@
 package stockDashboard.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.util.Map;
 
+import stockDashboard.model.DashboardUser;
 import stockDashboard.repository.WidgetRepository;
 
 /**
@@ -23,6 +28,15 @@ public class UserService {
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper; // Jackson ObjectMapper 주입
 
+    /**
+     * 사용자 이름 → 사용자 ID 캐시입니다.
+     * user_id를 담지 않은 기존 세션의 인증 주체에 대해서만 사용되며, 사용자 ID는 바뀌지 않으므로 만료는 메모리 회수 용도입니다.
+     */
+    private final Cache<String, Long> userIdCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
     /**
      * UserService 생성자입니다.
      * 사용자 관리, 비밀번호 인코딩, 위젯 저장소, DB 접근 및 JSON 처리를 위한 의존성을 주입받습니다.
@@ -44,6 +58,28 @@ public class UserService {
         this.objectMapper = objectMapper; // 주입받은 objectMapper 할당
     }
     
+    /**
+     * 인증된 사용자의 데이터베이스 ID를 반환합니다.
+     * 로그인 시 ID를 담아 둔 {@link DashboardUser}이면 그 값을 그대로 사용하고,
+     * 그 외의 인증 주체(변경 이전에 생성된 세션 등)는 사용자 이름으로 한 번 조회한 뒤 캐시합니다.
+     * @param userDetails 현재 인증된 사용자의 상세 정보
+     * @return 데이터베이스의 사용자 ID
+     * @throws IllegalStateException 사용자를 찾을 수 없을 때 발생하는 예외
+     */
+    public long getUserId(UserDetails userDetails) {
+        if (userDetails instanceof DashboardUser user) {
+            return user.getUserId();
+        }
+        String username = userDetails.getUsername();
+        Long userId = userIdCache.get(username, name ->
+                jdbcTemplate.query("SELECT user_id FROM users WHERE username = ?",
+                        rs -> rs.next() ? rs.getLong(1) : null, name));
+        if (userId == null) {
+            throw new IllegalStateException("Cannot find user ID for: " + username);
+        }
+        return userId;
+    }
+
     /**
      * 새로운 사용자를 시스템에 등록합니다.
      * 사용자 생성 후, 해당 사용자를 위한 기본 대시보드 위젯을 함께 생성합니다.
@@ -1,21 +1,99 @@
 package stockDashboard.service;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import lombok.RequiredArgsConstructor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import stockDashboard.model.UserWidgets;
 import stockDashboard.repository.WidgetRepository;
 import stockDashboard.repository.WidgetRepository.WidgetDto;
+import stockDashboard.repository.WidgetRepository.WidgetUpdate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 대시보드 위젯 관련 비즈니스 로직을 처리하는 서비스입니다.
  * 위젯의 생성, 조회, 수정, 삭제(CRUD) 요청을 WidgetRepository에 위임합니다.
+ * 이름/레이아웃/설정 변경은 드래그나 크기 조절 중에 연달아 들어오므로 바로 저장하지 않고
+ * (사용자, 위젯)별로 합쳐 두었다가 짧은 주기마다 하나의 배치 UPDATE로 저장합니다(write-behind).
+ * 배치가 실패하면 한 건씩 다시 저장하며, 여러 번 저장하지 못한 변경은 기록을 남기고 버려 다른 변경을 막지 않습니다.
+ * 사용자별 위젯 목록은 설정을 파싱한 결과와 함께 캐시하며, 위젯을 변경하는 모든 메서드에서 무효화합니다.
+ * 캐시는 인스턴스마다 따로 있으므로, 다른 인스턴스에서 바뀐 위젯은 캐시 항목이 만들어진 뒤 ttl이 지나면 반영됩니다.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class WidgetService {
 
     private final WidgetRepository widgetRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 사용자 ID → 위젯 목록(저장 대기 중인 변경 반영) 캐시입니다.
+     */
+    private final Cache<Long, UserWidgets> userWidgetsCache;
+
+    /**
+     * 아직 DB에 저장되지 않은 위젯 변경입니다. 같은 위젯에 대한 변경은 하나로 합쳐집니다.
+     * 항목은 저장에 성공한 뒤에만 제거되므로, 저장 중에도 조회 결과에 반영됩니다.
+     */
+    private final ConcurrentMap<WidgetKey, WidgetUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    /**
+     * 한 건씩 저장할 때 실패한 횟수입니다. 저장에 성공하거나 변경을 버리면 제거합니다.
+     * flushPendingUpdates의 잠금 안에서만 사용합니다.
+     */
+    private final Map<WidgetKey, Integer> failedAttempts = new HashMap<>();
+
+    private final int maxNameLength;
+    private final int maxAttempts;
+
+    private record WidgetKey(long userId, long widgetId) {}
+
+    /**
+     * WidgetService 생성자입니다.
+     * @param widgetRepository 위젯 데이터 저장소
+     * @param objectMapper 위젯 설정 JSON 파싱에 사용할 ObjectMapper
+     * @param meterRegistry 캐시 적중/실패/제거 지표를 등록할 레지스트리
+     * @param maxUsers 위젯 목록을 캐시할 최대 사용자 수
+     * @param ttl 위젯 목록 캐시 항목의 유효 시간 (다른 인스턴스의 변경이 반영되기까지 걸리는 최대 시간)
+     * @param maxNameLength 위젯 이름의 최대 길이 (user_widgets.widget_name 열 길이)
+     * @param maxAttempts 한 건씩 저장할 때 실패한 변경을 버리기 전까지의 시도 횟수
+     */
+    public WidgetService(WidgetRepository widgetRepository,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${widget.cache.max-users:10000}") long maxUsers,
+                         @Value("${widget.cache.ttl:30s}") Duration ttl,
+                         @Value("${widget.name.max-length:100}") int maxNameLength,
+                         @Value("${widget.write-behind.max-attempts:3}") int maxAttempts) {
+        this.widgetRepository = widgetRepository;
+        this.objectMapper = objectMapper;
+        this.maxNameLength = maxNameLength;
+        this.maxAttempts = maxAttempts;
+        this.userWidgetsCache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userWidgetsCache, "userWidgets");
+    }
 
     /**
      * 특정 위젯의 레이아웃 정보를 업데이트합니다.
@@ -24,7 +102,26 @@ public class WidgetService {
      * @param layoutInfo 새로운 레이아웃 정보 (JSON 문자열)
      */
     public void updateWidgetLayout(long userId, long widgetId, String layoutInfo) {
-        widgetRepository.updateLayoutInfo(userId, widgetId, layoutInfo);
+        enqueue(new WidgetUpdate(userId, widgetId, null, layoutInfo, null));
+    }
+
+    /**
+     * 여러 위젯의 레이아웃 정보를 한 번에 저장합니다.
+     * 버퍼를 거치지 않고 하나의 UPDATE 문으로 바로 저장하며, 같은 위젯에 대기 중이던 레이아웃 변경은 버립니다.
+     * 배치 저장과 같은 잠금을 사용하므로 이전 레이아웃이 나중에 덮어쓰지 않습니다.
+     * @param userId 사용자 ID
+     * @param layouts 위젯 ID별 새로운 레이아웃 정보 (JSON 문자열)
+     * @return 업데이트된 행의 수
+     */
+    public synchronized int updateWidgetLayouts(long userId, Map<Long, String> layouts) {
+        for (Long widgetId : layouts.keySet()) {
+            pendingUpdates.computeIfPresent(new WidgetKey(userId, widgetId), (key, update) -> update.withoutLayout());
+        }
+        try {
+            return widgetRepository.updateLayoutInfos(userId, layouts);
+        } finally {
+            userWidgetsCache.invalidate(userId);
+        }
     }
 
     /**
@@ -34,7 +131,7 @@ public class WidgetService {
      * @param widgetSettings 새로운 설정 정보 (JSON 문자열)
      */
     public void updateWidgetSettings(long userId, long widgetId, String widgetSettings) {
-        widgetRepository.updateWidgetSettings(userId, widgetId, widgetSettings);
+        enqueue(new WidgetUpdate(userId, widgetId, null, null, widgetSettings));
     }
 
     /**
@@ -42,18 +139,25 @@ public class WidgetService {
      * @param userId 사용자 ID
      * @param widgetId 위젯 ID
      * @param widgetName 새로운 위젯 이름
+     * @throws IllegalArgumentException 이름이 최대 길이를 넘을 경우 발생
      */
     public void updateWidgetName(long userId, long widgetId, String widgetName) {
-        widgetRepository.updateWidgetName(userId, widgetId, widgetName);
+        validateName(widgetName);
+        enqueue(new WidgetUpdate(userId, widgetId, widgetName, null, null));
     }
 
     /**
-     * 특정 위젯을 삭제합니다.
+     * 특정 위젯을 삭제합니다. 저장 대기 중인 변경도 함께 버립니다.
      * @param userId 사용자 ID
      * @param widgetId 삭제할 위젯 ID
      */
     public void deleteWidget(long userId, long widgetId) {
-        widgetRepository.deleteWidget(userId, widgetId);
+        pendingUpdates.remove(new WidgetKey(userId, widgetId));
+        try {
+            widgetRepository.deleteWidget(userId, widgetId);
+        } finally {
+            userWidgetsCache.invalidate(userId);
+        }
     }
 
     /**
@@ -64,17 +168,163 @@ public class WidgetService {
      * @param layoutInfo 레이아웃 정보 (JSON 문자열)
      * @param widgetSettings 설정 정보 (JSON 문자열)
      * @return DB에 삽입된 행의 수
+     * @throws IllegalArgumentException 이름이 최대 길이를 넘을 경우 발생
      */
     public int addWidget(long userId, String widgetName, String widgetType, String layoutInfo, String widgetSettings) {
-        return widgetRepository.insertWidget(userId, widgetName, widgetType, layoutInfo, widgetSettings);
+        validateName(widgetName);
+        try {
+            return widgetRepository.insertWidget(userId, widgetName, widgetType, layoutInfo, widgetSettings);
+        } finally {
+            userWidgetsCache.invalidate(userId);
+        }
     }
 
     /**
      * 특정 사용자의 모든 위젯 정보를 조회합니다.
+     * 저장 대기 중인 변경이 반영된 결과를 반환하므로, 방금 요청한 변경이 바로 보입니다.
      * @param userId 조회할 사용자 ID
      * @return 해당 사용자의 모든 위젯 DTO 리스트
      */
     public List<WidgetDto> getUserWidgets(long userId) {
-        return widgetRepository.findAllByUserId(userId);
+        return getUserWidgetConfig(userId).widgets();
+    }
+
+    /**
+     * 특정 사용자의 위젯 목록을 파싱된 설정, 필요한 동적 데이터 키와 함께 조회합니다.
+     * 캐시에 없을 때만 DB에서 읽습니다.
+     * @param userId 조회할 사용자 ID
+     * @return 사용자의 위젯 구성
+     */
+    public UserWidgets getUserWidgetConfig(long userId) {
+        return userWidgetsCache.get(userId, this::loadUserWidgets);
+    }
+
+    private UserWidgets loadUserWidgets(long userId) {
+        // DB 조회보다 먼저 대기 중인 변경을 읽어야, 그 사이에 저장되어 제거된 변경도 놓치지 않습니다.
+        Map<Long, WidgetUpdate> overlay = new HashMap<>();
+        pendingUpdates.forEach((key, update) -> {
+            if (key.userId() == userId) {
+                overlay.put(key.widgetId(), update);
+            }
+        });
+        List<WidgetDto> widgets = widgetRepository.findAllByUserId(userId);
+        if (!overlay.isEmpty()) {
+            List<WidgetDto> merged = new ArrayList<>(widgets.size());
+            for (WidgetDto widget : widgets) {
+                WidgetUpdate update = overlay.get(widget.widgetId);
+                merged.add(update != null ? update.applyTo(widget) : widget);
+            }
+            widgets = merged;
+        }
+        return UserWidgets.of(widgets, objectMapper);
+    }
+
+    /**
+     * 저장 대기 중인 위젯 변경을 하나의 배치 UPDATE로 저장합니다.
+     * 배치가 실패하면 한 건씩 다시 저장하여 문제가 되는 변경만 남기고, 그 변경이 maxAttempts번 실패하면
+     * 사용자와 위젯을 기록하고 버립니다. DB 연결 실패처럼 변경과 무관한 오류이면 모두 남겨 두고 다음 주기에 다시 시도합니다.
+     * @return 저장한 변경의 수
+     */
+    @Scheduled(fixedDelayString = "${widget.write-behind.flush-interval-ms:500}")
+    public synchronized int flushPendingUpdates() {
+        if (pendingUpdates.isEmpty()) {
+            return 0;
+        }
+        List<WidgetUpdate> batch = new ArrayList<>(pendingUpdates.values());
+        try {
+            widgetRepository.batchUpdateWidgets(batch);
+        } catch (DataAccessException e) {
+            if (!isRowError(e)) {
+                log.warn("위젯 변경 {}건을 저장하지 못했습니다. 다음 주기에 다시 시도합니다: {}", batch.size(), e.getMessage());
+                return 0;
+            }
+            log.warn("위젯 변경 {}건의 배치 저장에 실패하여 한 건씩 저장합니다: {}", batch.size(), e.getMessage());
+            return saveEach(batch);
+        }
+        // 저장하는 동안 같은 위젯에 새 변경이 합쳐졌다면 그 항목은 남겨 두고 다음 주기에 저장합니다.
+        for (WidgetUpdate update : batch) {
+            saved(update);
+        }
+        return batch.size();
+    }
+
+    /**
+     * 애플리케이션 종료 시 남은 위젯 변경을 모두 저장합니다.
+     * 저장하지 못한 변경은 내용과 함께 기록하여 나중에 복구할 수 있게 합니다.
+     */
+    @PreDestroy
+    public void drainPendingUpdates() {
+        for (int attempt = 0; attempt < maxAttempts && !pendingUpdates.isEmpty(); attempt++) {
+            flushPendingUpdates();
+        }
+        pendingUpdates.values().forEach(update -> log.error(
+                "종료 중 위젯 변경을 저장하지 못했습니다. (사용자 {}, 위젯 {}, 이름 {}, 레이아웃 {}, 설정 {})",
+                update.userId(), update.widgetId(), update.widgetName(), update.layoutInfo(), update.widgetSettings()));
+    }
+
+    /**
+     * 변경을 한 건씩 저장합니다. 변경과 무관한 오류가 나면 나머지는 다음 주기로 미룹니다.
+     * @return 저장한 변경의 수
+     */
+    private int saveEach(List<WidgetUpdate> batch) {
+        int saved = 0;
+        for (WidgetUpdate update : batch) {
+            try {
+                widgetRepository.updateWidget(update);
+            } catch (DataAccessException e) {
+                if (!isRowError(e)) {
+                    log.warn("위젯 변경 {}건을 저장하지 못했습니다. 다음 주기에 다시 시도합니다: {}", batch.size() - saved, e.getMessage());
+                    break;
+                }
+                rejected(update, e);
+                continue;
+            }
+            saved(update);
+            saved++;
+        }
+        failedAttempts.keySet().retainAll(pendingUpdates.keySet()); // 그 사이 삭제된 위젯의 실패 횟수 정리
+        return saved;
+    }
+
+    private void saved(WidgetUpdate update) {
+        WidgetKey key = new WidgetKey(update.userId(), update.widgetId());
+        pendingUpdates.remove(key, update);
+        failedAttempts.remove(key);
+    }
+
+    private void rejected(WidgetUpdate update, DataAccessException e) {
+        WidgetKey key = new WidgetKey(update.userId(), update.widgetId());
+        int attempts = failedAttempts.merge(key, 1, Integer::sum);
+        if (attempts < maxAttempts) {
+            log.warn("사용자 {}의 위젯 {} 변경을 저장하지 못했습니다. ({}/{}회): {}",
+                    update.userId(), update.widgetId(), attempts, maxAttempts, e.getMessage());
+            return;
+        }
+        log.warn("사용자 {}의 위젯 {} 변경을 {}회 저장하지 못해 버립니다. (이름 {}, 레이아웃 {}, 설정 {}): {}",
+                update.userId(), update.widgetId(), attempts,
+                update.widgetName(), update.layoutInfo(), update.widgetSettings(), e.getMessage());
+        pendingUpdates.remove(key);
+        failedAttempts.remove(key);
+        userWidgetsCache.invalidate(update.userId());
+    }
+
+    /**
+     * 변경 내용 때문에 실패한 오류(제약 조건 위반, 잘린 문자열 등)인지 확인합니다.
+     * 연결 실패나 시간 초과처럼 다시 시도하면 성공할 수 있는 오류는 false입니다.
+     */
+    private static boolean isRowError(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void validateName(String widgetName) {
+        if (widgetName != null && widgetName.length() > maxNameLength) {
+            throw new IllegalArgumentException("위젯 이름은 최대 " + maxNameLength + "자입니다.");
+        }
+    }
+
+    private void enqueue(WidgetUpdate update) {
+        pendingUpdates.merge(new WidgetKey(update.userId(), update.widgetId()), update, WidgetUpdate::merge);
+        // 버퍼에 넣은 뒤 무효화해야, 동시에 진행 중인 캐시 적재가 이전 상태를 남기지 않습니다.
+        userWidgetsCache.invalidate(update.userId());
     }
-}
\ No newline at end of file
+}
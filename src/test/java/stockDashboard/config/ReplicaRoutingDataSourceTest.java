@@ -0,0 +1,153 @@
+package stockDashboard.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class ReplicaRoutingDataSourceTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 9, 1, 10, 0);
+
+	private EmbeddedDatabase primary;
+	private EmbeddedDatabase replica;
+	private SwitchableDataSource replicaEndpoint;
+	private ReplicaRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() {
+		primary = createDatabase("primary");
+		replica = createDatabase("replica");
+		replicaEndpoint = new SwitchableDataSource(replica);
+		routing = new ReplicaRoutingDataSource(primary, replicaEndpoint, Duration.ofMinutes(2));
+		routing.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void tearDown() {
+		primary.shutdown();
+		replica.shutdown();
+	}
+
+	@Test
+	void usesPrimaryUntilFirstProbe() {
+		collected(primary, NOW);
+		collected(replica, NOW);
+
+		assertThat(servedBy()).isEqualTo("primary");
+	}
+
+	@Test
+	void routesToReplicaWhenCaughtUp() {
+		collected(primary, NOW);
+		collected(replica, NOW.minusSeconds(30));
+
+		routing.probeLag();
+
+		assertThat(routing.isUsingReplica()).isTrue();
+		assertThat(routing.getLastLag()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(servedBy()).isEqualTo("replica");
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaLags() {
+		collected(primary, NOW);
+		collected(replica, NOW.minusSeconds(30));
+		routing.probeLag();
+
+		collected(primary, NOW.plusMinutes(5));
+		routing.probeLag();
+
+		assertThat(routing.isUsingReplica()).isFalse();
+		assertThat(servedBy()).isEqualTo("primary");
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaIsEmpty() {
+		collected(primary, NOW);
+
+		routing.probeLag();
+
+		assertThat(servedBy()).isEqualTo("primary");
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaIsDown() {
+		collected(primary, NOW);
+		collected(replica, NOW);
+		routing.probeLag();
+
+		replicaEndpoint.down = true;
+
+		// 측정 전이라도 연결 실패 시 바로 주 DB로 전환합니다.
+		assertThat(servedBy()).isEqualTo("primary");
+		assertThat(routing.isUsingReplica()).isFalse();
+
+		routing.probeLag();
+		assertThat(routing.isUsingReplica()).isFalse();
+
+		replicaEndpoint.down = false;
+		routing.probeLag();
+		assertThat(servedBy()).isEqualTo("replica");
+	}
+
+	private String servedBy() {
+		return new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class);
+	}
+
+	private static void collected(DataSource dataSource, LocalDateTime collectedAt) {
+		new JdbcTemplate(dataSource).update("INSERT INTO daily_metrics (ISU_SRT_CD, metric_date, collected_at) VALUES ('005930', ?, ?)",
+				collectedAt.toLocalDate(), collectedAt);
+	}
+
+	private static EmbeddedDatabase createDatabase(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName(name + "-" + System.nanoTime())
+				.build();
+		JdbcTemplate jdbc = new JdbcTemplate(database);
+		jdbc.execute("CREATE TABLE daily_metrics (ISU_SRT_CD VARCHAR(12), metric_date DATE, collected_at TIMESTAMP)");
+		jdbc.execute("CREATE TABLE marker (name VARCHAR(16))");
+		jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+		return database;
+	}
+
+	/**
+	 * 연결 실패를 흉내 낼 수 있는 데이터 소스입니다.
+	 */
+	private static class SwitchableDataSource extends AbstractDataSource {
+
+		private final DataSource target;
+		private volatile boolean down;
+
+		SwitchableDataSource(DataSource target) {
+			this.target = target;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (down) {
+				throw new SQLException("replica is down");
+			}
+			return target.getConnection();
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package stockDashboard.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import stockDashboard.dto.PriceHistoryDto;
+import stockDashboard.model.CandleAggregator.Downsampling;
+import stockDashboard.model.CandleAggregator.Timeframe;
+
+class CandleAggregatorTest {
+
+	@Test
+	void weekStartsAtFirstTradingDayAcrossHolidays() {
+		// 2026-09-29 ~ 2026-10-05 휴장을 가정하면 다음 주봉은 월요일이 아닌 첫 거래일(10-06, 화)부터 시작
+		List<PriceHistoryDto> daily = List.of(
+				bar("2026-09-28", 100, 110, 95, 105, 10),
+				bar("2026-10-06", 105, 120, 104, 118, 20),
+				bar("2026-10-07", 118, 119, 90, 92, 30),
+				bar("2026-10-12", 92, 93, 91, 93, 40));
+
+		List<PriceHistoryDto> weeks = CandleAggregator.aggregate(daily, Timeframe.WEEK);
+
+		assertThat(weeks).containsExactly(
+				bar("2026-09-28", 100, 110, 95, 105, 10),
+				bar("2026-10-06", 105, 120, 90, 92, 50),
+				bar("2026-10-12", 92, 93, 91, 93, 40));
+	}
+
+	@Test
+	void monthSplitsAtMonthEndEvenWithinOneWeek() {
+		List<PriceHistoryDto> daily = List.of(
+				bar("2026-03-30", 10, 12, 9, 11, 1),
+				bar("2026-03-31", 11, 15, 11, 14, 2),
+				bar("2026-04-01", 14, 14, 8, 9, 3),
+				bar("2026-04-02", 9, 10, 0, 10, 4)); // 저가 0은 값 없음
+
+		assertThat(CandleAggregator.aggregate(daily, Timeframe.MONTH)).containsExactly(
+				bar("2026-03-30", 10, 15, 9, 14, 3),
+				bar("2026-04-01", 14, 14, 8, 10, 7));
+		assertThat(CandleAggregator.aggregate(daily, Timeframe.WEEK)).containsExactly(
+				bar("2026-03-30", 10, 15, 8, 10, 10));
+	}
+
+	@Test
+	void appendDailyMergesLiveBarIntoCurrentWeek() {
+		List<PriceHistoryDto> weeks = List.of(
+				bar("2026-10-05", 100, 110, 95, 105, 10),
+				bar("2026-10-12", 105, 108, 101, 107, 20));
+
+		List<PriceHistoryDto> merged = CandleAggregator.appendDaily(weeks, bar("2026-10-16", 107, 115, 99, 112, 5), Timeframe.WEEK);
+		List<PriceHistoryDto> appended = CandleAggregator.appendDaily(weeks, bar("2026-10-19", 107, 109, 106, 108, 5), Timeframe.WEEK);
+
+		assertThat(merged).containsExactly(
+				bar("2026-10-05", 100, 110, 95, 105, 10),
+				bar("2026-10-12", 105, 115, 99, 112, 25));
+		assertThat(appended).hasSize(3).last().isEqualTo(bar("2026-10-19", 107, 109, 106, 108, 5));
+		assertThat(weeks).hasSize(2); // 입력은 변경하지 않음
+	}
+
+	@Test
+	void minMaxKeepsHighAndLow() {
+		List<PriceHistoryDto> bars = series(100);
+		bars.set(37, bar(bars.get(37).time(), 50, 500, 49, 51, 1));
+		bars.set(71, bar(bars.get(71).time(), 50, 51, 1, 50, 1));
+
+		List<PriceHistoryDto> sampled = CandleAggregator.downsample(bars, 10, Downsampling.MINMAX);
+
+		assertThat(sampled).hasSize(10);
+		assertThat(sampled.stream().mapToLong(PriceHistoryDto::high).max()).hasValue(500);
+		assertThat(sampled.stream().mapToLong(PriceHistoryDto::low).min()).hasValue(1);
+		assertThat(sampled.stream().mapToLong(PriceHistoryDto::volume).sum()).isEqualTo(100);
+	}
+
+	@Test
+	void lttbKeepsEndpointsAndRespectsMaxPoints() {
+		List<PriceHistoryDto> bars = series(100);
+
+		List<PriceHistoryDto> sampled = CandleAggregator.downsample(bars, 12, Downsampling.LTTB);
+
+		assertThat(sampled).hasSize(12);
+		assertThat(sampled.get(0)).isEqualTo(bars.get(0));
+		assertThat(sampled.get(sampled.size() - 1)).isEqualTo(bars.get(bars.size() - 1));
+		for (int points = 1; points <= 3; points++) {
+			assertThat(CandleAggregator.downsample(bars, points, Downsampling.LTTB)).hasSize(points);
+		}
+	}
+
+	/**
+	 * 2026-01-02부터 하루씩 이어지는 봉을 만듭니다. 종가는 톱니 모양으로 움직입니다.
+	 */
+	private static List<PriceHistoryDto> series(int count) {
+		List<PriceHistoryDto> bars = new ArrayList<>(count);
+		LocalDate day = LocalDate.of(2026, 1, 2);
+		for (int i = 0; i < count; i++) {
+			long close = 50 + (i % 7) * 3;
+			bars.add(bar(day.plusDays(i).toString(), close, close + 2, close - 2, close, 1));
+		}
+		return bars;
+	}
+
+	private static PriceHistoryDto bar(String time, long open, long high, long low, long close, long volume) {
+		return new PriceHistoryDto(time, open, high, low, close, volume);
+	}
+}
@@ -0,0 +1,78 @@
+package stockDashboard.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stockDashboard.dto.ChartDataDto;
+import stockDashboard.dto.PriceHistoryDto;
+
+class CandleCodecTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void roundTrip() {
+		ChartDataDto original = sampleChart(4000);
+
+		ChartDataDto decoded = CandleCodec.decode(CandleCodec.encode(original));
+
+		assertThat(decoded).isEqualTo(original);
+	}
+
+	@Test
+	void roundTripEmptyAndNullName() {
+		ChartDataDto original = new ChartDataDto(null, List.of());
+
+		assertThat(CandleCodec.decode(CandleCodec.encode(original))).isEqualTo(original);
+	}
+
+	@Test
+	void rejectsUnknownFormat() {
+		byte[] encoded = CandleCodec.encode(sampleChart(10));
+		encoded[4] = (byte) (CandleCodec.VERSION + 1);
+
+		assertThatThrownBy(() -> CandleCodec.decode(encoded)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CandleCodec.decode(new byte[] { 'K', 'R' })).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * 16년치(약 4,000개) 일봉 기준으로 바이너리 형식이 JSON보다 충분히 작은지 확인합니다.
+	 * 디코딩 시간 비교는 JMH 벤치마크(CandleDecodeBenchmark)에서 측정합니다.
+	 */
+	@Test
+	void binaryIsMuchSmallerThanJson() throws Exception {
+		ChartDataDto chart = sampleChart(4000);
+		byte[] json = objectMapper.writeValueAsBytes(chart);
+		byte[] binary = CandleCodec.encode(chart);
+
+		assertThat(binary.length).isLessThan(json.length / 5);
+	}
+
+	/**
+	 * 주말을 건너뛰는 거래일과 무작위 보행 가격으로 현실적인 일봉 데이터를 만듭니다.
+	 */
+	private static ChartDataDto sampleChart(int count) {
+		SplittableRandom random = new SplittableRandom(7);
+		List<PriceHistoryDto> bars = new ArrayList<>(count);
+		LocalDate day = LocalDate.of(2010, 1, 4);
+		long close = 16_000;
+		for (int i = 0; i < count; i++) {
+			long open = close + random.nextLong(-300, 300);
+			close = Math.max(100, open + random.nextLong(-800, 800));
+			long high = Math.max(open, close) + random.nextLong(0, 500);
+			long low = Math.max(1, Math.min(open, close) - random.nextLong(0, 500));
+			bars.add(new PriceHistoryDto(day.toString(), open, high, low, close, random.nextLong(0, 30_000_000)));
+			day = day.plusDays(day.getDayOfWeek().getValue() == 5 ? 3 : 1);
+		}
+		return new ChartDataDto("삼성전자", bars);
+	}
+}
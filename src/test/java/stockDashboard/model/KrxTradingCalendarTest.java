@@ -0,0 +1,48 @@
+package stockDashboard.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import stockDashboard.model.KrxTradingCalendar.Phase;
+
+class KrxTradingCalendarTest {
+
+	// 2026-10-09(금)은 한글날 휴장일
+	private final KrxTradingCalendar calendar = new KrxTradingCalendar(LocalTime.of(9, 0), LocalTime.of(15, 30),
+			Duration.ofMinutes(60), List.of(LocalDate.parse("2026-10-09")));
+
+	@Test
+	void excludesWeekendsAndHolidays() {
+		assertThat(calendar.isTradingDay(LocalDate.parse("2026-10-08"))).isTrue();
+		assertThat(calendar.isTradingDay(LocalDate.parse("2026-10-09"))).isFalse();
+		assertThat(calendar.isTradingDay(LocalDate.parse("2026-10-10"))).isFalse();
+		assertThat(calendar.isTradingDay(LocalDate.parse("2026-10-11"))).isFalse();
+	}
+
+	@Test
+	void resolvesPhaseOfTradingDay() {
+		assertThat(calendar.phaseAt(LocalDateTime.parse("2026-10-08T08:59"))).isEqualTo(Phase.PRE_OPEN);
+		assertThat(calendar.phaseAt(LocalDateTime.parse("2026-10-08T09:00"))).isEqualTo(Phase.OPEN);
+		assertThat(calendar.phaseAt(LocalDateTime.parse("2026-10-08T15:30"))).isEqualTo(Phase.POST_CLOSE);
+		assertThat(calendar.phaseAt(LocalDateTime.parse("2026-10-08T16:30"))).isEqualTo(Phase.CLOSED);
+		assertThat(calendar.phaseAt(LocalDateTime.parse("2026-10-09T10:00"))).isEqualTo(Phase.CLOSED);
+
+		assertThat(calendar.isRefreshWindow(LocalDateTime.parse("2026-10-08T16:00"))).isTrue();
+		assertThat(calendar.isRefreshWindow(LocalDateTime.parse("2026-10-08T08:59"))).isFalse();
+	}
+
+	@Test
+	void findsNextOpenAcrossHolidayAndWeekend() {
+		assertThat(calendar.nextOpen(LocalDateTime.parse("2026-10-08T07:00")))
+				.isEqualTo(LocalDateTime.parse("2026-10-08T09:00"));
+		assertThat(calendar.nextOpen(LocalDateTime.parse("2026-10-08T17:00")))
+				.isEqualTo(LocalDateTime.parse("2026-10-12T09:00"));
+	}
+}
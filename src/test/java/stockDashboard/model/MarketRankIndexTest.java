@@ -0,0 +1,59 @@
+package stockDashboard.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import stockDashboard.model.MarketRankIndex.Metric;
+
+class MarketRankIndexTest {
+
+	private static final LocalDate DATE = LocalDate.parse("2026-10-16");
+	private static final LocalDateTime COLLECTED_AT = LocalDateTime.parse("2026-10-16T15:52:00");
+
+	@Test
+	void countsKospiRowWithoutSectorOnlyAsEtf() {
+		MarketSnapshot.Builder builder = new MarketSnapshot.Builder(3);
+		add(builder, "A", "전기전자", "KOSPI", 300, 1.0);
+		add(builder, "B", null, "KOSPI", 200, 1.0); // 섹터 정보가 없으면 ETF로 분류
+		add(builder, "C", null, null, 100, 1.0);
+		MarketSnapshot snapshot = builder.build();
+		MarketRankIndex index = MarketRankIndex.build(snapshot);
+
+		assertThat(symbols(snapshot, index.select("KOSPI", Metric.MARKET_CAP, false, 10))).containsExactly("A");
+		assertThat(symbols(snapshot, index.select("ETF", Metric.MARKET_CAP, false, 10))).containsExactly("B", "C");
+		assertThat(symbols(snapshot, index.select("ALL", Metric.MARKET_CAP, false, 10))).containsExactly("A", "B", "C");
+	}
+
+	@Test
+	void keepsEarlierRowFirstAmongTiesInBothDirections() {
+		MarketSnapshot.Builder builder = new MarketSnapshot.Builder(5);
+		add(builder, "A", "S", "KOSPI", 1, 0.0);
+		add(builder, "B", "S", "KOSPI", 1, Double.NaN);
+		add(builder, "C", "S", "KOSPI", 1, -1.5);
+		add(builder, "D", "S", "KOSPI", 1, 0.0);
+		add(builder, "E", "S", "KOSPI", 1, -1.5);
+		MarketSnapshot snapshot = builder.build();
+		MarketRankIndex index = MarketRankIndex.build(snapshot);
+
+		assertThat(symbols(snapshot, index.select("ALL", Metric.CHANGE_RATE, false, 10)))
+				.containsExactly("A", "D", "C", "E", "B");
+		assertThat(symbols(snapshot, index.select("ALL", Metric.CHANGE_RATE, true, 10)))
+				.containsExactly("C", "E", "A", "D", "B");
+		assertThat(symbols(snapshot, index.select("ALL", Metric.CHANGE_RATE, true, 3)))
+				.containsExactly("C", "E", "A");
+	}
+
+	private static void add(MarketSnapshot.Builder builder, String symbol, String sector, String market,
+			long mktcap, double flucRate) {
+		builder.set(symbol, symbol, sector, market, mktcap, flucRate, 1, 1, 1, 1, 1, 1, DATE, COLLECTED_AT);
+	}
+
+	private static String[] symbols(MarketSnapshot snapshot, int[] rows) {
+		return Arrays.stream(rows).mapToObj(snapshot::symbol).toArray(String[]::new);
+	}
+}
@@ -0,0 +1,83 @@
+package stockDashboard.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import stockDashboard.model.MarketRankIndex.Metric;
+
+class TopKSelectorTest {
+
+	private static final LocalDate DATE = LocalDate.parse("2026-10-16");
+	private static final LocalDateTime COLLECTED_AT = LocalDateTime.parse("2026-10-16T15:52:00");
+
+	@Test
+	void matchesFullStableSortWithMissingValuesAndTies() {
+		MarketSnapshot snapshot = randomSnapshot(500);
+		int[] candidates = IntStream.range(0, snapshot.size()).toArray();
+
+		for (boolean ascending : new boolean[] { false, true }) {
+			double[] keys = MarketRankIndex.sortKeys(snapshot, Metric.CHANGE_RATE, ascending);
+			Comparator<Integer> byKey = Comparator.comparingDouble(row -> keys[row]);
+			int[] expected = IntStream.of(candidates).boxed()
+					.sorted(ascending ? byKey : byKey.reversed()) // 안정 정렬이므로 동률은 행 순서를 유지
+					.mapToInt(Integer::intValue)
+					.toArray();
+
+			for (int k : new int[] { 1, 10, 100, candidates.length }) {
+				int[] actual = TopKSelector.select(candidates, candidates.length, keys, k, ascending);
+				assertThat(actual).as("ascending=%s, k=%d", ascending, k)
+						.containsExactly(Arrays.copyOf(expected, k));
+			}
+		}
+	}
+
+	@Test
+	void putsMissingValuesLastInBothDirectionsLikeRankIndex() {
+		MarketSnapshot snapshot = randomSnapshot(300);
+		MarketRankIndex index = MarketRankIndex.build(snapshot);
+		int[] candidates = IntStream.range(0, snapshot.size()).toArray();
+
+		for (Metric metric : Metric.values()) {
+			for (boolean ascending : new boolean[] { false, true }) {
+				double[] keys = MarketRankIndex.sortKeys(snapshot, metric, ascending);
+				int[] topK = TopKSelector.select(candidates, candidates.length, keys, candidates.length, ascending);
+				assertThat(topK).as("%s ascending=%s", metric, ascending)
+						.containsExactly(index.select("ALL", metric, ascending, candidates.length));
+			}
+		}
+
+		double[] ascendingKeys = MarketRankIndex.sortKeys(snapshot, Metric.CHANGE_RATE, true);
+		int[] losers = TopKSelector.select(candidates, candidates.length, ascendingKeys, 10, true);
+		assertThat(IntStream.of(losers).mapToDouble(snapshot::flucRate).toArray()).doesNotContain(Double.NaN);
+	}
+
+	/**
+	 * 값이 없는 행과 동률(-0.0 포함)이 많이 섞인 스냅샷을 만듭니다.
+	 */
+	private static MarketSnapshot randomSnapshot(int rows) {
+		SplittableRandom random = new SplittableRandom(7);
+		MarketSnapshot.Builder builder = new MarketSnapshot.Builder(rows);
+		for (int i = 0; i < rows; i++) {
+			double flucRate = switch (random.nextInt(6)) {
+				case 0 -> Double.NaN;
+				case 1 -> -0.0;
+				default -> random.nextInt(-5, 6) * 0.5;
+			};
+			long mktcap = random.nextInt(8) == 0 ? MarketSnapshot.MISSING : random.nextLong(1, 20) * 1_000;
+			long close = random.nextLong(1_000, 2_000);
+			builder.set(String.format("%06d", i), "종목" + i, "섹터", i % 2 == 0 ? "KOSPI" : "KOSDAQ", mktcap, flucRate,
+					close, close, close + random.nextInt(3) * 10, close - random.nextInt(3) * 10,
+					random.nextInt(5) == 0 ? MarketSnapshot.MISSING : random.nextLong(0, 50),
+					random.nextLong(0, 50), DATE, COLLECTED_AT);
+		}
+		return builder.build();
+	}
+}
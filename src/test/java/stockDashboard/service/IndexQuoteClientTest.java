@@ -0,0 +1,195 @@
+package stockDashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import stockDashboard.dto.IndexQuoteDto;
+
+class IndexQuoteClientTest {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofMillis(500);
+	private static final Duration OPEN_DURATION = Duration.ofMinutes(10);
+
+	private enum Mode { OK, FAIL, HANG }
+
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+	private final AtomicInteger requests = new AtomicInteger();
+	private volatile Mode mode = Mode.OK;
+	/** null이 아니면 응답 전에 이 래치를 내리고, 0이 될 때까지(다른 요청이 모두 도착할 때까지) 기다립니다. */
+	private volatile CountDownLatch arrivals;
+	/** HANG 모드의 요청은 테스트가 끝날 때까지 이 래치에서 기다립니다. */
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-02T01:00:00Z"));
+	private IndexQuoteClient client;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.createContext("/chart/", this::handle);
+		server.start();
+		String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/chart/";
+		client = new IndexQuoteClient(new ObjectMapper(), baseUrl, Duration.ofSeconds(1), REQUEST_TIMEOUT,
+				2, OPEN_DURATION, clock);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		client.close();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void fetchesAllIndicesConcurrently() {
+		// 두 요청이 모두 서버에 도착해야 응답하므로, 순서대로 요청했다면 첫 요청이 제한 시간을 넘겨 실패합니다.
+		arrivals = new CountDownLatch(2);
+
+		Map<String, IndexQuoteDto> quotes = client.fetchAll().join();
+
+		assertThat(arrivals.getCount()).isZero();
+		assertThat(quotes).containsOnlyKeys("index_KOSPI", "index_KOSDAQ");
+		IndexQuoteDto kospi = quotes.get("index_KOSPI");
+		assertThat(kospi.closePrice()).isEqualTo("2550.00");
+		assertThat(kospi.change()).isEqualTo("50.00");
+		assertThat(kospi.changeRate()).isEqualTo("2.00");
+		assertThat(kospi.stale()).isFalse();
+		assertThat(quotes.get("index_KOSDAQ").closePrice()).isEqualTo("735.00");
+		assertThat(quotes.get("index_KOSDAQ").stale()).isFalse();
+	}
+
+	@Test
+	void returnsLastKnownGoodWhenEndpointHangs() {
+		IndexQuoteDto fresh = client.fetchAll().join().get("index_KOSPI");
+
+		mode = Mode.HANG;
+		Map<String, IndexQuoteDto> quotes = client.fetchAll().join();
+
+		IndexQuoteDto stale = quotes.get("index_KOSPI");
+		assertThat(stale.stale()).isTrue();
+		assertThat(stale.closePrice()).isEqualTo(fresh.closePrice());
+		assertThat(stale.fetchedAt()).isEqualTo(fresh.fetchedAt());
+	}
+
+	@Test
+	void omitsIndicesThatNeverSucceeded() {
+		mode = Mode.FAIL;
+
+		assertThat(client.fetchAll().join()).isEmpty();
+	}
+
+	@Test
+	void stopsRequestingWhileCircuitIsOpen() {
+		client.fetchAll().join();
+		mode = Mode.FAIL;
+		client.fetchAll().join();
+		client.fetchAll().join(); // 연속 2회 실패로 서킷이 열림
+		int before = requests.get();
+
+		Map<String, IndexQuoteDto> quotes = client.fetchAll().join();
+
+		assertThat(requests.get()).isEqualTo(before);
+		assertThat(quotes.get("index_KOSPI").stale()).isTrue();
+
+		// 열린 시간이 지나면 다시 요청하고, 성공하면 서킷을 닫습니다.
+		mode = Mode.OK;
+		clock.advance(OPEN_DURATION);
+		quotes = client.fetchAll().join();
+
+		assertThat(requests.get()).isEqualTo(before + 2);
+		assertThat(quotes.get("index_KOSPI").stale()).isFalse();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		try (exchange) {
+			if (mode == Mode.HANG) {
+				await(release);
+				return;
+			}
+			CountDownLatch latch = arrivals;
+			if (latch != null) {
+				latch.countDown();
+				await(latch);
+			}
+			if (mode == Mode.FAIL) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			boolean kospi = exchange.getRequestURI().getPath().endsWith("KS11");
+			String body = kospi
+					? "{\"chart\":{\"result\":[{\"meta\":{\"regularMarketPrice\":2550.0,\"previousClose\":2500.0}}]}}"
+					: "{\"chart\":{\"result\":[{\"meta\":{\"regularMarketPrice\":735.0,\"previousClose\":750.0}}]}}";
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 테스트에서 시간을 앞으로 돌릴 수 있는 시계입니다.
+	 */
+	private static class MutableClock extends Clock {
+
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("Asia/Seoul");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package stockDashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import stockDashboard.dto.IndexQuoteDto;
+import stockDashboard.dto.MarketDataDto;
+import stockDashboard.model.MarketSnapshot;
+import stockDashboard.model.MarketSnapshotCodec;
+
+class MarketSnapshotStoreTest {
+
+	private static final LocalDate DATE = LocalDate.parse("2026-10-16");
+	private static final LocalDateTime COLLECTED_AT = LocalDateTime.parse("2026-10-16T15:52:00");
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void roundTripsSnapshotAndMarksIndexQuotesStale() {
+		Path file = dir.resolve("nested/market-snapshot.bin");
+		MarketSnapshotStore store = new MarketSnapshotStore(file.toString());
+		MarketSnapshot snapshot = MarketSnapshot.of(List.of(
+				new MarketDataDto("005930", "삼성전자", 400_000_000_000_000L, 1.25, 67_000L, 66_000L, 67_500L, 65_900L,
+						12_000_000L, 800_000_000_000L, "전기전자", "KOSPI", DATE, COLLECTED_AT),
+				new MarketDataDto("069500", "KODEX 200", null, null, 35_000L, null, null, null,
+						null, null, null, null, DATE, null)));
+		IndexQuoteDto kospi = new IndexQuoteDto("2550.00", "50.00", "2.00", COLLECTED_AT, false);
+
+		store.save(new MarketSnapshotCodec.Contents(COLLECTED_AT, snapshot, Map.of("index_KOSPI", kospi)));
+		MarketSnapshotCodec.Contents loaded = store.load().orElseThrow();
+
+		assertThat(Files.exists(dir.resolve("nested/market-snapshot.bin.tmp"))).isFalse();
+		assertThat(loaded.savedAt()).isEqualTo(COLLECTED_AT);
+		assertThat(loaded.indexQuotes()).containsEntry("index_KOSPI", kospi.asStale());
+		MarketSnapshot restored = loaded.snapshot();
+		assertThat(restored.size()).isEqualTo(2);
+		assertThat(restored.maxCollectedAt()).isEqualTo(COLLECTED_AT);
+		for (int row = 0; row < snapshot.size(); row++) {
+			assertThat(restored.toDto(row)).isEqualTo(snapshot.toDto(row));
+		}
+	}
+
+	@Test
+	void ignoresMissingOrCorruptedFile() throws IOException {
+		Path file = dir.resolve("market-snapshot.bin");
+		MarketSnapshotStore store = new MarketSnapshotStore(file.toString());
+		assertThat(store.load()).isEmpty();
+
+		MarketSnapshot snapshot = MarketSnapshot.of(List.of(new MarketDataDto("005930", "삼성전자", 1L, 0.5, 2L, 3L, 4L,
+				5L, 6L, 7L, "전기전자", "KOSPI", DATE, COLLECTED_AT)));
+		store.save(new MarketSnapshotCodec.Contents(COLLECTED_AT, snapshot, Map.of()));
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length - 1] ^= 0x01;
+		Files.write(file, bytes);
+
+		assertThat(store.load()).isEmpty();
+	}
+
+	@Test
+	void rejectsOtherFormatVersion() throws IOException {
+		Path file = dir.resolve("market-snapshot.bin");
+		MarketSnapshotStore store = new MarketSnapshotStore(file.toString());
+		store.save(new MarketSnapshotCodec.Contents(COLLECTED_AT, MarketSnapshot.empty(), Map.of()));
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[7] = (byte) (MarketSnapshotCodec.VERSION + 1); // version int의 마지막 바이트
+		Files.write(file, bytes);
+
+		assertThat(store.load()).isEmpty();
+	}
+
+	@Test
+	void doesNothingWhenPathIsBlank() {
+		MarketSnapshotStore store = new MarketSnapshotStore("");
+
+		store.save(new MarketSnapshotCodec.Contents(COLLECTED_AT, MarketSnapshot.empty(), Map.of()));
+
+		assertThat(store.isEnabled()).isFalse();
+		assertThat(store.load()).isEmpty();
+	}
+}
@@ -0,0 +1,83 @@
+package stockDashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import stockDashboard.repository.WidgetRepository;
+
+class WidgetServiceTest {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	private EmbeddedDatabase database;
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).setName("widgets").build();
+		jdbc = new JdbcTemplate(database);
+		jdbc.execute("CREATE TABLE user_widgets (widget_id BIGINT PRIMARY KEY, user_id BIGINT, widget_name VARCHAR(10), "
+				+ "widget_type VARCHAR(20), layout_info VARCHAR(200), widget_settings VARCHAR(200))");
+		jdbc.update("INSERT INTO user_widgets VALUES (1, 10, 'a', 'chart', '{}', '{}'), (2, 20, 'b', 'chart', '{}', '{}')");
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void savesOtherUsersWhenOneRowFailsAndDropsItAfterMaxAttempts() {
+		// 열 길이(10)보다 긴 이름도 받도록 검증 길이를 늘려, DB에서만 실패하는 변경을 만듭니다.
+		WidgetService service = service(100);
+		service.updateWidgetName(10, 1, "too long for the column");
+		service.updateWidgetLayout(20, 2, "{\"x\":1}");
+
+		assertThat(service.flushPendingUpdates()).isEqualTo(1);
+		assertThat(layoutOf(2)).isEqualTo("{\"x\":1}");
+
+		for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+			service.flushPendingUpdates();
+		}
+		service.updateWidgetSettings(20, 2, "{\"y\":2}");
+
+		assertThat(service.flushPendingUpdates()).isEqualTo(1); // 버린 변경은 더 이상 배치를 막지 않음
+		assertThat(nameOf(1)).isEqualTo("a");
+		assertThat(service.getUserWidgets(10)).singleElement().satisfies(w -> assertThat(w.widgetName).isEqualTo("a"));
+	}
+
+	@Test
+	void rejectsTooLongNameBeforeQueueing() {
+		WidgetService service = service(10);
+
+		assertThatThrownBy(() -> service.updateWidgetName(10, 1, "12345678901")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.addWidget(10, "12345678901", "chart", "{}", "{}")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(service.flushPendingUpdates()).isZero();
+	}
+
+	private WidgetService service(int maxNameLength) {
+		return new WidgetService(new WidgetRepository(jdbc), new ObjectMapper(), new SimpleMeterRegistry(), 100,
+				Duration.ofSeconds(30), maxNameLength, MAX_ATTEMPTS);
+	}
+
+	private String nameOf(long widgetId) {
+		return jdbc.queryForObject("SELECT widget_name FROM user_widgets WHERE widget_id = ?", String.class, widgetId);
+	}
+
+	private String layoutOf(long widgetId) {
+		return jdbc.queryForObject("SELECT layout_info FROM user_widgets WHERE widget_id = ?", String.class, widgetId);
+	}
+}